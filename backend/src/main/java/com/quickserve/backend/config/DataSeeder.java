@@ -1,20 +1,29 @@
 package com.quickserve.backend.config;
 
+import com.quickserve.backend.config.seed.SyntheticDataGenerator;
+import com.quickserve.backend.config.seed.SyntheticDataProperties;
 import com.quickserve.backend.model.User;
 import com.quickserve.backend.model.enums.Role;
 import com.quickserve.backend.model.enums.AccountStatus;
 import com.quickserve.backend.repository.UserRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 public class DataSeeder {
 
     @Bean
-    CommandLineRunner initAdminUser(UserRepository userRepository, PasswordEncoder passwordEncoder) {
-        return args -> {
+    @Order(1)
+    CommandLineRunner initAdminUser(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                    TransactionTemplate transactionTemplate) {
+        // One write transaction, so the existence check reads the primary and not a lagging replica
+        return args -> transactionTemplate.executeWithoutResult(status -> {
             // Check if admin already exists
             if (userRepository.findByEmail("admin@quickserve.com").isEmpty()) {
                 User admin = new User();
@@ -30,6 +39,16 @@ public class DataSeeder {
             } else {
                 System.out.println("ℹ️ Admin user already exists");
             }
-        };
+        });
+    }
+
+    // Bulk synthetic data for load testing (see SyntheticDataProperties), after the admin user
+    @Bean
+    @Order(2)
+    @ConditionalOnProperty(prefix = "seed.synthetic", name = "enabled", havingValue = "true")
+    CommandLineRunner seedSyntheticData(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                        SyntheticDataProperties properties, PasswordEncoder passwordEncoder) {
+        return args -> new SyntheticDataGenerator(jdbcTemplate, transactionTemplate, properties)
+                .generate(passwordEncoder.encode(properties.getPassword()));
     }
 }
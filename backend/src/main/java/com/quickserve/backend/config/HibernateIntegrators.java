@@ -0,0 +1,49 @@
+package com.quickserve.backend.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Registers Hibernate event listeners from Spring configuration. Hibernate takes a single
+ * integrator provider, so each customizer built here adds its integrator to the ones already
+ * registered instead of replacing them.
+ */
+public final class HibernateIntegrators {
+
+    private static final String INTEGRATOR_PROVIDER = "hibernate.integrator_provider";
+
+    private HibernateIntegrators() {
+    }
+
+    public static HibernatePropertiesCustomizer listeners(Consumer<EventListenerRegistry> registration) {
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                                  SessionFactoryImplementor sessionFactory) {
+                registration.accept(sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class));
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+        return hibernateProperties -> {
+            List<Integrator> integrators = new ArrayList<>();
+            if (hibernateProperties.get(INTEGRATOR_PROVIDER) instanceof IntegratorProvider registered) {
+                integrators.addAll(registered.getIntegrators());
+            }
+            integrators.add(integrator);
+            hibernateProperties.put(INTEGRATOR_PROVIDER, (IntegratorProvider) () -> integrators);
+        };
+    }
+}
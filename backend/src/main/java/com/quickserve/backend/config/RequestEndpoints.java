@@ -0,0 +1,19 @@
+package com.quickserve.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Names a request by its controller mapping, e.g. {@code GET /api/public/providers/{providerId}},
+ * so per-endpoint metrics do not explode into one series per id.
+ */
+public final class RequestEndpoints {
+
+    private RequestEndpoints() {
+    }
+
+    public static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+}
@@ -0,0 +1,71 @@
+package com.quickserve.backend.config.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts profile views in memory and adds them to service_providers in one JDBC batch every
+ * {@code provider-detail-cache.view-flush-interval}, so serving a cached provider page needs no
+ * write transaction. The update bypasses Hibernate: it does not bump the page version and it leaves
+ * the providers' second-level cache entries alone, so the most viewed providers stay cached. Their
+ * cached profileViews go stale, which is why the column is not updatable through the entity and
+ * readers that show the count query it directly. Views counted since the last flush are lost if the
+ * process dies.
+ * <p>
+ * Flushes take no lock: each provider's count is claimed with an atomic remove, so a scheduled
+ * flush and the shutdown flush can overlap without writing a view twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileViewBuffer implements DisposableBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+
+    public void record(Long providerId) {
+        pending.merge(providerId, 1L, Long::sum);
+    }
+
+    /** Writes the buffered views and returns how many providers were updated. */
+    @Scheduled(fixedDelayString = "#{@providerDetailCacheProperties.viewFlushInterval.toMillis()}")
+    public int flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Long providerId : pending.keySet()) {
+            // Removed atomically, so a view recorded meanwhile starts a new count for the next flush
+            Long views = pending.remove(providerId);
+            if (views != null) {
+                batch.add(new Object[]{views, providerId});
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE service_providers SET profile_views = COALESCE(profile_views, 0) + ? WHERE id = ?", batch);
+        } catch (DataAccessException e) {
+            batch.forEach(row -> pending.merge((Long) row[1], (Long) row[0], Long::sum));
+            log.warn("Could not write profile views for {} providers, keeping them for the next flush: {}",
+                    batch.size(), e.getMessage());
+            return 0;
+        }
+        return batch.size();
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+}
@@ -0,0 +1,141 @@
+package com.quickserve.backend.config.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quickserve.backend.config.etag.ResourceVersions;
+import com.quickserve.backend.service.PublicService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Assembled provider detail pages, held as serialized JSON and keyed by provider id and page
+ * version (see {@link com.quickserve.backend.config.etag.ResourceVersions}). Profile, service,
+ * working-hours and review writes bump the version, so a changed page is never looked up again
+ * and ages out of the cache.
+ * <p>
+ * A miss is built once on the thread of the first request to ask for it, and concurrent requests
+ * for the same page wait for that build. Pages that are still being read after
+ * {@code refresh-after} are rebuilt in the background while the old copy keeps being served, so
+ * hot providers do not miss.
+ * <p>
+ * The version comes from the same database the page is built from (see {@link ResourceVersions}),
+ * so a page is never older than its key. Background rebuilds run without the requester's identity
+ * and read from the replica, which may not have reached the key's version yet; until it has, the
+ * old page is kept.
+ */
+@Component
+public class ProviderDetailCache implements DisposableBean {
+
+    private final PublicService publicService;
+    private final ResourceVersions resourceVersions;
+    private final ObjectMapper objectMapper;
+    private final ProviderDetailCacheProperties properties;
+    private final ExecutorService refresher = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("provider-detail-refresh-", 0).factory());
+    private final AsyncLoadingCache<Key, SerializedString> cache;
+
+    private record Key(long providerId, long version) {
+    }
+
+    public ProviderDetailCache(PublicService publicService, ResourceVersions resourceVersions,
+                               ObjectMapper objectMapper, ProviderDetailCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.publicService = publicService;
+        this.resourceVersions = resourceVersions;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((Key key, SerializedString page) -> weight(page))
+                .expireAfterAccess(properties.getIdleExpiry())
+                .refreshAfterWrite(properties.getRefreshAfter())
+                .executor(refresher)
+                .recordStats()
+                .buildAsync(new CacheLoader<Key, SerializedString>() {
+                    @Override
+                    public SerializedString load(Key key) {
+                        return build(key.providerId());
+                    }
+
+                    @Override
+                    public SerializedString reload(Key key, SerializedString oldPage) {
+                        return resourceVersions.providerVersion(key.providerId()) >= key.version()
+                                ? build(key.providerId()) : oldPage;
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "provider.detail");
+    }
+
+    /** The page's JSON, ready to be written as the data of a response without re-serializing. */
+    public RawValue get(Long providerId, long version) {
+        if (!properties.isEnabled()) {
+            return new RawValue(build(providerId));
+        }
+
+        Key key = new Key(providerId, version);
+        // Counts the hit or miss and schedules a refresh when the page is old
+        CompletableFuture<SerializedString> page = cache.getIfPresent(key);
+        if (page == null) {
+            CompletableFuture<SerializedString> building = new CompletableFuture<>();
+            page = cache.asMap().putIfAbsent(key, building);
+            if (page == null) {
+                page = building;
+                // Built here rather than on the cache's executor so its queries count towards this request.
+                // A failed build is removed from the cache, so the next request tries again.
+                try {
+                    building.complete(build(providerId));
+                } catch (RuntimeException e) {
+                    building.completeExceptionally(e);
+                }
+            }
+        }
+        return new RawValue(join(page));
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    private SerializedString build(Long providerId) {
+        try {
+            SerializedString page = new SerializedString(
+                    objectMapper.writeValueAsString(publicService.getProviderDetails(providerId)));
+            // Encoded once here; every response copies these bytes
+            page.asUnquotedUTF8();
+            return page;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize provider " + providerId, e);
+        }
+    }
+
+    // The string and its UTF-8 bytes are both kept
+    private static int weight(SerializedString page) {
+        return page.charLength() * 2 + page.asUnquotedUTF8().length;
+    }
+
+    private static SerializedString join(CompletableFuture<SerializedString> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.quickserve.backend.config.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "provider-detail-cache")
+@Data
+public class ProviderDetailCacheProperties {
+
+    // When off, every provider page is assembled from the database
+    private boolean enabled = true;
+
+    // Bound on the serialized pages held, measured in bytes rather than entries
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+
+    // Pages still being read after this long are rebuilt in the background, which also picks up
+    // view counts and changes made outside Hibernate
+    private Duration refreshAfter = Duration.ofSeconds(30);
+
+    // Pages not read for this long are dropped, including the ones a version bump left behind
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    // How often buffered profile views are written to the database
+    private Duration viewFlushInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,82 @@
+package com.quickserve.backend.config.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "l2cache")
+@ConditionalOnProperty(prefix = "l2cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SecondLevelCacheEndpoint {
+
+    private final CacheManager hibernateCacheManager;
+    private final SecondLevelCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public Map<String, Object> regions() {
+        List<Map<String, Object>> regions = new ArrayList<>();
+        long totalHits = 0;
+        long totalMisses = 0;
+
+        for (Map.Entry<String, SecondLevelCacheProperties.Region> entry : properties.getRegions().entrySet()) {
+            String name = entry.getKey();
+            long hits = count("cache.gets", name, "hit");
+            long misses = count("cache.gets", name, "miss");
+            totalHits += hits;
+            totalMisses += misses;
+
+            Map<String, Object> region = new LinkedHashMap<>();
+            region.put("name", name);
+            region.put("size", estimatedSize(name));
+            region.put("maxSize", entry.getValue().getMaxSize());
+            region.put("ttl", entry.getValue().getTtl().toString());
+            region.put("hits", hits);
+            region.put("misses", misses);
+            region.put("hitRatio", hitRatio(hits, misses));
+            region.put("puts", count("cache.puts", name, null));
+            region.put("evictions", count("cache.evictions", name, null));
+            regions.add(region);
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("hits", totalHits);
+        snapshot.put("misses", totalMisses);
+        snapshot.put("hitRatio", hitRatio(totalHits, totalMisses));
+        snapshot.put("regions", regions);
+        return snapshot;
+    }
+
+    private long estimatedSize(String name) {
+        Cache<Object, Object> cache = hibernateCacheManager.getCache(name);
+        return cache != null ? cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize() : 0;
+    }
+
+    private long count(String meter, String cache, String result) {
+        var search = meterRegistry.find(meter)
+                .tag("cache", cache)
+                .tag("cache.manager", SecondLevelCacheConfig.CACHE_MANAGER_TAG);
+        if (result != null) {
+            search = search.tag("result", result);
+        }
+        FunctionCounter counter = search.functionCounter();
+        return counter != null ? (long) counter.count() : 0;
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : Math.round(hits * 10_000.0 / total) / 10_000.0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.quickserve.backend.config.cache;
+
+import com.quickserve.backend.model.CacheRegions;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "l2cache")
+@Data
+public class SecondLevelCacheProperties {
+
+    private boolean enabled = true;
+
+    // Per-region bounds, keyed by CacheRegions name. Entries are also evicted on write,
+    // so the TTL only caps how long a change made outside Hibernate can stay invisible.
+    private Map<String, Region> regions = defaultRegions();
+
+    private static Map<String, Region> defaultRegions() {
+        Map<String, Region> regions = new LinkedHashMap<>();
+        regions.put(CacheRegions.PROVIDERS, new Region(10_000, Duration.ofMinutes(30)));
+        regions.put(CacheRegions.PROVIDER_SERVICES, new Region(50_000, Duration.ofMinutes(30)));
+        regions.put(CacheRegions.WORKING_HOURS, new Region(70_000, Duration.ofHours(1)));
+        regions.put(CacheRegions.CERTIFICATIONS, new Region(30_000, Duration.ofHours(1)));
+        regions.put(CacheRegions.PROVIDER_SERVICE_LISTS, new Region(10_000, Duration.ofMinutes(30)));
+        regions.put(CacheRegions.PROVIDER_WORKING_HOURS, new Region(10_000, Duration.ofHours(1)));
+        regions.put(CacheRegions.PROVIDER_CERTIFICATIONS, new Region(10_000, Duration.ofHours(1)));
+        regions.put(CacheRegions.PROVIDER_LANGUAGES, new Region(10_000, Duration.ofHours(1)));
+        regions.put(CacheRegions.PROVIDER_SKILLS, new Region(10_000, Duration.ofHours(1)));
+        return regions;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private long maxSize;
+        private Duration ttl;
+    }
+}
@@ -0,0 +1,25 @@
+package com.quickserve.backend.config.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "bulkhead")
+@Data
+public class BulkheadProperties {
+
+    // Only applies with spring.threads.virtual.enabled=true; platform threads are already
+    // bounded by Tomcat's worker pool
+    private boolean enabled = true;
+
+    // API requests allowed in flight at once. 0 derives it from the connection pool:
+    // spring.datasource.hikari.maximum-pool-size x requestsPerConnection
+    private int maxConcurrentRequests = 0;
+    private int requestsPerConnection = 2;
+
+    // How long a request queues for a slot before it is turned away with 503
+    private Duration maxWait = Duration.ofSeconds(2);
+}
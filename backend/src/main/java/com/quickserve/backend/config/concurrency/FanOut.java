@@ -0,0 +1,230 @@
+package com.quickserve.backend.config.concurrency;
+
+import com.quickserve.backend.config.datasource.RequestDbUsage;
+import com.quickserve.backend.config.querybudget.QueryCounter;
+import com.quickserve.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent loads behind a composite response concurrently on virtual threads, each in
+ * its own transaction and so on its own connection. Loads forked from one {@link Scope} share a
+ * deadline; the first failure or the deadline cancels the rest.
+ * <pre>
+ * try (FanOut.Scope scope = fanOut.open()) {
+ *     FanOut.Task&lt;Long&gt; users = scope.fork(userRepository::count);
+ *     FanOut.Task&lt;Long&gt; bookings = scope.fork(bookingRepository::count);
+ *     scope.join();
+ *     return new Totals(users.get(), bookings.get());
+ * }
+ * </pre>
+ * Callers should not hold a transaction of their own while they wait, or every request holds one
+ * connection while asking the pool for more. Inside an active transaction the loads therefore run
+ * one after another on the calling thread, joining that transaction.
+ */
+@Component
+@Slf4j
+public class FanOut implements DisposableBean {
+
+    private final FanOutProperties properties;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate readWrite;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("fanout-", 0).factory());
+    private final Counter timeouts;
+
+    public FanOut(FanOutProperties properties, PlatformTransactionManager transactionManager,
+                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.timeouts = Counter.builder("fanout.timeouts")
+                .description("Fan-out scopes that missed their deadline")
+                .register(meterRegistry);
+    }
+
+    public Scope open() {
+        return open(properties.getTimeout());
+    }
+
+    public Scope open(Duration timeout) {
+        boolean inline = !properties.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive();
+        return new Scope(System.nanoTime() + timeout.toNanos(), inline);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final long deadline;
+        private final boolean inline;
+        private final Semaphore permits = new Semaphore(Math.max(1, properties.getMaxParallelism()));
+        private final List<Task<?>> tasks = new ArrayList<>();
+        private final BlockingQueue<Task<?>> finished = new LinkedBlockingQueue<>();
+
+        // Request context the loads run under
+        private final SecurityContext securityContext = SecurityContextHolder.getContext();
+        private final QueryCounter queryCounter = QueryCounter.current();
+        private final RequestDbUsage dbUsage = RequestDbUsage.current();
+
+        private boolean joined;
+
+        private Scope(long deadline, boolean inline) {
+            this.deadline = deadline;
+            this.inline = inline;
+        }
+
+        /** Forks a load in a read-only transaction, which goes to the replica when one is configured. */
+        public <T> Task<T> fork(Supplier<T> load) {
+            return fork(readOnly, load);
+        }
+
+        /** Forks a load that writes, in a read-write transaction on the primary. */
+        public <T> Task<T> forkWrite(Supplier<T> load) {
+            return fork(readWrite, load);
+        }
+
+        private <T> Task<T> fork(TransactionTemplate transaction, Supplier<T> load) {
+            Assert.state(!joined, "Cannot fork after join");
+            Task<T> task = new Task<>();
+            tasks.add(task);
+            if (inline) {
+                task.result = transaction.execute(status -> load.get());
+                task.done = true;
+                return task;
+            }
+            task.future = executor.submit(() -> run(task, transaction, load));
+            return task;
+        }
+
+        private <T> void run(Task<T> task, TransactionTemplate transaction, Supplier<T> load) {
+            SecurityContextHolder.setContext(securityContext);
+            task.queries = queryCounter != null ? QueryCounter.startChild(queryCounter) : null;
+            task.dbUsage = dbUsage != null ? RequestDbUsage.start() : null;
+            try {
+                permits.acquire();
+                try {
+                    task.result = transaction.execute(status -> load.get());
+                } finally {
+                    permits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                task.failure = e;
+            } catch (RuntimeException | Error e) {
+                task.failure = e;
+            } finally {
+                QueryCounter.stop();
+                RequestDbUsage.clear();
+                SecurityContextHolder.clearContext();
+                finished.add(task);
+            }
+        }
+
+        /**
+         * Waits for every forked load. Rethrows the first failure, or fails with 503 when the
+         * deadline passes first; either way the loads still running are cancelled.
+         */
+        public void join() {
+            Assert.state(!joined, "Scope already joined");
+            joined = true;
+            if (inline) {
+                return;
+            }
+            try {
+                for (int remaining = tasks.size(); remaining > 0; remaining--) {
+                    long wait = deadline - System.nanoTime();
+                    Task<?> task = wait > 0 ? finished.poll(wait, TimeUnit.NANOSECONDS) : finished.poll();
+                    if (task == null) {
+                        timeouts.increment();
+                        throw new ServiceUnavailableException("The request took too long. Please try again.", 1);
+                    }
+                    collectUsage(task);
+                    if (task.failure instanceof RuntimeException e) {
+                        throw e;
+                    }
+                    if (task.failure instanceof Error e) {
+                        throw e;
+                    }
+                    if (task.failure != null) {
+                        throw new ServiceUnavailableException("The request was interrupted", 1, task.failure);
+                    }
+                    task.done = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("The request was interrupted", 1, e);
+            } finally {
+                cancelUnfinished();
+            }
+        }
+
+        // Statements and connection time of finished loads count towards the request
+        private void collectUsage(Task<?> task) {
+            if (task.dbUsage != null) {
+                dbUsage.merge(task.dbUsage);
+            }
+            if (task.queries != null) {
+                queryCounter.merge(task.queries);
+            }
+        }
+
+        private void cancelUnfinished() {
+            for (Task<?> task : tasks) {
+                if (task.future != null) {
+                    task.future.cancel(true);
+                }
+            }
+        }
+
+        /** Cancels anything still running when the scope is left without joining. */
+        @Override
+        public void close() {
+            cancelUnfinished();
+        }
+    }
+
+    public static final class Task<T> {
+
+        private volatile T result;
+        private volatile Throwable failure;
+        private volatile boolean done;
+        private Future<?> future;
+        private QueryCounter queries;
+        private RequestDbUsage dbUsage;
+
+        private Task() {
+        }
+
+        /** The load's result; only available once the scope has joined successfully. */
+        public T get() {
+            Assert.state(done, "Task has not completed; call join() first");
+            return result;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.quickserve.backend.config.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "fanout")
+@Data
+public class FanOutProperties {
+
+    // When off, forked loads run one after another on the calling thread
+    private boolean enabled = true;
+
+    // Shared deadline for all loads forked from one scope
+    private Duration timeout = Duration.ofSeconds(5);
+
+    // Loads of one scope running at once, i.e. pool connections a single request may hold
+    private int maxParallelism = 4;
+}
@@ -0,0 +1,84 @@
+package com.quickserve.backend.config.datasource;
+
+import com.quickserve.backend.config.RequestEndpoints;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint database time: each request's connection wait, hold and statement time are
+ * recorded as {@code db.connection.acquire}, {@code db.connection.hold}, {@code db.query} and
+ * {@code db.statements}, tagged with the controller mapping (e.g. {@code GET /api/public/providers}).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "db-telemetry", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionTelemetryConfig implements WebMvcConfigurer {
+
+    static final String ACQUIRE = "db.connection.acquire";
+    static final String HOLD = "db.connection.hold";
+    static final String QUERY = "db.query";
+    static final String STATEMENTS = "db.statements";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ConnectionTelemetryConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Static so the post-processor is registered before the pools are created
+    @Bean
+    public static ConnectionTelemetryPostProcessor connectionTelemetryPostProcessor() {
+        return new ConnectionTelemetryPostProcessor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestDbUsage.start();
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                RequestDbUsage usage = RequestDbUsage.current();
+                RequestDbUsage.clear();
+                if (usage != null && usage.getConnections() > 0) {
+                    record(RequestEndpoints.of(request), usage);
+                }
+            }
+        });
+    }
+
+    private void record(String endpoint, RequestDbUsage usage) {
+        MeterRegistry registry = meterRegistry.getObject();
+        timer(registry, ACQUIRE, "Time spent waiting for pool connections per request", endpoint)
+                .record(usage.getAcquireNanos(), TimeUnit.NANOSECONDS);
+        timer(registry, HOLD, "Time pool connections were held per request", endpoint)
+                .record(usage.getHoldNanos(), TimeUnit.NANOSECONDS);
+        timer(registry, QUERY, "Time spent executing statements per request", endpoint)
+                .record(usage.getQueryNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(STATEMENTS)
+                .description("Statements executed per request")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(usage.getStatements());
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String description, String endpoint) {
+        return Timer.builder(name).description(description).tag("endpoint", endpoint).register(registry);
+    }
+}
@@ -0,0 +1,108 @@
+package com.quickserve.backend.config.datasource;
+
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * JDK proxies around a pool and the connections and statements it hands out, reporting into the
+ * current {@link RequestDbUsage}. The pool proxy keeps all of the pool's interfaces, so metrics
+ * binders and {@code unwrap} still reach the real pool.
+ */
+final class ConnectionTelemetryDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private ConnectionTelemetryDataSource() {
+    }
+
+    static DataSource wrap(DataSource pool) {
+        Class<?>[] interfaces = ClassUtils.getAllInterfacesForClass(pool.getClass(), pool.getClass().getClassLoader());
+        return (DataSource) Proxy.newProxyInstance(pool.getClass().getClassLoader(), interfaces, (proxy, method, args) -> {
+            if (!method.getName().equals("getConnection")) {
+                return invoke(pool, method, args);
+            }
+            RequestDbUsage usage = RequestDbUsage.current();
+            if (usage == null) {
+                return invoke(pool, method, args);
+            }
+            long start = System.nanoTime();
+            Connection connection = (Connection) invoke(pool, method, args);
+            long acquired = System.nanoTime();
+            usage.connectionAcquired(acquired - start);
+            return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    new ConnectionHandler(connection, usage, acquired));
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final RequestDbUsage usage;
+        private final long acquiredAt;
+        private boolean released;
+
+        ConnectionHandler(Connection target, RequestDbUsage usage, long acquiredAt) {
+            this.target = target;
+            this.usage = usage;
+            this.acquiredAt = acquiredAt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close") && !released) {
+                released = true;
+                usage.connectionReleased(System.nanoTime() - acquiredAt);
+            }
+            Object result = ConnectionTelemetryDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement
+                    && (name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall"))) {
+                return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{statementType(statement)},
+                        new StatementHandler(statement, usage));
+            }
+            return result;
+        }
+
+        private static Class<?> statementType(Statement statement) {
+            if (statement instanceof CallableStatement) {
+                return CallableStatement.class;
+            }
+            return statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        }
+    }
+
+    private record StatementHandler(Statement target, RequestDbUsage usage) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return ConnectionTelemetryDataSource.invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return ConnectionTelemetryDataSource.invoke(target, method, args);
+            } finally {
+                usage.statementExecuted(System.nanoTime() - start);
+            }
+        }
+    }
+}
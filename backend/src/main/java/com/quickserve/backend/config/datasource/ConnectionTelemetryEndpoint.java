@@ -0,0 +1,78 @@
+package com.quickserve.backend.config.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Endpoint(id = "dbtime")
+@ConditionalOnProperty(prefix = "db-telemetry", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ConnectionTelemetryEndpoint {
+
+    private final MeterRegistry meterRegistry;
+    private final ConnectionTelemetryProperties properties;
+
+    @ReadOperation
+    public Map<String, Object> endpoints() {
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (Timer hold : meterRegistry.find(ConnectionTelemetryConfig.HOLD).timers()) {
+            String endpoint = hold.getId().getTag("endpoint");
+            double holdMs = hold.mean(TimeUnit.MILLISECONDS);
+            double queryMs = mean(ConnectionTelemetryConfig.QUERY, endpoint);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint);
+            row.put("requests", hold.count());
+            row.put("totalHoldMs", round(hold.totalTime(TimeUnit.MILLISECONDS)));
+            row.put("meanHoldMs", round(holdMs));
+            row.put("maxHoldMs", round(hold.max(TimeUnit.MILLISECONDS)));
+            row.put("meanAcquireMs", round(mean(ConnectionTelemetryConfig.ACQUIRE, endpoint)));
+            row.put("meanQueryMs", round(queryMs));
+            row.put("meanStatements", round(meanStatements(endpoint)));
+            row.put("holdToQueryRatio", queryMs > 0 ? round(holdMs / queryMs) : null);
+            row.put("flagged", isFlagged(holdMs, queryMs));
+            endpoints.add(row);
+        }
+        endpoints.sort(Comparator.comparing(row -> -((Double) row.get("totalHoldMs"))));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("holdToQueryRatio", properties.getHoldToQueryRatio());
+        report.put("minHoldMs", properties.getMinHold().toMillis());
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    // Connection held far longer than its statements ran: work between queries (remote calls,
+    // serialization, lazy loading) is being done while the connection is checked out
+    private boolean isFlagged(double holdMs, double queryMs) {
+        return holdMs >= properties.getMinHold().toMillis() && holdMs > queryMs * properties.getHoldToQueryRatio();
+    }
+
+    private double mean(String meter, String endpoint) {
+        Timer timer = meterRegistry.find(meter).tag("endpoint", endpoint).timer();
+        return timer != null ? timer.mean(TimeUnit.MILLISECONDS) : 0.0;
+    }
+
+    private double meanStatements(String endpoint) {
+        DistributionSummary summary = meterRegistry.find(ConnectionTelemetryConfig.STATEMENTS)
+                .tag("endpoint", endpoint).summary();
+        return summary != null ? summary.mean() : 0.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.quickserve.backend.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps every Hikari pool (the auto-configured one, or the primary and replica pools) so
+ * connection acquire/hold and statement time are attributed to the current request.
+ */
+public class ConnectionTelemetryPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof HikariDataSource pool ? ConnectionTelemetryDataSource.wrap(pool) : bean;
+    }
+}
@@ -0,0 +1,22 @@
+package com.quickserve.backend.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "db-telemetry")
+@Data
+public class ConnectionTelemetryProperties {
+
+    private boolean enabled = true;
+
+    // An endpoint is flagged when its mean connection hold time is this many times its mean
+    // statement time, i.e. the connection mostly sits idle while the request does other work
+    private double holdToQueryRatio = 4.0;
+
+    // ...and the mean hold time is at least this long, so trivial endpoints are not flagged
+    private Duration minHold = Duration.ofMillis(20);
+}
@@ -0,0 +1,69 @@
+package com.quickserve.backend.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Must sit behind
+ * a {@code LazyConnectionDataSourceProxy}: the read-only flag is only set after the transaction
+ * manager has asked for a connection, so the lookup has to wait for the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReadYourWritesTracker tracker;
+    private final Counter writes;
+    private final Counter reads;
+    private final Counter stickyReads;
+
+    public ReadWriteRoutingDataSource(Object primary, Object replica, ReadYourWritesTracker tracker,
+                                      MeterRegistry meterRegistry) {
+        this.tracker = tracker;
+        this.writes = routed(meterRegistry, PRIMARY, "write");
+        this.reads = routed(meterRegistry, REPLICA, "read");
+        this.stickyReads = routed(meterRegistry, PRIMARY, "read-your-writes");
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Startup work (Flyway, schema validation) and non-transactional calls
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        tracker.recordWrite();
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (tracker.isSticky()) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+        reads.increment();
+        return REPLICA;
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder("datasource.routing")
+                .description("Connections handed out by the read/write router")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
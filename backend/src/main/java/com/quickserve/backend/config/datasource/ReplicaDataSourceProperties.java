@@ -0,0 +1,29 @@
+package com.quickserve.backend.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "datasource.replica")
+@Data
+public class ReplicaDataSourceProperties {
+
+    // Off by default: everything runs against spring.datasource.* as before
+    private boolean enabled = false;
+
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+    private int maximumPoolSize = 10;
+
+    // After a user's own write commits, their read-only work stays on the primary this long,
+    // so they never read a replica that has not caught up yet. Keep it above the usual lag.
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    // Upper bound on users tracked for stickiness; oldest entries are dropped first
+    private long maxStickyUsers = 100_000;
+}
@@ -0,0 +1,57 @@
+package com.quickserve.backend.config.datasource;
+
+import lombok.Getter;
+
+/**
+ * Database usage of the request running on the current thread: time spent waiting for pool
+ * connections, time they were held, and the number and duration of statements run on them.
+ * Work outside a request (startup, schedulers) is not tracked.
+ */
+@Getter
+public final class RequestDbUsage {
+
+    private static final ThreadLocal<RequestDbUsage> CURRENT = new ThreadLocal<>();
+
+    private long acquireNanos;
+    private long holdNanos;
+    private long queryNanos;
+    private int connections;
+    private int statements;
+
+    public static RequestDbUsage start() {
+        RequestDbUsage usage = new RequestDbUsage();
+        CURRENT.set(usage);
+        return usage;
+    }
+
+    public static RequestDbUsage current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /** Adds the usage of work done for this request on another thread, once that work has finished. */
+    public void merge(RequestDbUsage other) {
+        acquireNanos += other.acquireNanos;
+        holdNanos += other.holdNanos;
+        queryNanos += other.queryNanos;
+        connections += other.connections;
+        statements += other.statements;
+    }
+
+    void connectionAcquired(long waitNanos) {
+        acquireNanos += waitNanos;
+        connections++;
+    }
+
+    void connectionReleased(long heldNanos) {
+        holdNanos += heldNanos;
+    }
+
+    void statementExecuted(long elapsedNanos) {
+        queryNanos += elapsedNanos;
+        statements++;
+    }
+}
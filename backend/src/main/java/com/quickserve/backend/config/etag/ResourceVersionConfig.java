@@ -0,0 +1,28 @@
+package com.quickserve.backend.config.etag;
+
+import com.quickserve.backend.config.HibernateIntegrators;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers {@link ResourceVersionListener} with Hibernate so the versions behind public ETags move
+ * with every committed change, whichever service made it.
+ */
+@Configuration
+public class ResourceVersionConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer resourceVersionCustomizer() {
+        return HibernateIntegrators.listeners(registry -> {
+            ResourceVersionListener listener = new ResourceVersionListener();
+            registry.appendListeners(EventType.POST_INSERT, listener);
+            registry.appendListeners(EventType.POST_UPDATE, listener);
+            registry.appendListeners(EventType.POST_DELETE, listener);
+            registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+            registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+            registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+        });
+    }
+}
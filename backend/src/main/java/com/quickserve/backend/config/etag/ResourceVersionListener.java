@@ -0,0 +1,170 @@
+package com.quickserve.backend.config.etag;
+
+import com.quickserve.backend.model.*;
+import com.quickserve.backend.model.enums.Role;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bumps resource versions for entity changes that show on public pages: anything about a provider
+ * (profile, services, hours, certifications, reviews, booking counts, the owning user's name and
+ * photo) bumps that provider, and a reviewer's name or photo bumps every provider they reviewed; adding, removing or re-categorising a provider bumps the category list.
+ * Changes are collected per session and written once, just before the transaction commits, in the
+ * same transaction. View counting alone does not bump, or no provider page would ever be unchanged.
+ */
+class ResourceVersionListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private static final Set<String> PROVIDER_UNTRACKED = Set.of("profileViews", "updatedAt");
+    private static final Set<String> USER_TRACKED = Set.of("fullName", "email", "phone", "profilePhotoUrl");
+    // What reviews show of the customer who wrote them
+    private static final Set<String> REVIEWER_TRACKED = Set.of("fullName", "profilePhotoUrl");
+
+    private final Map<SharedSessionContractImplementor, Pending> pendingBySession = new ConcurrentHashMap<>();
+
+    private static final class Pending {
+        boolean categories;
+        final Set<Long> providers = new TreeSet<>();
+        final Set<Long> providerUsers = new TreeSet<>();
+        final Set<Long> reviewers = new TreeSet<>();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof ServiceProvider provider) {
+            pending(event.getSession()).categories = true;
+            pending(event.getSession()).providers.add(provider.getId());
+        } else {
+            providerOf(event.getEntity(), event.getSession());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        String[] names = event.getPersister().getPropertyNames();
+        int[] dirty = event.getDirtyProperties();
+        if (entity instanceof ServiceProvider provider) {
+            if (anyDirty(names, dirty, name -> !PROVIDER_UNTRACKED.contains(name))) {
+                Pending pending = pending(event.getSession());
+                pending.providers.add(provider.getId());
+                pending.categories |= anyDirty(names, dirty, "primaryService"::equals);
+            }
+        } else if (entity instanceof User user) {
+            if (user.getRole() == Role.SERVICE_PROVIDER && anyDirty(names, dirty, USER_TRACKED::contains)) {
+                pending(event.getSession()).providerUsers.add(user.getId());
+            } else if (user.getRole() == Role.CUSTOMER && anyDirty(names, dirty, REVIEWER_TRACKED::contains)) {
+                pending(event.getSession()).reviewers.add(user.getId());
+            }
+        } else if (entity instanceof Booking) {
+            if (anyDirty(names, dirty, "status"::equals)) {
+                providerOf(entity, event.getSession());
+            }
+        } else {
+            providerOf(entity, event.getSession());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof ServiceProvider provider) {
+            pending(event.getSession()).categories = true;
+            pending(event.getSession()).providers.add(provider.getId());
+        } else {
+            providerOf(event.getEntity(), event.getSession());
+        }
+    }
+
+    // Skills, languages and the provider's child collections
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionChanged(event);
+    }
+
+    private void collectionChanged(AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerOrNull() instanceof ServiceProvider provider && provider.getId() != null) {
+            pending(event.getSession()).providers.add(provider.getId());
+        }
+    }
+
+    private void providerOf(Object entity, EventSource session) {
+        ServiceProvider provider = switch (entity) {
+            case ProviderService service -> service.getProvider();
+            case WorkingHours hours -> hours.getProvider();
+            case Certification certification -> certification.getProvider();
+            case Review review -> review.getProvider();
+            case Booking booking -> booking.getProvider();
+            default -> null;
+        };
+        // getId() on a lazy proxy does not initialise it
+        if (provider != null && provider.getId() != null) {
+            pending(session).providers.add(provider.getId());
+        }
+    }
+
+    private static boolean anyDirty(String[] names, int[] dirty, java.util.function.Predicate<String> tracked) {
+        if (dirty == null) {
+            return true;
+        }
+        for (int index : dirty) {
+            if (tracked.test(names[index])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Pending pending(EventSource session) {
+        return pendingBySession.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::write);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, s) ->
+                    pendingBySession.remove(s));
+            return new Pending();
+        });
+    }
+
+    // Runs after the final flush, on the transaction's connection; ids in order to keep lock order stable
+    private void write(SharedSessionContractImplementor session) {
+        Pending pending = pendingBySession.remove(session);
+        if (pending == null) {
+            return;
+        }
+        session.doWork(connection -> {
+            if (!pending.providerUsers.isEmpty()) {
+                pending.providers.addAll(ResourceVersions.providerIdsForUsers(connection, pending.providerUsers.stream().toList()));
+            }
+            if (!pending.reviewers.isEmpty()) {
+                pending.providers.addAll(ResourceVersions.providerIdsReviewedBy(connection, pending.reviewers.stream().toList()));
+            }
+            if (pending.categories) {
+                ResourceVersions.bump(connection, ResourceVersions.CATEGORIES, 0L);
+            }
+            for (Long providerId : pending.providers) {
+                ResourceVersions.bump(connection, ResourceVersions.PROVIDER, providerId);
+            }
+        });
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+}
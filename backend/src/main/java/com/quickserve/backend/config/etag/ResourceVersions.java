@@ -0,0 +1,130 @@
+package com.quickserve.backend.config.etag;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Version counters for public resources and the strong ETags built from them. Reading a version is
+ * one primary-key lookup, so a conditional GET can be answered before any entity is loaded. The
+ * version is read before the response is built, so a response is never tagged newer than it is.
+ * <p>
+ * Versions are read in a read-only transaction, like the public responses themselves, so both come
+ * from the same database: the replica when one is configured, or the primary for a user inside
+ * their read-your-writes window. A lagging replica then serves an older version with its older
+ * page instead of the primary's newer version with a stale page.
+ */
+@Component
+public class ResourceVersions {
+
+    static final String CATEGORIES = "categories";
+    static final String PROVIDER = "provider";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+
+    public ResourceVersions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public String categoriesEtag() {
+        return "\"categories-v" + version(CATEGORIES, 0L) + "\"";
+    }
+
+    public String providerEtag(Long providerId) {
+        return providerEtag(providerId, providerVersion(providerId));
+    }
+
+    public String providerEtag(Long providerId, long version) {
+        return "\"provider-" + providerId + "-v" + version + "\"";
+    }
+
+    /** For callers that key other state, such as cached pages, by the same version as the ETag. */
+    public long providerVersion(Long providerId) {
+        return version(PROVIDER, providerId);
+    }
+
+    public String providerReviewsEtag(Long providerId, int page, int size) {
+        return "\"provider-" + providerId + "-v" + version(PROVIDER, providerId) + "-reviews-" + page + "x" + size + "\"";
+    }
+
+    private long version(String type, Long id) {
+        List<Long> versions = readOnly.execute(status -> jdbcTemplate.queryForList(
+                "SELECT version FROM resource_versions WHERE resource_type = ? AND resource_id = ?", Long.class, type, id));
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    // ==================== WRITES ====================
+
+    /** Bumps a version on the connection of the writing transaction, creating the row on first use. */
+    static void bump(Connection connection, String type, long id) throws SQLException {
+        if (update(connection, type, id) > 0) {
+            return;
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO resource_versions (resource_type, resource_id, version) VALUES (?, ?, 1)")) {
+            insert.setString(1, type);
+            insert.setLong(2, id);
+            insert.executeUpdate();
+        } catch (SQLException e) {
+            // Another transaction created the row first
+            if (e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                throw e;
+            }
+            update(connection, type, id);
+        }
+    }
+
+    private static int update(Connection connection, String type, long id) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE resource_versions SET version = version + 1 WHERE resource_type = ? AND resource_id = ?")) {
+            update.setString(1, type);
+            update.setLong(2, id);
+            return update.executeUpdate();
+        }
+    }
+
+    /** Providers owned by the given users, for user changes that show on provider pages. */
+    static List<Long> providerIdsForUsers(Connection connection, List<Long> userIds) throws SQLException {
+        List<Long> providerIds = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id FROM service_providers WHERE user_id = ?")) {
+            for (Long userId : userIds) {
+                select.setLong(1, userId);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        providerIds.add(rs.getLong(1));
+                    }
+                }
+            }
+        }
+        return providerIds;
+    }
+
+    /** Providers reviewed by the given customers, whose name and photo show on those reviews. */
+    static List<Long> providerIdsReviewedBy(Connection connection, List<Long> customerUserIds) throws SQLException {
+        List<Long> providerIds = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT DISTINCT provider_id FROM reviews WHERE customer_id = ?")) {
+            for (Long userId : customerUserIds) {
+                select.setLong(1, userId);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        providerIds.add(rs.getLong(1));
+                    }
+                }
+            }
+        }
+        return providerIds;
+    }
+}
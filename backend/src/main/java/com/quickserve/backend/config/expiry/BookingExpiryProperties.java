@@ -0,0 +1,28 @@
+package com.quickserve.backend.config.expiry;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "booking-expiry")
+@Data
+public class BookingExpiryProperties {
+
+    private boolean enabled = true;
+
+    // Time between runs, counted from the end of the previous one
+    private Duration interval = Duration.ofMinutes(5);
+
+    // A PENDING booking is cancelled once its slot has started or it has waited this long for the
+    // provider, whichever comes first
+    private Duration responseSla = Duration.ofHours(24);
+
+    // Bookings cancelled per transaction; each chunk holds row locks until it commits
+    private int chunkSize = 200;
+
+    // How long a node keeps the job to itself without renewing; renewed after every chunk
+    private Duration lease = Duration.ofMinutes(2);
+}
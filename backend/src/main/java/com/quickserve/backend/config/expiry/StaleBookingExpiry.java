@@ -0,0 +1,125 @@
+package com.quickserve.backend.config.expiry;
+
+import com.quickserve.backend.config.scheduling.SchedulerLease;
+import com.quickserve.backend.model.Booking;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cancels PENDING bookings the provider never answered: those whose slot has started and those
+ * older than {@code booking-expiry.response-sla}. Bookings are walked in id order in chunks, each
+ * chunk locked, cancelled with batched UPDATEs and committed on its own; customer counters follow
+ * from the resulting CANCELLED events (see BookingCounterConsumer). A database lease keeps the job
+ * to one node; a node that loses the lease between chunks stops, and the next run picks up where it
+ * left off.
+ */
+@Component
+@Slf4j
+public class StaleBookingExpiry {
+
+    static final String LEASE = "booking-expiry";
+    static final String SLOT_PASSED = "Expired: the booking time passed before the provider responded";
+    static final String NO_RESPONSE = "Expired: the provider did not respond in time";
+
+    private final BookingRepository bookingRepository;
+    private final SchedulerLease lease;
+    private final BookingExpiryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter expired;
+
+    public StaleBookingExpiry(BookingRepository bookingRepository, SchedulerLease lease,
+                              BookingExpiryProperties properties, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.lease = lease;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expired = Counter.builder("bookings.expired")
+                .description("PENDING bookings cancelled because the provider did not respond")
+                .register(meterRegistry);
+    }
+
+    public record Result(boolean leased, int expired, int chunks) {
+    }
+
+    private record Chunk(int expired, long lastId) {
+    }
+
+    @Scheduled(fixedDelayString = "#{@bookingExpiryProperties.interval.toMillis()}",
+            initialDelayString = "#{@bookingExpiryProperties.interval.toMillis()}")
+    public void run() {
+        if (properties.isEnabled()) {
+            expireStale();
+        }
+    }
+
+    public Result expireStale() {
+        if (!lease.tryAcquire(LEASE, properties.getLease())) {
+            log.debug("Booking expiry is running on another node");
+            return new Result(false, 0, 0);
+        }
+
+        // One cut-off for the whole run, so bookings do not become stale while it walks
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int chunks = 0;
+        long afterId = 0;
+        try {
+            while (true) {
+                long from = afterId;
+                Chunk chunk = transactionTemplate.execute(status -> expireChunk(from, now));
+                if (chunk == null || chunk.expired() == 0) {
+                    break;
+                }
+                total += chunk.expired();
+                chunks++;
+                expired.increment(chunk.expired());
+                afterId = chunk.lastId();
+                if (chunk.expired() < properties.getChunkSize()) {
+                    break;
+                }
+                if (!lease.tryAcquire(LEASE, properties.getLease())) {
+                    log.warn("Lost the booking expiry lease after {} chunks; the next run continues", chunks);
+                    break;
+                }
+            }
+        } finally {
+            lease.release(LEASE);
+        }
+
+        if (total > 0) {
+            log.info("Expired {} stale PENDING bookings in {} chunks", total, chunks);
+        }
+        return new Result(true, total, chunks);
+    }
+
+    private Chunk expireChunk(long afterId, LocalDateTime now) {
+        List<Booking> stale = bookingRepository.findStalePendingForUpdate(afterId, now.toLocalDate(), now.toLocalTime(),
+                now.minus(properties.getResponseSla()), PageRequest.of(0, properties.getChunkSize()));
+        if (stale.isEmpty()) {
+            return new Chunk(0, afterId);
+        }
+
+        for (Booking booking : stale) {
+            boolean slotPassed = !LocalDateTime.of(booking.getBookingDate(), booking.getBookingTime()).isAfter(now);
+            booking.setStatus(BookingStatus.CANCELLED);
+            booking.setCancelledAt(now);
+            booking.setCancellationReason(slotPassed ? SLOT_PASSED : NO_RESPONSE);
+        }
+        // Dirty bookings go out as JDBC batches (hibernate.jdbc.batch_size)
+        bookingRepository.flush();
+
+        return new Chunk(stale.size(), stale.get(stale.size() - 1).getId());
+    }
+}
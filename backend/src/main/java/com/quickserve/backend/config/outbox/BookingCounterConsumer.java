@@ -0,0 +1,66 @@
+package com.quickserve.backend.config.outbox;
+
+import com.quickserve.backend.model.BookingEvent;
+import com.quickserve.backend.model.ServiceProvider;
+import com.quickserve.backend.model.enums.BookingEventType;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.repository.CustomerRepository;
+import com.quickserve.backend.repository.ServiceProviderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the customer booking counters and the provider completed-jobs count in step with booking
+ * events, with one update per customer and per provider for each batch. Each event counts the
+ * status it entered and takes back the status it left, so an admin moving a booking out of
+ * COMPLETED or CANCELLED and back again leaves the counts where they were.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingCounterConsumer implements BookingEventConsumer {
+
+    private final CustomerRepository customerRepository;
+    private final ServiceProviderRepository providerRepository;
+
+    @Override
+    public void accept(List<BookingEvent> events) {
+        // Customer user id -> {created, completed, cancelled}; provider id -> completed
+        Map<Long, int[]> customerCounts = new TreeMap<>();
+        Map<Long, Integer> completedJobs = new TreeMap<>();
+        for (BookingEvent event : events) {
+            int created = event.getType() == BookingEventType.CREATED ? 1 : 0;
+            int completed = change(event, BookingStatus.COMPLETED);
+            int cancelled = change(event, BookingStatus.CANCELLED);
+            if (created != 0 || completed != 0 || cancelled != 0) {
+                int[] counts = customerCounts.computeIfAbsent(event.getCustomerId(), id -> new int[3]);
+                counts[0] += created;
+                counts[1] += completed;
+                counts[2] += cancelled;
+            }
+            if (completed != 0) {
+                completedJobs.merge(event.getProviderId(), completed, Integer::sum);
+            }
+        }
+        customerCounts.values().removeIf(counts -> counts[0] == 0 && counts[1] == 0 && counts[2] == 0);
+        completedJobs.values().removeIf(delta -> delta == 0);
+
+        customerCounts.forEach((userId, counts) ->
+                customerRepository.addBookingCountsByUserId(userId, counts[0], counts[1], counts[2]));
+
+        // Through the entities, so the second-level cache and the provider's page version follow
+        if (!completedJobs.isEmpty()) {
+            for (ServiceProvider provider : providerRepository.findAllByIdForUpdate(completedJobs.keySet())) {
+                provider.setCompletedJobs(provider.getCompletedJobsSafe() + completedJobs.get(provider.getId()));
+            }
+        }
+    }
+
+    // +1 when the event enters the status, -1 when it leaves it
+    private static int change(BookingEvent event, BookingStatus status) {
+        return (event.getStatus() == status ? 1 : 0) - (event.getPreviousStatus() == status ? 1 : 0);
+    }
+}
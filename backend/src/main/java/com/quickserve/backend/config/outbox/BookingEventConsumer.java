@@ -0,0 +1,16 @@
+package com.quickserve.backend.config.outbox;
+
+import com.quickserve.backend.model.BookingEvent;
+
+import java.util.List;
+
+/**
+ * Receives booking events from {@link BookingEventDispatcher}, a batch at a time and in outbox
+ * order. Consumers run inside the dispatch transaction: database work commits together with the
+ * batch being marked dispatched, and an exception rolls the batch back so it is delivered again.
+ * Anything a consumer does outside the database must therefore tolerate seeing an event twice.
+ */
+public interface BookingEventConsumer {
+
+    void accept(List<BookingEvent> events);
+}
@@ -0,0 +1,114 @@
+package com.quickserve.backend.config.outbox;
+
+import com.quickserve.backend.config.scheduling.SchedulerLease;
+import com.quickserve.backend.model.BookingEvent;
+import com.quickserve.backend.repository.BookingEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers outbox events to every {@link BookingEventConsumer}, one batch per transaction, in id
+ * order. A poll takes the "booking-outbox" lease, drains the outbox and gives the lease back, so
+ * events are consumed by one node at a time and at least once. A failing batch is rolled back and
+ * retried on the next poll.
+ */
+@Component
+@Slf4j
+public class BookingEventDispatcher {
+
+    static final String LEASE = "booking-outbox";
+
+    private final BookingEventRepository eventRepository;
+    private final List<BookingEventConsumer> consumers;
+    private final SchedulerLease lease;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter dispatched;
+    private final Counter failures;
+
+    public BookingEventDispatcher(BookingEventRepository eventRepository, List<BookingEventConsumer> consumers,
+                                  SchedulerLease lease, OutboxProperties properties,
+                                  PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.consumers = consumers;
+        this.lease = lease;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dispatched = Counter.builder("outbox.events.dispatched")
+                .description("Booking events delivered to the in-process consumers")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.dispatch.failures")
+                .description("Booking event batches rolled back for a retry")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "#{@outboxProperties.pollInterval.toMillis()}")
+    public void poll() {
+        if (properties.isEnabled()) {
+            dispatchPending();
+        }
+    }
+
+    /** Delivers everything currently in the outbox and returns how many events went out. */
+    public int dispatchPending() {
+        if (!lease.tryAcquire(LEASE, properties.getLease())) {
+            return 0;
+        }
+        int total = 0;
+        try {
+            while (true) {
+                Integer count = transactionTemplate.execute(status -> dispatchBatch());
+                if (count == null || count == 0) {
+                    break;
+                }
+                total += count;
+                dispatched.increment(count);
+                if (count < properties.getBatchSize() || !lease.tryAcquire(LEASE, properties.getLease())) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.error("Booking event batch failed and will be retried", e);
+        } finally {
+            lease.release(LEASE);
+        }
+        return total;
+    }
+
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void deleteDispatched() {
+        if (!properties.isEnabled() || !lease.tryAcquire(LEASE, properties.getLease())) {
+            return;
+        }
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                    eventRepository.deleteDispatchedBefore(LocalDateTime.now().minus(properties.getRetention())));
+            log.debug("Deleted {} dispatched booking events", deleted);
+        } finally {
+            lease.release(LEASE);
+        }
+    }
+
+    private int dispatchBatch() {
+        List<BookingEvent> events = eventRepository.findUndispatched(PageRequest.of(0, properties.getBatchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        for (BookingEventConsumer consumer : consumers) {
+            consumer.accept(events);
+        }
+        eventRepository.markDispatched(events.stream().map(BookingEvent::getId).toList(), LocalDateTime.now());
+        return events.size();
+    }
+}
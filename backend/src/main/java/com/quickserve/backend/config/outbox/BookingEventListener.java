@@ -0,0 +1,103 @@
+package com.quickserve.backend.config.outbox;
+
+import com.quickserve.backend.model.Booking;
+import com.quickserve.backend.model.enums.BookingEventType;
+import com.quickserve.backend.model.enums.BookingStatus;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Captures booking state transitions as outbox rows: a created event for every new booking and one
+ * event per status change. Events are collected per session and inserted in one JDBC batch just
+ * before the transaction commits, on its connection, so a transition and its event commit or roll
+ * back together whichever service made the change.
+ */
+class BookingEventListener implements PostInsertEventListener, PostUpdateEventListener {
+
+    private static final String INSERT = "INSERT INTO booking_events "
+            + "(booking_id, provider_id, customer_id, type, previous_status, status, occurred_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final Map<SharedSessionContractImplementor, List<Event>> pendingBySession = new ConcurrentHashMap<>();
+
+    private record Event(long bookingId, long providerId, long customerId, BookingEventType type,
+                         BookingStatus previousStatus, BookingStatus status, LocalDateTime occurredAt) {
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Booking booking) {
+            record(event.getSession(), booking, BookingEventType.CREATED, null);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Booking booking) || event.getOldState() == null) {
+            return;
+        }
+        int status = event.getPersister().getPropertyIndex("status");
+        BookingStatus previous = (BookingStatus) event.getOldState()[status];
+        if (previous != booking.getStatus()) {
+            record(event.getSession(), booking, BookingEventType.enteringStatus(booking.getStatus()), previous);
+        }
+    }
+
+    // getId() on the lazy customer and provider proxies does not initialise them
+    private void record(EventSource session, Booking booking, BookingEventType type, BookingStatus previous) {
+        pending(session).add(new Event(booking.getId(), booking.getProvider().getId(), booking.getCustomer().getId(),
+                type, previous, booking.getStatus(), LocalDateTime.now()));
+    }
+
+    private List<Event> pending(EventSource session) {
+        return pendingBySession.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::write);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, s) ->
+                    pendingBySession.remove(s));
+            return new ArrayList<>();
+        });
+    }
+
+    // Runs after the final flush, on the transaction's connection
+    private void write(SharedSessionContractImplementor session) {
+        List<Event> events = pendingBySession.remove(session);
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                for (Event event : events) {
+                    insert.setLong(1, event.bookingId());
+                    insert.setLong(2, event.providerId());
+                    insert.setLong(3, event.customerId());
+                    insert.setString(4, event.type().name());
+                    insert.setString(5, event.previousStatus() != null ? event.previousStatus().name() : null);
+                    insert.setString(6, event.status().name());
+                    insert.setTimestamp(7, Timestamp.valueOf(event.occurredAt()));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.quickserve.backend.config.outbox;
+
+import com.quickserve.backend.config.HibernateIntegrators;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers {@link BookingEventListener} with Hibernate so every booking transition, from any
+ * service or batch job, lands in the outbox.
+ */
+@Configuration
+public class BookingOutboxConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer bookingOutboxCustomizer() {
+        return HibernateIntegrators.listeners(registry -> {
+            BookingEventListener listener = new BookingEventListener();
+            registry.appendListeners(EventType.POST_INSERT, listener);
+            registry.appendListeners(EventType.POST_UPDATE, listener);
+        });
+    }
+}
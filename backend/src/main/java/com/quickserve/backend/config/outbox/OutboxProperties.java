@@ -0,0 +1,28 @@
+package com.quickserve.backend.config.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "outbox")
+@Data
+public class OutboxProperties {
+
+    // When off, events are still written but nothing delivers them
+    private boolean enabled = true;
+
+    // Time between polls of the outbox, i.e. how late consumers may see an event
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    // Events handed to the consumers per transaction
+    private int batchSize = 200;
+
+    // How long a node keeps dispatching to itself without renewing; renewed on every poll
+    private Duration lease = Duration.ofSeconds(30);
+
+    // Dispatched events are kept this long, then deleted
+    private Duration retention = Duration.ofDays(1);
+}
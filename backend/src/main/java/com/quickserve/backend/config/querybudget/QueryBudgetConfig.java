@@ -0,0 +1,89 @@
+package com.quickserve.backend.config.querybudget;
+
+import com.quickserve.backend.config.RequestEndpoints;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+
+/**
+ * Per-request SQL statement budget. Requests over budget are logged (or rejected, see
+ * {@link QueryBudgetProperties#isReject()}), and statements repeated within one request are
+ * reported as likely N+1 queries. Both are counted as {@code query.budget.exceeded} and
+ * {@code query.repeated} per endpoint.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetConfig implements WebMvcConfigurer {
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                QueryCounter.start(RequestEndpoints.of(request), budgetFor(request.getRequestURI()), properties.isReject());
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                QueryCounter counter = QueryCounter.current();
+                QueryCounter.stop();
+                if (counter != null) {
+                    report(counter);
+                }
+            }
+        });
+    }
+
+    private int budgetFor(String path) {
+        for (QueryBudgetProperties.Rule rule : properties.getRules()) {
+            if (pathMatcher.match(rule.getPattern(), path)) {
+                return rule.getBudget();
+            }
+        }
+        return properties.getDefaultBudget();
+    }
+
+    private void report(QueryCounter counter) {
+        if (counter.isOverBudget()) {
+            log.warn("{} ran {} statements, over its budget of {}", counter.getScope(), counter.getTotal(), counter.getBudget());
+            counter("query.budget.exceeded", "Requests that ran more statements than their budget", counter.getScope())
+                    .increment();
+        }
+        for (Map.Entry<String, Integer> repeated : counter.repeatedStatements(properties.getRepeatThreshold()).entrySet()) {
+            log.warn("Possible N+1 in {}: {} runs of [{}]", counter.getScope(), repeated.getValue(), repeated.getKey());
+            counter("query.repeated", "Statements repeated within a request beyond the N+1 threshold", counter.getScope())
+                    .increment();
+        }
+    }
+
+    private Counter counter(String name, String description, String endpoint) {
+        return Counter.builder(name).description(description).tag("endpoint", endpoint).register(meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.quickserve.backend.config.querybudget;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "query-budget")
+@Data
+public class QueryBudgetProperties {
+
+    private boolean enabled = true;
+
+    // Over-budget requests are logged; with reject=true the statement that crosses the budget
+    // fails instead (meant for dev and CI, where a regression should break loudly)
+    private boolean reject = false;
+
+    // Statements per request for paths no rule matches
+    private int defaultBudget = 40;
+
+    // The same SQL run this many times in one request is reported as a likely N+1
+    private int repeatThreshold = 5;
+
+    // First matching rule wins, so keep the most specific patterns on top
+    private List<Rule> rules = new ArrayList<>(List.of(
+            new Rule("/api/public/categories", 15),
+            new Rule("/api/public/providers", 10),
+            new Rule("/api/public/providers/**", 15),
+            new Rule("/api/customer/bookings/**", 10),
+            new Rule("/api/provider/bookings/**", 10),
+            new Rule("/api/provider/stats", 20),
+            new Rule("/api/admin/**", 60)
+    ));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private String pattern;
+        private int budget;
+    }
+}
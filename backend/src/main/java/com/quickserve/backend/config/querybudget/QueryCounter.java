@@ -0,0 +1,94 @@
+package com.quickserve.backend.config.querybudget;
+
+import com.quickserve.backend.exception.QueryBudgetExceededException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * SQL statements Hibernate prepared on the current thread since {@link #start}. Statements are
+ * keyed by their SQL text, which still has {@code ?} placeholders, so the same query run for
+ * different ids counts as a repeat.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private final String scope;
+    private final int budget;
+    private final boolean reject;
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+    private int total;
+
+    private QueryCounter(String scope, int budget, boolean reject) {
+        this.scope = scope;
+        this.budget = budget;
+        this.reject = reject;
+    }
+
+    public static QueryCounter start(String scope, int budget, boolean reject) {
+        QueryCounter counter = new QueryCounter(scope, budget, reject);
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    /**
+     * Starts counting on the current thread for work done on behalf of {@code parent}, e.g. a
+     * load forked onto another thread. The budget is checked when the child is merged back.
+     */
+    public static QueryCounter startChild(QueryCounter parent) {
+        QueryCounter child = new QueryCounter(parent.scope, parent.budget, false);
+        CURRENT.set(child);
+        return child;
+    }
+
+    public static QueryCounter current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void record(String sql) {
+        total++;
+        statements.merge(sql, 1, Integer::sum);
+        if (reject && total > budget) {
+            throw new QueryBudgetExceededException(scope, budget);
+        }
+    }
+
+    /** Adds the statements a finished child counted; call on the thread that owns this counter. */
+    public void merge(QueryCounter child) {
+        child.statements.forEach((sql, count) -> statements.merge(sql, count, Integer::sum));
+        total += child.total;
+        if (reject && total > budget) {
+            throw new QueryBudgetExceededException(scope, budget);
+        }
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public boolean isOverBudget() {
+        return total > budget;
+    }
+
+    /** Statements run at least {@code threshold} times, most repeated first. */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        return statements.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,33 @@
+package com.quickserve.backend.config.ratings;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * POST /actuator/ratings rebuilds the provider rating histograms from the reviews table, for data
+ * written outside the application or restored from backup.
+ */
+@Component
+@Endpoint(id = "ratings")
+@RequiredArgsConstructor
+public class RatingHistogramEndpoint {
+
+    private final RatingHistogramRebuilder rebuilder;
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        long started = System.nanoTime();
+        RatingHistogramRebuilder.Result result = rebuilder.rebuildAll();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("providers", result.providers());
+        summary.put("corrected", result.corrected());
+        summary.put("elapsedMs", (System.nanoTime() - started) / 1_000_000);
+        return summary;
+    }
+}
@@ -0,0 +1,99 @@
+package com.quickserve.backend.config.ratings;
+
+import com.quickserve.backend.model.RatingHistogram;
+import com.quickserve.backend.model.ServiceProvider;
+import com.quickserve.backend.repository.ReviewRepository;
+import com.quickserve.backend.repository.ServiceProviderRepository;
+import com.quickserve.backend.repository.projection.ProviderRatingCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recomputes every provider's rating histogram from the reviews table, in batches of providers.
+ * Each batch locks its provider rows before counting, the same lock review creation takes, so a
+ * review written during the rebuild is counted exactly once.
+ */
+@Component
+@Slf4j
+public class RatingHistogramRebuilder {
+
+    static final int BATCH_SIZE = 500;
+
+    private final ServiceProviderRepository providerRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RatingHistogramRebuilder(ServiceProviderRepository providerRepository, ReviewRepository reviewRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.providerRepository = providerRepository;
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public record Result(int providers, int corrected) {
+    }
+
+    public Result rebuildAll() {
+        int providers = 0;
+        int corrected = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = providerRepository.findIdsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer changed = transactionTemplate.execute(status -> rebuild(ids));
+            providers += ids.size();
+            corrected += changed != null ? changed : 0;
+            afterId = ids.get(ids.size() - 1);
+        }
+        log.info("Rebuilt rating histograms for {} providers, {} corrected", providers, corrected);
+        return new Result(providers, corrected);
+    }
+
+    private int rebuild(List<Long> ids) {
+        List<ServiceProvider> providers = providerRepository.findAllByIdForUpdate(ids);
+
+        Map<Long, int[]> counts = new HashMap<>();
+        for (ProviderRatingCount row : reviewRepository.countRatingsByProviderIds(ids)) {
+            if (row.rating() != null && row.rating() >= RatingHistogram.MIN_RATING && row.rating() <= RatingHistogram.MAX_RATING) {
+                counts.computeIfAbsent(row.providerId(), id -> new int[RatingHistogram.MAX_RATING + 1])[row.rating()] =
+                        row.count().intValue();
+            }
+        }
+
+        int corrected = 0;
+        for (ServiceProvider provider : providers) {
+            RatingHistogram rebuilt = histogram(counts.getOrDefault(provider.getId(), new int[RatingHistogram.MAX_RATING + 1]));
+            if (!sameCounts(provider.getRatings(), rebuilt)) {
+                provider.replaceRatings(rebuilt);
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    private static RatingHistogram histogram(int[] counts) {
+        long sum = 0;
+        for (int rating = RatingHistogram.MIN_RATING; rating <= RatingHistogram.MAX_RATING; rating++) {
+            sum += (long) rating * counts[rating];
+        }
+        return new RatingHistogram(counts[1], counts[2], counts[3], counts[4], counts[5], sum);
+    }
+
+    private static boolean sameCounts(RatingHistogram current, RatingHistogram rebuilt) {
+        for (int rating = RatingHistogram.MIN_RATING; rating <= RatingHistogram.MAX_RATING; rating++) {
+            if (current.count(rating) != rebuilt.count(rating)) {
+                return false;
+            }
+        }
+        return current.getSum() == rebuilt.getSum();
+    }
+}
@@ -0,0 +1,52 @@
+package com.quickserve.backend.config.scheduling;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Time-limited named leases in the scheduler_leases table, so a scheduled job runs on one node at a
+ * time. A lease is taken when it is free or expired and kept by renewing it before it runs out; a
+ * node that dies simply stops renewing. Each statement commits on its own, outside any transaction
+ * of the job.
+ */
+@Component
+public class SchedulerLease {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    public SchedulerLease(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Takes or extends the lease for {@code ttl}; false while another node holds it. */
+    public boolean tryAcquire(String name, Duration ttl) {
+        int updated = jdbcTemplate.update(
+                "UPDATE scheduler_leases SET owner = ?, expires_at = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP) "
+                        + "WHERE name = ? AND (owner = ? OR expires_at <= CURRENT_TIMESTAMP)",
+                owner, ttl.toSeconds(), name, owner);
+        if (updated > 0) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO scheduler_leases (name, owner, expires_at) "
+                            + "VALUES (?, ?, TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP))",
+                    name, owner, ttl.toSeconds());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /** Gives the lease up early so another node need not wait for it to expire. */
+    public void release(String name) {
+        jdbcTemplate.update("UPDATE scheduler_leases SET expires_at = CURRENT_TIMESTAMP WHERE name = ? AND owner = ?",
+                name, owner);
+    }
+}
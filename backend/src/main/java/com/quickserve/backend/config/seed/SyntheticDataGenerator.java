@@ -0,0 +1,528 @@
+package com.quickserve.backend.config.seed;
+
+import com.quickserve.backend.model.enums.AccountStatus;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Bulk-loads a synthetic marketplace through batched JDBC: customers, providers with services,
+ * working hours, certifications and secondary categories, then bookings in every status and reviews.
+ * Customers and providers cluster into a few large cities, and bookings within a city go mostly to
+ * its most popular providers. Everything is drawn from one seeded Random, so a seed reproduces the
+ * same rows.
+ *
+ * Ids are taken from a block reserved in id_generators up front, so the application's pooled
+ * generators carry on above the seeded rows. Provider ratings and job counts, and customer booking
+ * counts, are written from the generated bookings and reviews so they agree with them.
+ */
+@Slf4j
+public class SyntheticDataGenerator {
+
+    private record City(String name, String state, String pincodePrefix, double latitude, double longitude) {
+    }
+
+    /** Rows written per table and how long it took. */
+    public record Report(Map<String, Long> rows, Duration elapsed) {
+
+        public long totalRows() {
+            return rows.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public double rowsPerSecond() {
+            return totalRows() / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        }
+    }
+
+    // Largest first: the city Zipf draws rank 0 most often
+    private static final List<City> CITIES = List.of(
+            new City("Mumbai", "Maharashtra", "400", 19.076, 72.877),
+            new City("Delhi", "Delhi", "110", 28.704, 77.102),
+            new City("Bengaluru", "Karnataka", "560", 12.972, 77.595),
+            new City("Hyderabad", "Telangana", "500", 17.385, 78.487),
+            new City("Chennai", "Tamil Nadu", "600", 13.083, 80.271),
+            new City("Kolkata", "West Bengal", "700", 22.573, 88.364),
+            new City("Pune", "Maharashtra", "411", 18.520, 73.857),
+            new City("Ahmedabad", "Gujarat", "380", 23.023, 72.571),
+            new City("Jaipur", "Rajasthan", "302", 26.912, 75.787),
+            new City("Lucknow", "Uttar Pradesh", "226", 26.847, 80.947),
+            new City("Surat", "Gujarat", "395", 21.170, 72.831),
+            new City("Nagpur", "Maharashtra", "440", 21.146, 79.088),
+            new City("Indore", "Madhya Pradesh", "452", 22.720, 75.858),
+            new City("Bhopal", "Madhya Pradesh", "462", 23.260, 77.413),
+            new City("Kochi", "Kerala", "682", 9.931, 76.267),
+            new City("Chandigarh", "Chandigarh", "160", 30.733, 76.779));
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh", "Ishaan", "Kabir", "Rohan",
+            "Ananya", "Diya", "Priya", "Kavya", "Meera", "Riya", "Sneha", "Pooja", "Neha", "Aditi",
+            "Rahul", "Amit", "Suresh", "Ramesh", "Vikram", "Manoj", "Deepak", "Sunita", "Lakshmi", "Farhan"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Verma", "Patel", "Reddy", "Iyer", "Nair", "Gupta", "Singh", "Kulkarni", "Joshi",
+            "Desai", "Mehta", "Rao", "Das", "Chopra", "Bose", "Khan", "Pillai", "Menon", "Yadav"
+    };
+
+    private static final String[] STREETS = {
+            "MG Road", "Station Road", "Park Street", "Lake View", "Gandhi Nagar", "Nehru Colony",
+            "Shivaji Chowk", "Temple Road", "Market Lane", "Civil Lines"
+    };
+
+    private static final String[] LANGUAGES = {"Hindi", "English", "Marathi", "Tamil", "Telugu", "Kannada", "Bengali", "Gujarati"};
+
+    private static final String[] SKILLS = {
+            "Residential", "Commercial", "Emergency call-outs", "Eco-friendly products", "Warranty work",
+            "Same-day service", "Large projects", "Inspections"
+    };
+
+    private static final String[] SERVICE_KINDS = {"Inspection", "Repair", "Installation", "Maintenance", "Emergency visit"};
+    private static final int[] SERVICE_MINUTES = {30, 60, 120, 90, 60};
+
+    private static final String[] ISSUERS = {"NSDC", "Skill India", "ITI", "Manufacturer Academy", "City Trade Board"};
+
+    private static final String[] REVIEW_COMMENTS = {
+            "Great work, very professional.", "On time and tidy.", "Fixed it quickly.", "Good value for money.",
+            "Okay, but arrived late.", "Had to call back for a follow-up.", "Not happy with the result."
+    };
+
+    private static final String[] CANCELLATION_REASONS = {
+            "Customer rescheduled", "Provider unavailable", "Found another provider", "No longer needed"
+    };
+
+    // Booking status mix, weights in STATUS_ORDER order
+    private static final BookingStatus[] STATUS_ORDER = {
+            BookingStatus.COMPLETED, BookingStatus.CANCELLED, BookingStatus.PENDING,
+            BookingStatus.CONFIRMED, BookingStatus.IN_PROGRESS
+    };
+    private static final double[] STATUS_WEIGHTS = {0.55, 0.15, 0.14, 0.11, 0.05};
+
+    // Star ratings 1..5 for an average provider; a provider's quality shifts this up or down
+    private static final double[] RATING_WEIGHTS = {0.05, 0.06, 0.12, 0.30, 0.47};
+
+    private static final String SEED_DOMAIN = "seed.quickserve.local";
+    private static final int MAX_SERVICES = 5;
+    private static final int MAX_CERTIFICATIONS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SyntheticDataProperties properties;
+    private final Map<String, Long> rows = new LinkedHashMap<>();
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  SyntheticDataProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Loads the configured volumes. Does nothing if this seed has already been loaded.
+     *
+     * @param passwordHash encoded password stored for every seeded account
+     */
+    public Report generate(String passwordHash) {
+        long started = System.nanoTime();
+        String firstEmail = customerEmail(properties.getSeed(), 1);
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, firstEmail);
+        if (existing != null && existing > 0) {
+            log.info("Synthetic data for seed {} already loaded", properties.getSeed());
+            return new Report(Map.of(), Duration.ZERO);
+        }
+
+        int customerCount = properties.getCustomers();
+        int providerCount = properties.getProviders();
+        int bookingCount = properties.getBookings();
+
+        long firstUserId = reserveIds("users", customerCount + providerCount);
+        long firstCustomerId = reserveIds("customers", customerCount);
+        long firstProviderId = reserveIds("service_providers", providerCount);
+        long firstServiceId = reserveIds("provider_services", (long) providerCount * MAX_SERVICES);
+        long firstWorkingHoursId = reserveIds("working_hours", (long) providerCount * 7);
+        long firstCertificationId = reserveIds("certifications", (long) providerCount * MAX_CERTIFICATIONS);
+        long firstBookingId = reserveIds("bookings", bookingCount);
+        long firstReviewId = reserveIds("reviews", bookingCount);
+
+        Random random = new Random(properties.getSeed());
+        LocalDate today = properties.getReferenceDate() != null ? properties.getReferenceDate() : LocalDate.now();
+        LocalDateTime now = today.atTime(LocalTime.NOON);
+        ZipfSampler citySampler = new ZipfSampler(CITIES.size(), properties.getCitySkew());
+
+        TableWriter users = new TableWriter("users", null,
+                "id, full_name, email, phone, password, role, status, profile_photo_url, created_at, updated_at");
+
+        // ==================== CUSTOMERS ====================
+
+        TableWriter customers = new TableWriter("customers", users,
+                "id, user_id, address, city, state, pincode, latitude, longitude, total_bookings, completed_bookings, "
+                        + "cancelled_bookings, created_at, updated_at");
+        int[] customerCity = new int[customerCount];
+        for (int i = 0; i < customerCount; i++) {
+            long userId = firstUserId + i;
+            LocalDateTime joined = now.minusDays(30 + random.nextInt(700));
+            users.add(userId, randomName(random), customerEmail(properties.getSeed(), i + 1), phone(i), passwordHash,
+                    Role.CUSTOMER.name(),
+                    (random.nextInt(50) == 0 ? AccountStatus.DEACTIVATED : AccountStatus.ACTIVE).name(),
+                    null, joined, joined);
+
+            int cityIndex = citySampler.next(random);
+            City city = CITIES.get(cityIndex);
+            customerCity[i] = cityIndex;
+            customers.add(firstCustomerId + i, userId, randomAddress(random), city.name(), city.state(),
+                    pincode(random, city), jitter(random, city.latitude()), jitter(random, city.longitude()),
+                    0, 0, 0, joined, joined);
+        }
+
+        // ==================== PROVIDERS ====================
+
+        TableWriter providers = new TableWriter("service_providers", users,
+                "id, user_id, aadhar_number, aadhar_verified, address, city, state, pincode, primary_service, secondary_mask, category_mask, "
+                        + "experience_years, service_radius_km, hourly_rate, bio, average_rating, total_reviews, completed_jobs, "
+                        + "profile_views, is_available, is_verified, created_at, updated_at");
+        TableWriter languages = new TableWriter("provider_languages", providers, "provider_id, language");
+        TableWriter skills = new TableWriter("provider_skills", providers, "provider_id, skill");
+        TableWriter services = new TableWriter("provider_services", providers,
+                "id, provider_id, name, description, price, duration, duration_minutes, active, created_at, updated_at");
+        TableWriter workingHours = new TableWriter("working_hours", providers,
+                "id, provider_id, day_of_week, open_time, close_time, is_open");
+        TableWriter certifications = new TableWriter("certifications", providers, "id, provider_id, name, issuer, year");
+
+        ServiceCategory[] categories = ServiceCategory.values();
+        List<List<Integer>> providersByCity = new ArrayList<>();
+        CITIES.forEach(city -> providersByCity.add(new ArrayList<>()));
+        long[] providerFirstService = new long[providerCount];
+        int[] providerServiceCount = new int[providerCount];
+        BigDecimal[][] servicePrices = new BigDecimal[providerCount][];
+        double[] providerQuality = new double[providerCount];
+        long serviceId = firstServiceId;
+        long workingHoursId = firstWorkingHoursId;
+        long certificationId = firstCertificationId;
+
+        for (int i = 0; i < providerCount; i++) {
+            long userId = firstUserId + customerCount + i;
+            long providerId = firstProviderId + i;
+            LocalDateTime joined = now.minusDays(30 + random.nextInt(1000));
+            String name = randomName(random);
+            users.add(userId, name, providerEmail(properties.getSeed(), i + 1), phone(customerCount + i), passwordHash,
+                    Role.SERVICE_PROVIDER.name(), AccountStatus.ACTIVE.name(), null, joined, joined);
+
+            int cityIndex = citySampler.next(random);
+            City city = CITIES.get(cityIndex);
+            providersByCity.get(cityIndex).add(i);
+
+            ServiceCategory primary = categories[random.nextInt(categories.length)];
+            long secondaryMask = 0L;
+            for (int s = random.nextInt(3); s > 0; s--) {
+                secondaryMask |= categories[random.nextInt(categories.length)].getMask();
+            }
+            boolean verified = random.nextInt(10) < 7;
+            int experience = random.nextInt(26);
+            providerQuality[i] = random.nextGaussian() * 0.5;
+            providers.add(providerId, userId, String.format("%012d", 300_000_000_000L + providerId), verified,
+                    randomAddress(random), city.name(), city.state(), pincode(random, city), primary.name(),
+                    secondaryMask, secondaryMask | primary.getMask(), experience, 5 + random.nextInt(21),
+                    BigDecimal.valueOf(150 + 50L * random.nextInt(48)),
+                    experience + " years of " + primary.getDisplayName().toLowerCase() + " work in " + city.name() + ".",
+                    null, 0, 0, 0, random.nextInt(10) != 0, verified, joined, joined);
+
+            languages.add(providerId, "Hindi");
+            languages.add(providerId, LANGUAGES[1 + random.nextInt(LANGUAGES.length - 1)]);
+            int skillStart = random.nextInt(SKILLS.length);
+            for (int s = 0; s < 2; s++) {
+                skills.add(providerId, SKILLS[(skillStart + s) % SKILLS.length]);
+            }
+
+            int serviceCount = 1 + random.nextInt(MAX_SERVICES);
+            providerFirstService[i] = serviceId;
+            providerServiceCount[i] = serviceCount;
+            servicePrices[i] = new BigDecimal[serviceCount];
+            for (int s = 0; s < serviceCount; s++) {
+                int kind = (s + random.nextInt(SERVICE_KINDS.length)) % SERVICE_KINDS.length;
+                BigDecimal price = BigDecimal.valueOf(199 + 50L * random.nextInt(60));
+                servicePrices[i][s] = price;
+                services.add(serviceId++, providerId, primary.getDisplayName() + " " + SERVICE_KINDS[kind],
+                        SERVICE_KINDS[kind] + " by a " + primary.getDisplayName().toLowerCase() + " professional",
+                        price, SERVICE_MINUTES[kind] + " min", SERVICE_MINUTES[kind], random.nextInt(12) != 0, joined, joined);
+            }
+
+            LocalTime open = LocalTime.of(7 + random.nextInt(3), 0);
+            LocalTime close = LocalTime.of(17 + random.nextInt(4), 0);
+            for (DayOfWeek day : DayOfWeek.values()) {
+                boolean isOpen = day != DayOfWeek.SUNDAY || random.nextInt(10) < 4;
+                workingHours.add(workingHoursId++, providerId, day.name(), open, close, isOpen);
+            }
+
+            for (int c = random.nextInt(MAX_CERTIFICATIONS + 1); c > 0; c--) {
+                certifications.add(certificationId++, providerId, primary.getDisplayName() + " Certificate",
+                        ISSUERS[random.nextInt(ISSUERS.length)], String.valueOf(today.getYear() - random.nextInt(15)));
+            }
+        }
+
+        // ==================== BOOKINGS & REVIEWS ====================
+
+        TableWriter bookings = new TableWriter("bookings", services,
+                "id, customer_id, provider_id, service_id, booking_date, booking_time, status, customer_address, price, notes, "
+                        + "confirmed_at, completed_at, cancelled_at, cancellation_reason, created_at, updated_at");
+        bookings.after(customers);
+        TableWriter reviews = new TableWriter("reviews", bookings,
+                "id, booking_id, customer_id, provider_id, rating, comment, provider_response, provider_responded_at, "
+                        + "created_at, updated_at");
+
+        ZipfSampler allProviders = new ZipfSampler(providerCount, properties.getProviderPopularitySkew());
+        Map<Integer, ZipfSampler> samplersBySize = new HashMap<>();
+        int[] completedJobs = new int[providerCount];
+        int[] reviewCount = new int[providerCount];
+        long[] ratingSum = new long[providerCount];
+        int[][] ratingCounts = new int[providerCount][6];
+        int[][] customerStats = new int[customerCount][3]; // total, completed, cancelled
+        long reviewId = firstReviewId;
+
+        for (int b = 0; b < bookingCount; b++) {
+            long bookingId = firstBookingId + b;
+            int customer = random.nextInt(customerCount);
+            List<Integer> local = providersByCity.get(customerCity[customer]);
+            int provider;
+            if (!local.isEmpty() && random.nextDouble() < properties.getLocalBookingRate()) {
+                ZipfSampler sampler = samplersBySize.computeIfAbsent(local.size(),
+                        size -> new ZipfSampler(size, properties.getProviderPopularitySkew()));
+                provider = local.get(sampler.next(random));
+            } else {
+                provider = allProviders.next(random);
+            }
+            int service = random.nextInt(providerServiceCount[provider]);
+            BookingStatus status = pickStatus(random);
+
+            LocalDate date = switch (status) {
+                case COMPLETED, CANCELLED -> today.minusDays(1 + random.nextInt(365));
+                case IN_PROGRESS -> today;
+                default -> today.plusDays(random.nextInt(31));
+            };
+            LocalTime time = LocalTime.of(8 + random.nextInt(11), random.nextBoolean() ? 0 : 30);
+            LocalDateTime scheduled = date.atTime(time);
+            LocalDateTime created = scheduled.minusDays(1 + random.nextInt(14)).minusHours(random.nextInt(12));
+            if (created.isAfter(now)) {
+                created = now.minusHours(1 + random.nextInt(48));
+            }
+            LocalDateTime confirmed = status == BookingStatus.PENDING ? null : created.plusHours(1 + random.nextInt(6));
+            LocalDateTime completed = status == BookingStatus.COMPLETED ? scheduled.plusHours(2) : null;
+            LocalDateTime cancelled = status == BookingStatus.CANCELLED ? created.plusHours(2 + random.nextInt(48)) : null;
+            LocalDateTime updated = completed != null ? completed : cancelled != null ? cancelled : confirmed != null ? confirmed : created;
+
+            long customerUserId = firstUserId + customer;
+            long providerId = firstProviderId + provider;
+            bookings.add(bookingId, customerUserId, providerId, providerFirstService[provider] + service, date, time,
+                    status.name(), randomAddress(random), servicePrices[provider][service], null,
+                    confirmed, completed, cancelled,
+                    cancelled != null ? CANCELLATION_REASONS[random.nextInt(CANCELLATION_REASONS.length)] : null,
+                    created, updated);
+
+            customerStats[customer][0]++;
+            if (status == BookingStatus.CANCELLED) {
+                customerStats[customer][2]++;
+            }
+            if (status == BookingStatus.COMPLETED) {
+                customerStats[customer][1]++;
+                completedJobs[provider]++;
+                if (random.nextDouble() < properties.getReviewRate()) {
+                    int rating = pickRating(random, providerQuality[provider]);
+                    LocalDateTime reviewed = completed.plusHours(1 + random.nextInt(72));
+                    boolean responded = random.nextInt(10) < 3;
+                    reviews.add(reviewId++, bookingId, customerUserId, providerId, rating,
+                            REVIEW_COMMENTS[Math.min(REVIEW_COMMENTS.length - 1, (5 - rating) * 2 + random.nextInt(2))],
+                            responded ? "Thank you for the feedback!" : null,
+                            responded ? reviewed.plusHours(6) : null, reviewed, reviewed);
+                    reviewCount[provider]++;
+                    ratingSum[provider] += rating;
+                    ratingCounts[provider][rating]++;
+                }
+            }
+        }
+
+        for (TableWriter writer : List.of(users, customers, providers, languages, skills, services, workingHours,
+                certifications, bookings, reviews)) {
+            writer.flush();
+        }
+
+        // ==================== DERIVED COUNTERS ====================
+
+        List<Object[]> providerStats = new ArrayList<>(providerCount);
+        for (int i = 0; i < providerCount; i++) {
+            BigDecimal average = reviewCount[i] == 0 ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(ratingSum[i]).divide(BigDecimal.valueOf(reviewCount[i]), 2, RoundingMode.HALF_UP);
+            int[] stars = ratingCounts[i];
+            providerStats.add(new Object[]{average, reviewCount[i], stars[1], stars[2], stars[3], stars[4], stars[5],
+                    ratingSum[i], completedJobs[i], completedJobs[i] * 4 + random.nextInt(50), firstProviderId + i});
+        }
+        batchUpdate("UPDATE service_providers SET average_rating = ?, total_reviews = ?, rating_1_count = ?, "
+                + "rating_2_count = ?, rating_3_count = ?, rating_4_count = ?, rating_5_count = ?, rating_sum = ?, "
+                + "completed_jobs = ?, profile_views = ? WHERE id = ?", providerStats);
+
+        List<Object[]> customerCounters = new ArrayList<>(customerCount);
+        for (int i = 0; i < customerCount; i++) {
+            customerCounters.add(new Object[]{customerStats[i][0], customerStats[i][1], customerStats[i][2], firstCustomerId + i});
+        }
+        batchUpdate("UPDATE customers SET total_bookings = ?, completed_bookings = ?, cancelled_bookings = ? WHERE id = ?",
+                customerCounters);
+
+        Report report = new Report(Collections.unmodifiableMap(new LinkedHashMap<>(rows)), Duration.ofNanos(System.nanoTime() - started));
+        log.info("Synthetic data (seed {}): {} rows in {} ms ({} rows/s) {}", properties.getSeed(), report.totalRows(),
+                report.elapsed().toMillis(), Math.round(report.rowsPerSecond()), report.rows());
+        return report;
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Moves the table's id generator past {@code count} new ids and returns the first of them. Starts
+     * above both the table's max id and the generator's value, since the application may hold a
+     * pooled block just below that value.
+     */
+    private long reserveIds(String table, long count) {
+        return transactionTemplate.execute(status -> {
+            Long nextVal = jdbcTemplate.queryForObject(
+                    "SELECT next_val FROM id_generators WHERE sequence_name = ? FOR UPDATE", Long.class, table);
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            long first = Math.max(nextVal != null ? nextVal : 0, maxId != null ? maxId : 0) + 1;
+            // +50 as in V3: the pooled optimizer's next block then starts right after the reserved ids
+            jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE sequence_name = ?",
+                    first + count - 1 + 50, table);
+            return first;
+        });
+    }
+
+    private void batchUpdate(String sql, List<Object[]> args) {
+        for (int from = 0; from < args.size(); from += properties.getBatchSize()) {
+            List<Object[]> chunk = args.subList(from, Math.min(from + properties.getBatchSize(), args.size()));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, chunk));
+        }
+    }
+
+    /** Login of the n-th (1-based) seeded customer; every seeded account has the configured password. */
+    public static String customerEmail(long seed, int n) {
+        return "customer" + n + ".s" + seed + "@" + SEED_DOMAIN;
+    }
+
+    /** Login of the n-th (1-based) seeded provider. */
+    public static String providerEmail(long seed, int n) {
+        return "provider" + n + ".s" + seed + "@" + SEED_DOMAIN;
+    }
+
+    // Unique per seed for up to 10M accounts; real numbers start at 6-9, these start at 1-5
+    private String phone(int index) {
+        return String.format("%d%02d%07d", 1 + Math.floorMod(properties.getSeed(), 5),
+                Math.floorMod(properties.getSeed(), 100), index);
+    }
+
+    private static String randomName(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static String randomAddress(Random random) {
+        return (1 + random.nextInt(300)) + ", " + STREETS[random.nextInt(STREETS.length)];
+    }
+
+    private static String pincode(Random random, City city) {
+        return city.pincodePrefix() + String.format("%03d", 1 + random.nextInt(99));
+    }
+
+    private static double jitter(Random random, double coordinate) {
+        return Math.round((coordinate + (random.nextDouble() - 0.5) * 0.2) * 1e6) / 1e6;
+    }
+
+    private static BookingStatus pickStatus(Random random) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < STATUS_ORDER.length - 1; i++) {
+            roll -= STATUS_WEIGHTS[i];
+            if (roll < 0) {
+                return STATUS_ORDER[i];
+            }
+        }
+        return STATUS_ORDER[STATUS_ORDER.length - 1];
+    }
+
+    private static int pickRating(Random random, double quality) {
+        double roll = random.nextDouble();
+        int rating = RATING_WEIGHTS.length;
+        for (int i = 0; i < RATING_WEIGHTS.length; i++) {
+            roll -= RATING_WEIGHTS[i];
+            if (roll < 0) {
+                rating = i + 1;
+                break;
+            }
+        }
+        return (int) Math.max(1, Math.min(5, Math.round(rating + quality)));
+    }
+
+    /**
+     * Buffers rows for one table and inserts them in batches, one transaction per batch. Writers
+     * flush the tables they reference first, so foreign keys always point at inserted rows.
+     */
+    private final class TableWriter {
+
+        private final String table;
+        private final String sql;
+        private final List<TableWriter> parents = new ArrayList<>();
+        private final List<Object[]> buffer = new ArrayList<>();
+
+        TableWriter(String table, TableWriter parent, String columns) {
+            this.table = table;
+            this.sql = "INSERT INTO " + table + " (" + columns + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.split(",").length, "?")) + ")";
+            if (parent != null) {
+                parents.add(parent);
+            }
+            rows.putIfAbsent(table, 0L);
+        }
+
+        void after(TableWriter parent) {
+            parents.add(parent);
+        }
+
+        void add(Object... values) {
+            buffer.add(values);
+            if (buffer.size() >= properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            parents.forEach(TableWriter::flush);
+            if (buffer.isEmpty()) {
+                return;
+            }
+            List<Object[]> batch = new ArrayList<>(buffer);
+            buffer.clear();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                // Plain setObject: JdbcTemplate's Object[] binding looks up parameter metadata for every null
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Object[] values = batch.get(i);
+                    for (int column = 0; column < values.length; column++) {
+                        ps.setObject(column + 1, values[column]);
+                    }
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            }));
+            rows.merge(table, (long) batch.size(), Long::sum);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.quickserve.backend.config.seed;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+@ConfigurationProperties(prefix = "seed.synthetic")
+@Data
+public class SyntheticDataProperties {
+
+    // Off by default; turn on for a local load-testing database
+    private boolean enabled = false;
+
+    // Same seed, volumes and reference date give the same rows
+    private long seed = 42;
+    private LocalDate referenceDate; // bookings are dated around this day, default today
+
+    private int customers = 20_000;
+    private int providers = 2_000;
+    private int bookings = 200_000;
+
+    // Share of completed bookings that get a review
+    private double reviewRate = 0.6;
+
+    // Zipf exponents: how strongly customers and providers cluster into the biggest cities, and
+    // how strongly bookings within a city concentrate on its most popular providers
+    private double citySkew = 1.0;
+    private double providerPopularitySkew = 1.1;
+
+    // Share of bookings made with a provider in the customer's own city
+    private double localBookingRate = 0.9;
+
+    private int batchSize = 1_000;
+
+    // Every seeded account gets this password
+    private String password = "password123";
+}
@@ -0,0 +1,491 @@
+package com.quickserve.backend.config.stream;
+
+import com.quickserve.backend.dto.response.BookingStreamEvent;
+import com.quickserve.backend.model.BookingEvent;
+import com.quickserve.backend.model.enums.BookingEventType;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.repository.BookingEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes booking events to providers over server-sent events. Connections are async requests, so
+ * an idle one holds a socket and a few objects but no thread. Every node tails the booking_events
+ * outbox by id while anyone is connected and hands each event to that provider's connections; the
+ * SSE id is the event id, so a reconnecting client sends it back as Last-Event-ID and gets the
+ * events it missed replayed from the outbox.
+ *
+ * <p>Ids are taken when a transaction inserts, not when it commits, so a missing id may still
+ * appear. The tail waits up to {@code provider-stream.gap-timeout} for it before moving on, then
+ * keeps looking the skipped id up for {@code provider-stream.late-window}; an event that commits in
+ * that time is sent without an SSE id, so the client's Last-Event-ID stays on the newest event.
+ *
+ * <p>The tail only queues events on the connections; each connection's writes run on a virtual
+ * thread of their own, so a slow client holds back nobody else, and a client with more than
+ * {@code provider-stream.send-queue-limit} events waiting is closed to resume from Last-Event-ID.
+ * No lock is held across a query or a write: {@code pollLock} keeps polls from overlapping and
+ * {@code tailLock} only covers the cursor, so a stream opens without waiting on either.
+ */
+@Component
+@Slf4j
+public class ProviderEventStream {
+
+    static final String READY = "ready";
+    static final String RESET = "reset";
+    static final String BOOKING_CREATED = "booking-created";
+    static final String BOOKING_STATUS_CHANGED = "booking-status-changed";
+
+    private final BookingEventRepository eventRepository;
+    private final ProviderStreamProperties properties;
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("provider-stream-", 0).factory());
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private final ReentrantLock tailLock = new ReentrantLock();
+
+    // Last event id handed to the connections, or -1 while nobody is connected; guarded by tailLock
+    private long cursor = -1;
+    // When the tail first found the id after the cursor missing, or 0; only touched by the poll
+    private long gapSince;
+    // Ids the tail skipped, with the System.nanoTime() until which they are looked up again; only
+    // touched by the poll
+    private final Map<Long, Long> lateIds = new HashMap<>();
+
+    public ProviderEventStream(BookingEventRepository eventRepository, ProviderStreamProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.properties = properties;
+        Gauge.builder("provider.stream.connections", open, AtomicInteger::get)
+                .description("Open provider booking streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for a provider. Without {@code lastEventId} it starts at the newest event;
+     * with one, the provider's later events are replayed first, or a {@code reset} event is sent
+     * when they are no longer all in the outbox.
+     */
+    public SseEmitter open(Long providerId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Connection connection = new Connection(providerId, emitter, lastEventId != null ? lastEventId : -1);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(connection));
+        add(connection);
+
+        // Events after upTo reach the connection through the tail and wait until the replay is done
+        long upTo = cursor();
+        if (lastEventId == null || lastEventId >= upTo) {
+            connection.finishReplay(List.of(), upTo, READY);
+        } else if (isReplayable(lastEventId)) {
+            List<BookingEvent> missed = eventRepository.findByProviderAfter(providerId, lastEventId, upTo,
+                    PageRequest.of(0, properties.getReplayLimit() + 1));
+            if (missed.size() > properties.getReplayLimit()) {
+                connection.finishReplay(List.of(), upTo, RESET);
+            } else {
+                connection.finishReplay(missed, upTo, null);
+            }
+        } else {
+            connection.finishReplay(List.of(), upTo, RESET);
+        }
+        return emitter;
+    }
+
+    /** Hands events committed since the last poll to their providers' connections. */
+    @Scheduled(fixedDelayString = "#{@providerStreamProperties.pollInterval.toMillis()}")
+    public void poll() {
+        pollLock.lock();
+        try {
+            if (idle()) {
+                return;
+            }
+            long from = cursor();
+            List<BookingEvent> events;
+            do {
+                events = eventRepository.findAfter(from, PageRequest.of(0, properties.getBatchSize()));
+                from = deliver(events, from);
+            } while (from >= 0 && events.size() == properties.getBatchSize());
+            deliverLate();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedRateString = "#{@providerStreamProperties.heartbeat.toMillis()}")
+    public void heartbeat() {
+        for (List<Connection> listening : connections.values()) {
+            for (Connection connection : listening) {
+                connection.heartbeat();
+            }
+        }
+    }
+
+    public void closeAll() {
+        connections.values().forEach(listening -> listening.forEach(connection -> connection.emitter.complete()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        closeAll();
+        writers.shutdownNow();
+    }
+
+    int openConnections() {
+        return open.get();
+    }
+
+    // Forgets the cursor once nobody is connected; checked under tailLock so that a stream opening
+    // meanwhile either counts as connected here or reads a fresh cursor afterwards
+    private boolean idle() {
+        tailLock.lock();
+        try {
+            if (open.get() > 0) {
+                return false;
+            }
+            cursor = -1;
+            gapSince = 0;
+            lateIds.clear();
+            return true;
+        } finally {
+            tailLock.unlock();
+        }
+    }
+
+    private long cursor() {
+        tailLock.lock();
+        try {
+            if (cursor < 0) {
+                cursor = eventRepository.findMaxId();
+            }
+            return cursor;
+        } finally {
+            tailLock.unlock();
+        }
+    }
+
+    /**
+     * Queues the events up to the first gap on their providers' connections and moves the cursor
+     * past them. Returns the new cursor, or -1 when a gap stopped the batch. Queuing and moving the
+     * cursor happen under tailLock, so every event is either queued on a new connection or at or
+     * before the cursor it replays to.
+     */
+    private long deliver(List<BookingEvent> events, long from) {
+        tailLock.lock();
+        try {
+            for (BookingEvent event : events) {
+                if (event.getId() != from + 1) {
+                    if (!gapTimedOut()) {
+                        cursor = from;
+                        return -1;
+                    }
+                    skip(from + 1, event.getId() - 1);
+                }
+                gapSince = 0;
+                List<Connection> listening = connections.get(event.getProviderId());
+                if (listening != null) {
+                    for (Connection connection : listening) {
+                        connection.send(event);
+                    }
+                }
+                from = event.getId();
+            }
+            cursor = from;
+            return from;
+        } finally {
+            tailLock.unlock();
+        }
+    }
+
+    private void skip(long firstId, long lastId) {
+        // Far more ids than transactions in flight: not worth looking up one by one
+        if (lastId - firstId + 1 + lateIds.size() > properties.getBatchSize()) {
+            log.warn("Booking events {} to {} never appeared; skipping them for good", firstId, lastId);
+            return;
+        }
+        long until = System.nanoTime() + properties.getLateWindow().toNanos();
+        for (long id = firstId; id <= lastId; id++) {
+            lateIds.put(id, until);
+        }
+    }
+
+    /** Queues skipped events that have committed since, and forgets the ones past the late window. */
+    private void deliverLate() {
+        if (lateIds.isEmpty()) {
+            return;
+        }
+        for (BookingEvent event : eventRepository.findAllById(lateIds.keySet())) {
+            lateIds.remove(event.getId());
+            List<Connection> listening = connections.get(event.getProviderId());
+            if (listening != null) {
+                for (Connection connection : listening) {
+                    connection.sendLate(event);
+                }
+            }
+        }
+        // Most likely rolled back
+        long now = System.nanoTime();
+        lateIds.values().removeIf(until -> now - until >= 0);
+    }
+
+    private boolean gapTimedOut() {
+        long now = System.nanoTime();
+        if (gapSince == 0) {
+            gapSince = now;
+            return false;
+        }
+        return now - gapSince >= properties.getGapTimeout().toNanos();
+    }
+
+    // Dispatched events are deleted oldest first, so the events after lastEventId are all still
+    // there as long as nothing at or before it has been deleted yet
+    private boolean isReplayable(long lastEventId) {
+        Long oldest = eventRepository.findMinId();
+        return oldest != null && oldest <= lastEventId + 1;
+    }
+
+    private void add(Connection connection) {
+        List<Connection> listening = connections.compute(connection.providerId, (id, current) -> {
+            List<Connection> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(connection);
+            return list;
+        });
+        open.incrementAndGet();
+        while (listening.size() > properties.getMaxConnectionsPerProvider()) {
+            Connection oldest = listening.get(0);
+            remove(oldest);
+            oldest.emitter.complete();
+        }
+    }
+
+    private void remove(Connection connection) {
+        boolean[] removed = new boolean[1];
+        connections.computeIfPresent(connection.providerId, (id, listening) -> {
+            removed[0] = listening.remove(connection);
+            return listening.isEmpty() ? null : listening;
+        });
+        if (removed[0]) {
+            open.decrementAndGet();
+        }
+    }
+
+    static BookingStreamEvent toStreamEvent(BookingEvent event) {
+        return BookingStreamEvent.builder()
+                .bookingId(event.getBookingId())
+                .type(event.getType())
+                .previousStatus(event.getPreviousStatus())
+                .status(event.getStatus())
+                .occurredAt(event.getOccurredAt())
+                .statsDelta(statsDelta(event.getPreviousStatus(), event.getStatus()))
+                .build();
+    }
+
+    /** The change to the booking counts of getDashboardStats, which leave IN_PROGRESS out of the total. */
+    static Map<String, Integer> statsDelta(BookingStatus from, BookingStatus to) {
+        Map<String, Integer> delta = new LinkedHashMap<>();
+        putNonZero(delta, "totalBookings", counted(to) - counted(from));
+        putNonZero(delta, "pendingBookings", is(to, BookingStatus.PENDING) - is(from, BookingStatus.PENDING));
+        putNonZero(delta, "completedBookings", is(to, BookingStatus.COMPLETED) - is(from, BookingStatus.COMPLETED));
+        return delta;
+    }
+
+    private static int counted(BookingStatus status) {
+        return status != null && status != BookingStatus.IN_PROGRESS ? 1 : 0;
+    }
+
+    private static int is(BookingStatus status, BookingStatus expected) {
+        return status == expected ? 1 : 0;
+    }
+
+    private static void putNonZero(Map<String, Integer> delta, String key, int value) {
+        if (value != 0) {
+            delta.put(key, value);
+        }
+    }
+
+    /**
+     * One client. Events wait in {@code pending}, or {@code latePending} for events the tail had
+     * skipped, and one writer at a time sends them; events arriving during the replay wait there
+     * until the replay is written. {@code lock} only guards the queues and their flags, never a write.
+     */
+    private final class Connection {
+
+        private final Long providerId;
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Queue<BookingEvent> pending = new ArrayDeque<>();
+        private final Queue<BookingEvent> latePending = new ArrayDeque<>();
+        // Only read and written by the current writer, or by finishReplay before there is one
+        private long lastSentId;
+        private Set<Long> replayedIds = Set.of();
+        private boolean replaying = true;
+        private boolean writing;
+        private boolean heartbeatDue;
+        private boolean dropped;
+
+        private Connection(Long providerId, SseEmitter emitter, long lastSentId) {
+            this.providerId = providerId;
+            this.emitter = emitter;
+            this.lastSentId = lastSentId;
+        }
+
+        void send(BookingEvent event) {
+            enqueue(pending, event);
+        }
+
+        void sendLate(BookingEvent event) {
+            enqueue(latePending, event);
+        }
+
+        private void enqueue(Queue<BookingEvent> queue, BookingEvent event) {
+            boolean overflow;
+            lock.lock();
+            try {
+                if (dropped) {
+                    return;
+                }
+                queue.add(event);
+                overflow = pending.size() + latePending.size() > properties.getSendQueueLimit();
+                if (overflow) {
+                    pending.clear();
+                    latePending.clear();
+                    dropped = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (overflow) {
+                log.debug("Provider {} stream fell {} events behind; closing it", providerId,
+                        properties.getSendQueueLimit());
+                remove(this);
+                writers.execute(emitter::complete);
+            } else {
+                startWriter();
+            }
+        }
+
+        /**
+         * Sends the replayed events, or the given control event at {@code upTo}, then lets the
+         * writer send whatever the tail delivered in the meantime. Runs before the emitter is
+         * returned, so these sends are buffered rather than written to the socket.
+         */
+        void finishReplay(List<BookingEvent> replay, long upTo, String control) {
+            if (control != null) {
+                lastSentId = Math.max(lastSentId, upTo);
+                write(SseEmitter.event().id(Long.toString(lastSentId)).name(control)
+                        .data("{}", MediaType.APPLICATION_JSON));
+            }
+            replayedIds = replay.stream().map(BookingEvent::getId).collect(Collectors.toUnmodifiableSet());
+            for (BookingEvent event : replay) {
+                write(event, false);
+            }
+            lock.lock();
+            try {
+                replaying = false;
+            } finally {
+                lock.unlock();
+            }
+            startWriter();
+        }
+
+        void heartbeat() {
+            lock.lock();
+            try {
+                heartbeatDue = pending.isEmpty() && latePending.isEmpty() && !replaying;
+            } finally {
+                lock.unlock();
+            }
+            startWriter();
+        }
+
+        private void startWriter() {
+            lock.lock();
+            try {
+                if (replaying || writing || (pending.isEmpty() && latePending.isEmpty() && !heartbeatDue)) {
+                    return;
+                }
+                writing = true;
+            } finally {
+                lock.unlock();
+            }
+            writers.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                BookingEvent event;
+                boolean late = false;
+                boolean heartbeat = false;
+                lock.lock();
+                try {
+                    event = pending.poll();
+                    if (event == null) {
+                        event = latePending.poll();
+                        late = event != null;
+                    }
+                    if (event == null) {
+                        heartbeat = heartbeatDue;
+                        heartbeatDue = false;
+                        if (!heartbeat) {
+                            writing = false;
+                            return;
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (heartbeat) {
+                    write(SseEmitter.event().comment("heartbeat"));
+                } else if (late ? !replayedIds.contains(event.getId()) : event.getId() > lastSentId) {
+                    write(event, late);
+                }
+            }
+        }
+
+        // A late event carries no id: it is older than events already sent, and a client resuming
+        // from it would get those again
+        private void write(BookingEvent event, boolean late) {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event();
+            if (!late) {
+                lastSentId = event.getId();
+                builder.id(Long.toString(event.getId()));
+            }
+            write(builder
+                    .name(event.getType() == BookingEventType.CREATED ? BOOKING_CREATED : BOOKING_STATUS_CHANGED)
+                    .data(toStreamEvent(event), MediaType.APPLICATION_JSON));
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // Client gone or emitter already done; the container completes the request itself
+                log.debug("Provider {} stream closed: {}", providerId, e.getMessage());
+                remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.quickserve.backend.config.stream;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "provider-stream")
+@Data
+public class ProviderStreamProperties {
+
+    // Time between reads of new booking events while any provider is connected
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    // Events read per query; a full page is followed by another read in the same poll
+    private int batchSize = 500;
+
+    // Comment line sent to every connection so proxies keep it open and dead clients are noticed
+    private Duration heartbeat = Duration.ofSeconds(25);
+
+    // A connection is closed after this long; the client reconnects and resumes from Last-Event-ID
+    private Duration timeout = Duration.ofMinutes(30);
+
+    // How long a missing event id (a transaction still in flight, or rolled back) holds back the
+    // events after it before it is skipped
+    private Duration gapTimeout = Duration.ofMillis(500);
+
+    // How long a skipped id is looked up again; an event that commits in this time is still sent
+    private Duration lateWindow = Duration.ofMinutes(1);
+
+    // Most events replayed on resume; a client further behind is told to reload instead
+    private int replayLimit = 500;
+
+    // Events waiting to be written to one connection; a client that falls further behind is closed
+    // and resumes from Last-Event-ID
+    private int sendQueueLimit = 1000;
+
+    // Open connections per provider; the oldest is closed when another one opens
+    private int maxConnectionsPerProvider = 4;
+}
@@ -1,8 +1,10 @@
 package com.quickserve.backend.controller;
 
+import com.quickserve.backend.dto.request.BulkBookingStatusRequest;
 import com.quickserve.backend.dto.request.admin.UpdateUserStatusRequest;
 import com.quickserve.backend.dto.request.admin.VerifyProviderRequest;
 import com.quickserve.backend.dto.response.ApiResponse;
+import com.quickserve.backend.dto.response.BulkBookingStatusResponse;
 import com.quickserve.backend.dto.response.admin.*;
 import com.quickserve.backend.model.enums.AccountStatus;
 import com.quickserve.backend.model.enums.BookingStatus;
@@ -137,6 +139,13 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Booking status updated successfully", booking));
     }
 
+    @PatchMapping("/bookings/status")
+    public ResponseEntity<ApiResponse<BulkBookingStatusResponse>> updateBookingStatuses(
+            @Valid @RequestBody BulkBookingStatusRequest request) {
+        BulkBookingStatusResponse result = adminService.updateBookingStatuses(request);
+        return ResponseEntity.ok(ApiResponse.success("Booking statuses updated successfully", result));
+    }
+
     // ==================== Analytics ====================
     
     @GetMapping("/analytics/revenue")
@@ -1,21 +1,29 @@
 package com.quickserve.backend.controller;
 
+import com.quickserve.backend.config.stream.ProviderEventStream;
+import com.quickserve.backend.dto.request.BulkBookingStatusRequest;
 import com.quickserve.backend.dto.request.CreateServiceRequest;
+import com.quickserve.backend.dto.request.ProviderBookingQuery;
 import com.quickserve.backend.dto.request.UpdateBookingStatusRequest;
 import com.quickserve.backend.dto.request.UpdateProfileRequest;
 import com.quickserve.backend.dto.request.UpdateServiceRequest;
 import com.quickserve.backend.dto.response.ApiResponse;
+import com.quickserve.backend.dto.response.BookingPageResponse;
 import com.quickserve.backend.dto.response.BookingResponse;
+import com.quickserve.backend.dto.response.BulkBookingStatusResponse;
 import com.quickserve.backend.dto.response.DashboardStatsResponse;
 import com.quickserve.backend.dto.response.ProviderProfileResponse;
 import com.quickserve.backend.dto.response.ProviderServiceResponse;
+import com.quickserve.backend.exception.BadRequestException;
+import com.quickserve.backend.security.UserPrincipal;
 import com.quickserve.backend.service.ProviderDashboardService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -26,13 +34,14 @@ import java.util.Map;
 public class ProviderController {
 
     private final ProviderDashboardService dashboardService;
+    private final ProviderEventStream eventStream;
 
     // ==================== DASHBOARD STATS ====================
 
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<DashboardStatsResponse>> getDashboardStats(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        DashboardStatsResponse stats = dashboardService.getDashboardStats(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        DashboardStatsResponse stats = dashboardService.getDashboardStats(principal.getProviderId());
         return ResponseEntity.ok(ApiResponse.success("Dashboard stats retrieved successfully", stats));
     }
 
@@ -40,29 +49,29 @@ public class ProviderController {
 
     @GetMapping("/profile")
     public ResponseEntity<ApiResponse<ProviderProfileResponse>> getProfile(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        ProviderProfileResponse profile = dashboardService.getProfile(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        ProviderProfileResponse profile = dashboardService.getProfile(principal.getProviderId());
         return ResponseEntity.ok(ApiResponse.success("Profile retrieved successfully", profile));
     }
 
     @PutMapping("/profile")
     public ResponseEntity<ApiResponse<ProviderProfileResponse>> updateProfile(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestBody UpdateProfileRequest request) {
-        ProviderProfileResponse profile = dashboardService.updateProfile(userDetails.getUsername(), request);
+        ProviderProfileResponse profile = dashboardService.updateProfile(principal.getProviderId(), request);
         return ResponseEntity.ok(ApiResponse.success("Profile updated successfully", profile));
     }
 
     @PatchMapping("/availability")
     public ResponseEntity<ApiResponse<String>> updateAvailability(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestBody Map<String, Boolean> request) {
         Boolean available = request.get("available");
         if (available == null) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("'available' field is required"));
         }
-        dashboardService.updateAvailability(userDetails.getUsername(), available);
+        dashboardService.updateAvailability(principal.getProviderId(), available);
         return ResponseEntity.ok(ApiResponse.success("Availability updated successfully", null));
     }
 
@@ -70,68 +79,102 @@ public class ProviderController {
 
     @GetMapping("/services")
     public ResponseEntity<ApiResponse<List<ProviderServiceResponse>>> getServices(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<ProviderServiceResponse> services = dashboardService.getServices(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<ProviderServiceResponse> services = dashboardService.getServices(principal.getProviderId());
         return ResponseEntity.ok(ApiResponse.success("Services retrieved successfully", services));
     }
 
     @PostMapping("/services")
     public ResponseEntity<ApiResponse<ProviderServiceResponse>> createService(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @Valid @RequestBody CreateServiceRequest request) {
-        ProviderServiceResponse service = dashboardService.createService(userDetails.getUsername(), request);
+        ProviderServiceResponse service = dashboardService.createService(principal.getProviderId(), request);
         return ResponseEntity.ok(ApiResponse.success("Service created successfully", service));
     }
 
     @PutMapping("/services/{serviceId}")
     public ResponseEntity<ApiResponse<ProviderServiceResponse>> updateService(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long serviceId,
             @RequestBody UpdateServiceRequest request) {
         ProviderServiceResponse service = dashboardService.updateService(
-                userDetails.getUsername(), serviceId, request);
+                principal.getProviderId(), serviceId, request);
         return ResponseEntity.ok(ApiResponse.success("Service updated successfully", service));
     }
 
     @DeleteMapping("/services/{serviceId}")
     public ResponseEntity<ApiResponse<String>> deleteService(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long serviceId) {
-        dashboardService.deleteService(userDetails.getUsername(), serviceId);
+        dashboardService.deleteService(principal.getProviderId(), serviceId);
         return ResponseEntity.ok(ApiResponse.success("Service deleted successfully", null));
     }
 
     @PatchMapping("/services/{serviceId}/toggle")
     public ResponseEntity<ApiResponse<String>> toggleServiceStatus(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long serviceId) {
-        dashboardService.toggleServiceStatus(userDetails.getUsername(), serviceId);
+        dashboardService.toggleServiceStatus(principal.getProviderId(), serviceId);
         return ResponseEntity.ok(ApiResponse.success("Service status toggled successfully", null));
     }
 
     // ==================== BOOKINGS ====================
 
-    @GetMapping("/bookings")
+    // Without paging or filter parameters: every booking, as before
+    @GetMapping(path = "/bookings", params = {"!status", "!from", "!to", "!since", "!cursor", "!limit"})
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getBookings(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<BookingResponse> bookings = dashboardService.getBookings(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<BookingResponse> bookings = dashboardService.getBookings(principal.getProviderId());
         return ResponseEntity.ok(ApiResponse.success("Bookings retrieved successfully", bookings));
     }
 
+    // e.g. ?status=pending,confirmed&from=2026-01-01&limit=50, then ?cursor=<nextCursor>; or ?since=<time>
+    @GetMapping("/bookings")
+    public ResponseEntity<ApiResponse<BookingPageResponse>> getBookingsPage(
+            @AuthenticationPrincipal UserPrincipal principal,
+            ProviderBookingQuery query) {
+        BookingPageResponse page = dashboardService.getBookings(principal.getProviderId(), query);
+        return ResponseEntity.ok(ApiResponse.success("Bookings retrieved successfully", page));
+    }
+
     @GetMapping("/bookings/upcoming")
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getUpcomingBookings(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<BookingResponse> bookings = dashboardService.getUpcomingBookings(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<BookingResponse> bookings = dashboardService.getUpcomingBookings(principal.getProviderId());
         return ResponseEntity.ok(ApiResponse.success("Upcoming bookings retrieved successfully", bookings));
     }
 
     @PatchMapping("/bookings/{bookingId}/status")
     public ResponseEntity<ApiResponse<BookingResponse>> updateBookingStatus(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long bookingId,
             @Valid @RequestBody UpdateBookingStatusRequest request) {
         BookingResponse booking = dashboardService.updateBookingStatus(
-                userDetails.getUsername(), bookingId, request);
+                principal.getProviderId(), bookingId, request);
         return ResponseEntity.ok(ApiResponse.success("Booking status updated successfully", booking));
     }
+
+    // Confirm, start, complete or cancel many bookings at once; all of them change or none does
+    @PatchMapping("/bookings/status")
+    public ResponseEntity<ApiResponse<BulkBookingStatusResponse>> updateBookingStatuses(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @Valid @RequestBody BulkBookingStatusRequest request) {
+        BulkBookingStatusResponse result = dashboardService.updateBookingStatuses(principal.getProviderId(), request);
+        return ResponseEntity.ok(ApiResponse.success("Booking statuses updated successfully", result));
+    }
+
+    // ==================== LIVE UPDATES ====================
+
+    /**
+     * Server-sent booking events for the signed-in provider, each with the change to the dashboard
+     * counts. Reconnecting clients send the last id they saw and get what they missed.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal UserPrincipal principal,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        if (principal.getProviderId() == null) {
+            throw new BadRequestException("Only service providers have a booking stream");
+        }
+        return eventStream.open(principal.getProviderId(), lastEventId);
+    }
 }
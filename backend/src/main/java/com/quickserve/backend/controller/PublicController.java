@@ -1,31 +1,42 @@
 package com.quickserve.backend.controller;
 
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.quickserve.backend.config.cache.ProviderDetailCache;
+import com.quickserve.backend.config.etag.ResourceVersions;
 import com.quickserve.backend.dto.response.ApiResponse;
 import com.quickserve.backend.dto.response.customer.ReviewResponse;
-import com.quickserve.backend.dto.response.publicdto.ProviderDetailResponse;
 import com.quickserve.backend.dto.response.publicdto.ProviderListResponse;
 import com.quickserve.backend.dto.response.publicdto.ServiceCategoryResponse;
 import com.quickserve.backend.service.PublicService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/public")
 @RequiredArgsConstructor
 public class PublicController {
 
+    // Clients may store public pages but must revalidate them; unchanged ones come back as 304
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
     private final PublicService publicService;
+    private final ResourceVersions resourceVersions;
+    private final ProviderDetailCache providerDetailCache;
 
     // ==================== CATEGORIES ====================
 
     @GetMapping("/categories")
-    public ResponseEntity<ApiResponse<List<ServiceCategoryResponse>>> getCategories() {
-        List<ServiceCategoryResponse> categories = publicService.getAllCategories();
-        return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categories));
+    public ResponseEntity<ApiResponse<List<ServiceCategoryResponse>>> getCategories(WebRequest request) {
+        return conditional(request, resourceVersions.categoriesEtag(), () ->
+                ApiResponse.success("Categories retrieved successfully", publicService.getAllCategories()));
     }
 
     // ==================== PROVIDERS ====================
@@ -47,19 +58,39 @@ public class PublicController {
         return ResponseEntity.ok(ApiResponse.success("Providers retrieved successfully", providers));
     }
 
+    // The page is served from ProviderDetailCache under the version its ETag was built from. Views
+    // are only buffered in memory, so a revalidated 304 is counted as well as a 200; an unknown
+    // provider fails before it is counted.
     @GetMapping("/providers/{providerId}")
-    public ResponseEntity<ApiResponse<ProviderDetailResponse>> getProviderDetails(
-            @PathVariable Long providerId) {
-        ProviderDetailResponse provider = publicService.getProviderDetails(providerId);
-        return ResponseEntity.ok(ApiResponse.success("Provider details retrieved successfully", provider));
+    public ResponseEntity<ApiResponse<RawValue>> getProviderDetails(
+            @PathVariable Long providerId, WebRequest request) {
+        long version = resourceVersions.providerVersion(providerId);
+        ResponseEntity<ApiResponse<RawValue>> response = conditional(request,
+                resourceVersions.providerEtag(providerId, version), () -> ApiResponse.success(
+                        "Provider details retrieved successfully", providerDetailCache.get(providerId, version)));
+        publicService.recordProfileView(providerId);
+        return response;
     }
 
     @GetMapping("/providers/{providerId}/reviews")
     public ResponseEntity<ApiResponse<List<ReviewResponse>>> getProviderReviews(
             @PathVariable Long providerId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        List<ReviewResponse> reviews = publicService.getProviderReviews(providerId, page, size);
-        return ResponseEntity.ok(ApiResponse.success("Reviews retrieved successfully", reviews));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return conditional(request, resourceVersions.providerReviewsEtag(providerId, page, size), () ->
+                ApiResponse.success("Reviews retrieved successfully", publicService.getProviderReviews(providerId, page, size)));
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    // The ETag comes from a version lookup, so a matching If-None-Match is answered before the
+    // service loads anything
+    private <T> ResponseEntity<ApiResponse<T>> conditional(WebRequest request, String etag,
+                                                           Supplier<ApiResponse<T>> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
     }
 }
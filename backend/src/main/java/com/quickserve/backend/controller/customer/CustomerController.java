@@ -3,12 +3,12 @@ package com.quickserve.backend.controller.customer;
 import com.quickserve.backend.dto.request.customer.*;
 import com.quickserve.backend.dto.response.ApiResponse;
 import com.quickserve.backend.dto.response.customer.*;
+import com.quickserve.backend.security.UserPrincipal;
 import com.quickserve.backend.service.CustomerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -25,16 +25,16 @@ public class CustomerController {
 
     @GetMapping("/profile")
     public ResponseEntity<ApiResponse<CustomerProfileResponse>> getProfile(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        CustomerProfileResponse profile = customerService.getProfile(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        CustomerProfileResponse profile = customerService.getProfile(principal.getCustomerId());
         return ResponseEntity.ok(ApiResponse.success("Profile retrieved successfully", profile));
     }
 
     @PutMapping("/profile")
     public ResponseEntity<ApiResponse<CustomerProfileResponse>> updateProfile(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @Valid @RequestBody UpdateCustomerProfileRequest request) {
-        CustomerProfileResponse profile = customerService.updateProfile(userDetails.getUsername(), request);
+        CustomerProfileResponse profile = customerService.updateProfile(principal.getCustomerId(), request);
         return ResponseEntity.ok(ApiResponse.success("Profile updated successfully", profile));
     }
 
@@ -42,48 +42,50 @@ public class CustomerController {
 
     @PostMapping("/bookings")
     public ResponseEntity<ApiResponse<CustomerBookingResponse>> createBooking(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @Valid @RequestBody CreateBookingRequest request) {
-        CustomerBookingResponse booking = customerService.createBooking(userDetails.getUsername(), request);
+        CustomerBookingResponse booking = customerService.createBooking(
+                principal.getUserId(), principal.getCustomerId(), request);
         return ResponseEntity.ok(ApiResponse.success("Booking created successfully", booking));
     }
 
     @GetMapping("/bookings")
     public ResponseEntity<ApiResponse<List<CustomerBookingResponse>>> getBookings(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<CustomerBookingResponse> bookings = customerService.getBookings(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<CustomerBookingResponse> bookings = customerService.getBookings(principal.getUserId());
         return ResponseEntity.ok(ApiResponse.success("Bookings retrieved successfully", bookings));
     }
 
     @GetMapping("/bookings/upcoming")
     public ResponseEntity<ApiResponse<List<CustomerBookingResponse>>> getUpcomingBookings(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<CustomerBookingResponse> bookings = customerService.getUpcomingBookings(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<CustomerBookingResponse> bookings = customerService.getUpcomingBookings(principal.getUserId());
         return ResponseEntity.ok(ApiResponse.success("Upcoming bookings retrieved successfully", bookings));
     }
 
     @GetMapping("/bookings/past")
     public ResponseEntity<ApiResponse<List<CustomerBookingResponse>>> getPastBookings(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<CustomerBookingResponse> bookings = customerService.getPastBookings(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<CustomerBookingResponse> bookings = customerService.getPastBookings(principal.getUserId());
         return ResponseEntity.ok(ApiResponse.success("Past bookings retrieved successfully", bookings));
     }
 
     @GetMapping("/bookings/{bookingId}")
     public ResponseEntity<ApiResponse<CustomerBookingResponse>> getBookingById(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long bookingId) {
-        CustomerBookingResponse booking = customerService.getBookingById(userDetails.getUsername(), bookingId);
+        CustomerBookingResponse booking = customerService.getBookingById(principal.getUserId(), bookingId);
         return ResponseEntity.ok(ApiResponse.success("Booking retrieved successfully", booking));
     }
 
     @PostMapping("/bookings/{bookingId}/cancel")
     public ResponseEntity<ApiResponse<CustomerBookingResponse>> cancelBooking(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long bookingId,
             @RequestBody Map<String, String> request) {
         String reason = request.getOrDefault("reason", "Cancelled by customer");
-        CustomerBookingResponse booking = customerService.cancelBooking(userDetails.getUsername(), bookingId, reason);
+        CustomerBookingResponse booking = customerService.cancelBooking(
+                principal.getUserId(), principal.getCustomerId(), bookingId, reason);
         return ResponseEntity.ok(ApiResponse.success("Booking cancelled successfully", booking));
     }
 
@@ -91,16 +93,16 @@ public class CustomerController {
 
     @PostMapping("/reviews")
     public ResponseEntity<ApiResponse<ReviewResponse>> createReview(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @Valid @RequestBody CreateReviewRequest request) {
-        ReviewResponse review = customerService.createReview(userDetails.getUsername(), request);
+        ReviewResponse review = customerService.createReview(principal.getUserId(), request);
         return ResponseEntity.ok(ApiResponse.success("Review created successfully", review));
     }
 
     @GetMapping("/reviews")
     public ResponseEntity<ApiResponse<List<ReviewResponse>>> getMyReviews(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<ReviewResponse> reviews = customerService.getMyReviews(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<ReviewResponse> reviews = customerService.getMyReviews(principal.getUserId());
         return ResponseEntity.ok(ApiResponse.success("Reviews retrieved successfully", reviews));
     }
 
@@ -108,42 +110,42 @@ public class CustomerController {
 
     @GetMapping("/addresses")
     public ResponseEntity<ApiResponse<List<SavedAddressResponse>>> getSavedAddresses(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        List<SavedAddressResponse> addresses = customerService.getSavedAddresses(userDetails.getUsername());
+            @AuthenticationPrincipal UserPrincipal principal) {
+        List<SavedAddressResponse> addresses = customerService.getSavedAddresses(principal.getCustomerId());
         return ResponseEntity.ok(ApiResponse.success("Addresses retrieved successfully", addresses));
     }
 
     @PostMapping("/addresses")
     public ResponseEntity<ApiResponse<SavedAddressResponse>> addSavedAddress(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @Valid @RequestBody SavedAddressRequest request) {
-        SavedAddressResponse address = customerService.addSavedAddress(userDetails.getUsername(), request);
+        SavedAddressResponse address = customerService.addSavedAddress(principal.getCustomerId(), request);
         return ResponseEntity.ok(ApiResponse.success("Address saved successfully", address));
     }
 
     @PutMapping("/addresses/{addressId}")
     public ResponseEntity<ApiResponse<SavedAddressResponse>> updateSavedAddress(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long addressId,
             @Valid @RequestBody SavedAddressRequest request) {
         SavedAddressResponse address = customerService.updateSavedAddress(
-                userDetails.getUsername(), addressId, request);
+                principal.getCustomerId(), addressId, request);
         return ResponseEntity.ok(ApiResponse.success("Address updated successfully", address));
     }
 
     @DeleteMapping("/addresses/{addressId}")
     public ResponseEntity<ApiResponse<Void>> deleteSavedAddress(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long addressId) {
-        customerService.deleteSavedAddress(userDetails.getUsername(), addressId);
+        customerService.deleteSavedAddress(principal.getCustomerId(), addressId);
         return ResponseEntity.ok(ApiResponse.success("Address deleted successfully", null));
     }
 
     @PatchMapping("/addresses/{addressId}/default")
     public ResponseEntity<ApiResponse<Void>> setDefaultAddress(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long addressId) {
-        customerService.setDefaultAddress(userDetails.getUsername(), addressId);
+        customerService.setDefaultAddress(principal.getCustomerId(), addressId);
         return ResponseEntity.ok(ApiResponse.success("Default address updated successfully", null));
     }
 }
@@ -0,0 +1,26 @@
+package com.quickserve.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingStatusRequest {
+
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 200, message = "At most 200 bookings can be updated at once")
+    private List<@NotNull(message = "Booking ids must not be null") Long> bookingIds;
+
+    @NotBlank(message = "Status is required")
+    private String status; // CONFIRMED, IN_PROGRESS, COMPLETED, CANCELLED
+
+    private String cancellationReason;
+}
@@ -0,0 +1,40 @@
+package com.quickserve.backend.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Query parameters of a paged provider booking list. Either a listing, newest booking date first
+ * and filtered by status and date range, or with {@code since} every booking changed after that
+ * time, oldest change first. {@code cursor} is the previous page's nextCursor; in since mode,
+ * recent changes are repeated on the next page until they are old enough that no transaction
+ * can still commit an earlier one, so clients dedupe by booking id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderBookingQuery {
+
+    private List<String> status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime since;
+
+    private String cursor;
+
+    private Integer limit;
+}
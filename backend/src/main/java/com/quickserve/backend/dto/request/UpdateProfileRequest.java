@@ -23,6 +23,7 @@ public class UpdateProfileRequest {
     private Integer serviceRadiusKm;
     private BigDecimal hourlyRate;
     private String primaryService;
+    // Kept as given and independent of primaryService, which may be listed here too
     private List<String> secondaryServices;
     private List<String> languages;
     private List<String> skills;
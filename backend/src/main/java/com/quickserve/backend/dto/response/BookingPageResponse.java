@@ -0,0 +1,20 @@
+package com.quickserve.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageResponse {
+    private List<BookingSummaryResponse> bookings;
+    // Pass back as cursor. In since mode it is always set, to poll for later changes, and the last
+    // few seconds of changes are returned again on the next poll; keep the latest row per booking id.
+    private String nextCursor;
+    private boolean hasMore;
+}
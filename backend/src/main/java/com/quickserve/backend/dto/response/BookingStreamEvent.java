@@ -0,0 +1,24 @@
+package com.quickserve.backend.dto.response;
+
+import com.quickserve.backend.model.enums.BookingEventType;
+import com.quickserve.backend.model.enums.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStreamEvent {
+    private Long bookingId;
+    private BookingEventType type;
+    private BookingStatus previousStatus;
+    private BookingStatus status;
+    private LocalDateTime occurredAt;
+    private Map<String, Integer> statsDelta; // changed DashboardStatsResponse counters, e.g. {"pendingBookings": -1}
+}
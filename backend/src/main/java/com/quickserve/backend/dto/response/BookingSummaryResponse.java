@@ -0,0 +1,27 @@
+package com.quickserve.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSummaryResponse {
+    private Long id;
+    private String customer;
+    private String service;
+    private Long serviceId;
+    private LocalDate date;
+    private LocalTime time;
+    private String status;
+    private BigDecimal price;
+    private LocalDateTime updatedAt;
+}
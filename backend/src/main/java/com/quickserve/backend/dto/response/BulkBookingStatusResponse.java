@@ -0,0 +1,18 @@
+package com.quickserve.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingStatusResponse {
+    private String status;
+    private int updated;
+    private List<Long> bookingIds;
+}
@@ -0,0 +1,11 @@
+package com.quickserve.backend.exception;
+
+/**
+ * A request ran more SQL statements than its configured budget while budgets are enforced.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String scope, int budget) {
+        super(scope + " exceeded its budget of " + budget + " SQL statements");
+    }
+}
@@ -12,7 +12,28 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "bookings")
+@NamedEntityGraph(name = Booking.PROVIDER_VIEW, attributeNodes = {
+    @NamedAttributeNode("customer"),
+    @NamedAttributeNode("service")
+})
+@NamedEntityGraph(name = Booking.CUSTOMER_VIEW, attributeNodes = {
+    @NamedAttributeNode(value = "provider", subgraph = "provider"),
+    @NamedAttributeNode("service")
+}, subgraphs = @NamedSubgraph(name = "provider", attributeNodes = @NamedAttributeNode("user")))
+@NamedEntityGraph(name = Booking.ADMIN_VIEW, attributeNodes = {
+    @NamedAttributeNode("customer"),
+    @NamedAttributeNode(value = "provider", subgraph = "provider"),
+    @NamedAttributeNode("service")
+}, subgraphs = @NamedSubgraph(name = "provider", attributeNodes = @NamedAttributeNode("user")))
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_provider_date", columnList = "provider_id, booking_date, booking_time"),
+    @Index(name = "idx_bookings_provider_status", columnList = "provider_id, status, completed_at"),
+    @Index(name = "idx_bookings_provider_created", columnList = "provider_id, created_at"),
+    @Index(name = "idx_bookings_provider_updated", columnList = "provider_id, updated_at"),
+    @Index(name = "idx_bookings_customer_date", columnList = "customer_id, booking_date, booking_time"),
+    @Index(name = "idx_bookings_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_bookings_created", columnList = "created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,8 +41,14 @@ import java.time.LocalTime;
 @Builder
 public class Booking {
 
+    // Fetch plans, one per response type: BookingResponse, CustomerBookingResponse, BookingAdminResponse
+    public static final String PROVIDER_VIEW = "Booking.providerView";
+    public static final String CUSTOMER_VIEW = "Booking.customerView";
+    public static final String ADMIN_VIEW = "Booking.adminView";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bookings_id")
+    @TableGenerator(name = "bookings_id", table = "id_generators", pkColumnValue = "bookings", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,56 @@
+package com.quickserve.backend.model;
+
+import com.quickserve.backend.model.enums.BookingEventType;
+import com.quickserve.backend.model.enums.BookingStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for a booking state transition, written in the transaction that made the change (see
+ * BookingEventListener) and delivered to in-process consumers afterwards. Ids come from the
+ * database in insert order; rows are kept for a while after dispatch.
+ */
+@Entity
+@Table(name = "booking_events", indexes = {
+    @Index(name = "idx_booking_events_dispatch", columnList = "dispatched_at, id"),
+    @Index(name = "idx_booking_events_provider", columnList = "provider_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private Long providerId;
+
+    // The customer's user id, as on bookings.customer_id
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingEventType type;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    private LocalDateTime dispatchedAt;
+}
@@ -0,0 +1,24 @@
+package com.quickserve.backend.model;
+
+/**
+ * Hibernate second-level cache regions. Each region needs a size/TTL entry in
+ * {@code SecondLevelCacheProperties}; an unconfigured region fails startup.
+ */
+public final class CacheRegions {
+
+    // Entities
+    public static final String PROVIDERS = "providers";
+    public static final String PROVIDER_SERVICES = "provider-services";
+    public static final String WORKING_HOURS = "working-hours";
+    public static final String CERTIFICATIONS = "certifications";
+
+    // ServiceProvider collections
+    public static final String PROVIDER_SERVICE_LISTS = "provider.services";
+    public static final String PROVIDER_WORKING_HOURS = "provider.working-hours";
+    public static final String PROVIDER_CERTIFICATIONS = "provider.certifications";
+    public static final String PROVIDER_LANGUAGES = "provider.languages";
+    public static final String PROVIDER_SKILLS = "provider.skills";
+
+    private CacheRegions() {
+    }
+}
@@ -2,8 +2,11 @@ package com.quickserve.backend.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CERTIFICATIONS)
 @Table(name = "certifications")
 @Getter
 @Setter
@@ -13,7 +16,8 @@ import lombok.*;
 public class Certification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "certifications_id")
+    @TableGenerator(name = "certifications_id", table = "id_generators", pkColumnValue = "certifications", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -19,7 +19,8 @@ import java.util.List;
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "customers_id")
+    @TableGenerator(name = "customers_id", table = "id_generators", pkColumnValue = "customers", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -2,6 +2,8 @@ package com.quickserve.backend.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -9,6 +11,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROVIDER_SERVICES)
 @Table(name = "provider_services")
 @Getter
 @Setter
@@ -18,7 +21,8 @@ import java.time.LocalDateTime;
 public class ProviderService {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "provider_services_id")
+    @TableGenerator(name = "provider_services_id", table = "id_generators", pkColumnValue = "provider_services", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
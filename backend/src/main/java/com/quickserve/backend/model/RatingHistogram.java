@@ -0,0 +1,88 @@
+package com.quickserve.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A provider's reviews bucketed by star rating, plus the rating sum. Kept up to date as reviews are
+ * created, so the average, count and distribution are read off the provider row instead of being
+ * aggregated over its reviews.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingHistogram {
+
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+
+    @Column(name = "rating_1_count", nullable = false)
+    private int oneStar;
+
+    @Column(name = "rating_2_count", nullable = false)
+    private int twoStar;
+
+    @Column(name = "rating_3_count", nullable = false)
+    private int threeStar;
+
+    @Column(name = "rating_4_count", nullable = false)
+    private int fourStar;
+
+    @Column(name = "rating_5_count", nullable = false)
+    private int fiveStar;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long sum;
+
+    public void add(int rating) {
+        switch (rating) {
+            case 1 -> oneStar++;
+            case 2 -> twoStar++;
+            case 3 -> threeStar++;
+            case 4 -> fourStar++;
+            case 5 -> fiveStar++;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+        sum += rating;
+    }
+
+    public int count() {
+        return oneStar + twoStar + threeStar + fourStar + fiveStar;
+    }
+
+    public int count(int rating) {
+        return switch (rating) {
+            case 1 -> oneStar;
+            case 2 -> twoStar;
+            case 3 -> threeStar;
+            case 4 -> fourStar;
+            case 5 -> fiveStar;
+            default -> 0;
+        };
+    }
+
+    /** Mean rating to two decimals, matching the average_rating column; zero without reviews. */
+    public BigDecimal average() {
+        int count = count();
+        return count == 0 ? BigDecimal.ZERO
+                : BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    /** Review count per rating, 5 down to 1, with every rating present. */
+    public Map<Integer, Long> distribution() {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int rating = MAX_RATING; rating >= MIN_RATING; rating--) {
+            distribution.put(rating, (long) count(rating));
+        }
+        return distribution;
+    }
+}
@@ -8,7 +8,20 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@NamedEntityGraph(name = Review.RESPONSE_VIEW, attributeNodes = {
+    @NamedAttributeNode(value = "booking", subgraph = "booking"),
+    @NamedAttributeNode(value = "provider", subgraph = "provider"),
+    @NamedAttributeNode("customer")
+}, subgraphs = {
+    @NamedSubgraph(name = "booking", attributeNodes = @NamedAttributeNode("service")),
+    @NamedSubgraph(name = "provider", attributeNodes = @NamedAttributeNode("user"))
+})
+@Table(name = "reviews", indexes = {
+    @Index(name = "idx_reviews_provider_created", columnList = "provider_id, created_at"),
+    @Index(name = "idx_reviews_provider_rating", columnList = "provider_id, rating"),
+    @Index(name = "idx_reviews_customer_created", columnList = "customer_id, created_at"),
+    @Index(name = "idx_reviews_booking", columnList = "booking_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,8 +29,12 @@ import java.time.LocalDateTime;
 @Builder
 public class Review {
 
+    // Fetch plan for ReviewResponse
+    public static final String RESPONSE_VIEW = "Review.responseView";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "reviews_id")
+    @TableGenerator(name = "reviews_id", table = "id_generators", pkColumnValue = "reviews", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
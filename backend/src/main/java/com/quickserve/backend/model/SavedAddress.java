@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class SavedAddress {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "saved_addresses_id")
+    @TableGenerator(name = "saved_addresses_id", table = "id_generators", pkColumnValue = "saved_addresses", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
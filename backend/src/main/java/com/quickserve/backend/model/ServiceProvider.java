@@ -3,16 +3,27 @@ package com.quickserve.backend.model;
 import com.quickserve.backend.model.enums.ServiceCategory;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 
 @Entity
-@Table(name = "service_providers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROVIDERS)
+@NamedEntityGraph(name = ServiceProvider.LIST_VIEW, attributeNodes = @NamedAttributeNode("user"))
+@Table(name = "service_providers", indexes = {
+    @Index(name = "idx_providers_city_category", columnList = "city, primary_service, is_available"),
+    @Index(name = "idx_providers_category_available", columnList = "primary_service, is_available"),
+    @Index(name = "idx_providers_available_categories", columnList = "is_available, category_mask"),
+    @Index(name = "idx_providers_aadhar", columnList = "aadhar_number")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,8 +31,12 @@ import java.util.List;
 @Builder
 public class ServiceProvider {
 
+    // Fetch plan for ProviderListResponse; services come from the L2 cache in batches
+    public static final String LIST_VIEW = "ServiceProvider.listView";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "service_providers_id")
+    @TableGenerator(name = "service_providers_id", table = "id_generators", pkColumnValue = "service_providers", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -53,12 +68,20 @@ public class ServiceProvider {
     @Column(nullable = false)
     private ServiceCategory primaryService;
 
-    @ElementCollection(targetClass = ServiceCategory.class)
-    @CollectionTable(name = "provider_secondary_services", joinColumns = @JoinColumn(name = "provider_id"))
-    @Enumerated(EnumType.STRING)
-    @Column(name = "service_category")
+    // Secondary categories as the provider chose them, one bit per category (see ServiceCategory#getMask);
+    // may include the primary
+    @Column(name = "secondary_mask", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Builder.Default
+    private long secondaryMask = 0L;
+
+    // Primary and secondary together, derived from the two above; only the category search reads it
+    @Column(name = "category_mask", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     @Builder.Default
-    private List<ServiceCategory> secondaryServices = new ArrayList<>();
+    private long categoryMask = 0L;
 
     @Column(nullable = false)
     private Integer experienceYears;
@@ -76,6 +99,7 @@ public class ServiceProvider {
     @ElementCollection
     @CollectionTable(name = "provider_languages", joinColumns = @JoinColumn(name = "provider_id"))
     @Column(name = "language")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROVIDER_LANGUAGES)
     @Builder.Default
     private List<String> languages = new ArrayList<>();
 
@@ -83,6 +107,7 @@ public class ServiceProvider {
     @ElementCollection
     @CollectionTable(name = "provider_skills", joinColumns = @JoinColumn(name = "provider_id"))
     @Column(name = "skill")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROVIDER_SKILLS)
     @Builder.Default
     private List<String> skills = new ArrayList<>();
 
@@ -94,9 +119,16 @@ public class ServiceProvider {
     @Builder.Default
     private Integer totalReviews = 0;
 
+    // Source of averageRating and totalReviews, which stay as columns for search filters and sorting
+    @Embedded
+    @Builder.Default
+    private RatingHistogram ratings = new RatingHistogram();
+
     @Builder.Default
     private Integer completedJobs = 0;
 
+    // Owned by ProfileViewBuffer's JDBC updates, so a flush of a cached (older) copy cannot undo them
+    @Column(updatable = false)
     @Builder.Default
     private Integer profileViews = 0;
 
@@ -115,10 +147,12 @@ public class ServiceProvider {
 
     // One-to-Many relationships
     @OneToMany(mappedBy = "provider", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROVIDER_SERVICE_LISTS)
     @Builder.Default
     private List<ProviderService> services = new ArrayList<>();
 
     @OneToMany(mappedBy = "provider", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROVIDER_WORKING_HOURS)
     @Builder.Default
     private List<WorkingHours> workingHours = new ArrayList<>();
 
@@ -127,9 +161,67 @@ public class ServiceProvider {
     private List<Booking> bookings = new ArrayList<>();
 
     @OneToMany(mappedBy = "provider", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROVIDER_CERTIFICATIONS)
     @Builder.Default
     private List<Certification> certifications = new ArrayList<>();
 
+    @PrePersist
+    void syncCategoryMask() {
+        categoryMask = getCategoryMask();
+    }
+
+    // ==================== CATEGORIES ====================
+
+    public long getCategoryMask() {
+        return secondaryMask | primaryMask(primaryService);
+    }
+
+    /** Every category this provider offers, primary included. */
+    public EnumSet<ServiceCategory> getCategories() {
+        return ServiceCategory.fromMask(getCategoryMask());
+    }
+
+    public boolean offers(ServiceCategory category) {
+        return (getCategoryMask() & category.getMask()) != 0;
+    }
+
+    /** Snapshot of the secondary categories; use {@link #setSecondaryServices} to change them. */
+    public EnumSet<ServiceCategory> getSecondaryServices() {
+        return ServiceCategory.fromMask(secondaryMask);
+    }
+
+    public void setSecondaryServices(Collection<ServiceCategory> secondaryServices) {
+        secondaryMask = ServiceCategory.toMask(secondaryServices);
+        categoryMask = getCategoryMask();
+    }
+
+    /** Changes the primary only; a secondary that was also the old primary stays a secondary. */
+    public void setPrimaryService(ServiceCategory primaryService) {
+        this.primaryService = primaryService;
+        categoryMask = getCategoryMask();
+    }
+
+    private static long primaryMask(ServiceCategory category) {
+        return category != null ? category.getMask() : 0L;
+    }
+
+    /** Counts a new review; callers hold a write lock on the provider row. */
+    public void recordRating(int rating) {
+        ratings.add(rating);
+        syncRatingTotals();
+    }
+
+    /** Replaces the histogram with one rebuilt from the reviews table. */
+    public void replaceRatings(RatingHistogram rebuilt) {
+        this.ratings = rebuilt;
+        syncRatingTotals();
+    }
+
+    private void syncRatingTotals() {
+        this.averageRating = ratings.average();
+        this.totalReviews = ratings.count();
+    }
+
     // Null-safe getters for fields that may be null in existing database records
     public Integer getTotalReviewsSafe() {
         return totalReviews != null ? totalReviews : 0;
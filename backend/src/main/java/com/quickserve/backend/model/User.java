@@ -10,7 +10,11 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_role_status", columnList = "role, status"),
+    @Index(name = "idx_users_status", columnList = "status"),
+    @Index(name = "idx_users_created", columnList = "created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,7 +23,8 @@ import java.time.LocalDateTime;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_generators", pkColumnValue = "users", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -51,7 +56,6 @@ public class User {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
-    // One-to-One relationship with ServiceProvider (if user is a provider)
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private ServiceProvider serviceProvider;
+    // No inverse ServiceProvider mapping: Hibernate cannot proxy the non-owning side of a
+    // one-to-one, so it cost an extra select for every User loaded. Join from ServiceProvider.user.
 }
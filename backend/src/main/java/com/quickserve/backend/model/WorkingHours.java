@@ -3,10 +3,13 @@ package com.quickserve.backend.model;
 import com.quickserve.backend.model.enums.DayOfWeek;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalTime;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.WORKING_HOURS)
 @Table(name = "working_hours", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"provider_id", "day_of_week"})
 })
@@ -18,7 +21,8 @@ import java.time.LocalTime;
 public class WorkingHours {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "working_hours_id")
+    @TableGenerator(name = "working_hours_id", table = "id_generators", pkColumnValue = "working_hours", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,22 @@
+package com.quickserve.backend.model.enums;
+
+public enum BookingEventType {
+    CREATED,
+    CONFIRMED,
+    STARTED,
+    COMPLETED,
+    CANCELLED,
+    // Moved back to PENDING by an admin override
+    REOPENED;
+
+    /** The event for a booking that already exists entering {@code status}. */
+    public static BookingEventType enteringStatus(BookingStatus status) {
+        return switch (status) {
+            case CONFIRMED -> CONFIRMED;
+            case IN_PROGRESS -> STARTED;
+            case COMPLETED -> COMPLETED;
+            case CANCELLED -> CANCELLED;
+            case PENDING -> REOPENED;
+        };
+    }
+}
@@ -16,4 +16,14 @@ public enum BookingStatus {
     public String getDisplayName() {
         return displayName;
     }
+
+    /** Whether a provider may move a booking from this status to {@code to}. */
+    public boolean canTransitionTo(BookingStatus to) {
+        return switch (this) {
+            case PENDING -> to == CONFIRMED || to == CANCELLED;
+            case CONFIRMED -> to == COMPLETED || to == CANCELLED || to == IN_PROGRESS;
+            case IN_PROGRESS -> to == COMPLETED || to == CANCELLED;
+            default -> false;
+        };
+    }
 }
@@ -1,26 +1,55 @@
 package com.quickserve.backend.model.enums;
 
+import java.util.Collection;
+import java.util.EnumSet;
+
 public enum ServiceCategory {
-    PLUMBING("Plumbing"),
-    ELECTRICAL("Electrical"),
-    CLEANING("Cleaning"),
-    CARPENTRY("Carpentry"),
-    PAINTING("Painting"),
-    HVAC("HVAC"),
-    LANDSCAPING("Landscaping"),
-    PEST_CONTROL("Pest Control"),
-    APPLIANCE_REPAIR("Appliance Repair"),
-    HOME_SECURITY("Home Security"),
-    ROOFING("Roofing"),
-    FLOORING("Flooring");
+    // The bit positions are persisted in service_providers.category_mask; never renumber them
+    PLUMBING("Plumbing", 0),
+    ELECTRICAL("Electrical", 1),
+    CLEANING("Cleaning", 2),
+    CARPENTRY("Carpentry", 3),
+    PAINTING("Painting", 4),
+    HVAC("HVAC", 5),
+    LANDSCAPING("Landscaping", 6),
+    PEST_CONTROL("Pest Control", 7),
+    APPLIANCE_REPAIR("Appliance Repair", 8),
+    HOME_SECURITY("Home Security", 9),
+    ROOFING("Roofing", 10),
+    FLOORING("Flooring", 11);
 
     private final String displayName;
+    private final long mask;
 
-    ServiceCategory(String displayName) {
+    ServiceCategory(String displayName, int bit) {
         this.displayName = displayName;
+        this.mask = 1L << bit;
     }
 
     public String getDisplayName() {
         return displayName;
     }
+
+    /** The single bit this category occupies in a category mask. */
+    public long getMask() {
+        return mask;
+    }
+
+    public static long toMask(Collection<ServiceCategory> categories) {
+        long mask = 0L;
+        for (ServiceCategory category : categories) {
+            mask |= category.mask;
+        }
+        return mask;
+    }
+
+    public static EnumSet<ServiceCategory> fromMask(long mask) {
+        EnumSet<ServiceCategory> categories = EnumSet.noneOf(ServiceCategory.class);
+        for (ServiceCategory category : values()) {
+            if ((mask & category.mask) != 0) {
+                categories.add(category);
+            }
+        }
+        return categories;
+    }
 }
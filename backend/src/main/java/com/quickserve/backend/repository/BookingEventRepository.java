@@ -0,0 +1,44 @@
+package com.quickserve.backend.repository;
+
+import com.quickserve.backend.model.BookingEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    // Dispatch queue, oldest first
+    @Query("SELECT e FROM BookingEvent e WHERE e.dispatchedAt IS NULL ORDER BY e.id")
+    List<BookingEvent> findUndispatched(Pageable pageable);
+
+    // Provider streams: the live tail across all providers, and one provider's replay on resume
+    @Query("SELECT e FROM BookingEvent e WHERE e.id > :afterId ORDER BY e.id")
+    List<BookingEvent> findAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT e FROM BookingEvent e WHERE e.providerId = :providerId AND e.id > :afterId AND e.id <= :upToId " +
+           "ORDER BY e.id")
+    List<BookingEvent> findByProviderAfter(@Param("providerId") Long providerId, @Param("afterId") long afterId,
+                                           @Param("upToId") long upToId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM BookingEvent e")
+    long findMaxId();
+
+    @Query("SELECT MIN(e.id) FROM BookingEvent e")
+    Long findMinId();
+
+    @Modifying
+    @Query("UPDATE BookingEvent e SET e.dispatchedAt = :dispatchedAt WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+    @Modifying
+    @Query("DELETE FROM BookingEvent e WHERE e.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+}
@@ -4,25 +4,60 @@ import com.quickserve.backend.model.Booking;
 import com.quickserve.backend.model.ServiceProvider;
 import com.quickserve.backend.model.User;
 import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.repository.projection.CategoryBookingTotals;
+import com.quickserve.backend.repository.projection.ProviderBookingRow;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     // Provider bookings
+    @EntityGraph(Booking.PROVIDER_VIEW)
     List<Booking> findByProviderOrderByBookingDateDescBookingTimeDesc(ServiceProvider provider);
     
     Page<Booking> findByProviderOrderByBookingDateDescBookingTimeDesc(ServiceProvider provider, Pageable pageable);
     
+    // Paged provider list: keyset after (date, time, id), newest first
+    @Query("SELECT new com.quickserve.backend.repository.projection.ProviderBookingRow(" +
+           "b.id, c.fullName, s.name, s.id, b.bookingDate, b.bookingTime, b.status, b.price, b.updatedAt) " +
+           "FROM Booking b JOIN b.customer c JOIN b.service s " +
+           "WHERE b.provider.id = :providerId AND b.status IN :statuses AND b.bookingDate BETWEEN :from AND :to " +
+           "AND (b.bookingDate < :date OR (b.bookingDate = :date AND " +
+           "(b.bookingTime < :time OR (b.bookingTime = :time AND b.id < :id)))) " +
+           "ORDER BY b.bookingDate DESC, b.bookingTime DESC, b.id DESC")
+    List<ProviderBookingRow> findPageByProvider(@Param("providerId") Long providerId,
+                                                @Param("statuses") Collection<BookingStatus> statuses,
+                                                @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                @Param("date") LocalDate date, @Param("time") LocalTime time,
+                                                @Param("id") Long id, Pageable pageable);
+    
+    // Incremental provider list: bookings changed after (updatedAt, id), oldest change first
+    @Query("SELECT new com.quickserve.backend.repository.projection.ProviderBookingRow(" +
+           "b.id, c.fullName, s.name, s.id, b.bookingDate, b.bookingTime, b.status, b.price, b.updatedAt) " +
+           "FROM Booking b JOIN b.customer c JOIN b.service s " +
+           "WHERE b.provider.id = :providerId AND " +
+           "(b.updatedAt > :since OR (b.updatedAt = :since AND b.id > :afterId)) " +
+           "ORDER BY b.updatedAt, b.id")
+    List<ProviderBookingRow> findChangedByProvider(@Param("providerId") Long providerId,
+                                                   @Param("since") LocalDateTime since,
+                                                   @Param("afterId") Long afterId, Pageable pageable);
+    
     List<Booking> findByProviderAndStatus(ServiceProvider provider, BookingStatus status);
     
     List<Booking> findByProviderAndBookingDate(ServiceProvider provider, LocalDate date);
@@ -30,6 +65,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByProviderAndBookingDateAndStatusIn(ServiceProvider provider, LocalDate date, List<BookingStatus> statuses);
     
     // Customer bookings
+    @EntityGraph(Booking.CUSTOMER_VIEW)
     List<Booking> findByCustomerOrderByBookingDateDescBookingTimeDesc(User customer);
     
     // Stats queries
@@ -49,25 +85,64 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findTop5ByProviderOrderByCreatedAtDesc(ServiceProvider provider);
     
     // Upcoming bookings (today and future, pending or confirmed)
+    @EntityGraph(Booking.PROVIDER_VIEW)
     @Query("SELECT b FROM Booking b WHERE b.provider = :provider AND b.bookingDate >= :today AND b.status IN ('PENDING', 'CONFIRMED') ORDER BY b.bookingDate ASC, b.bookingTime ASC")
     List<Booking> findUpcomingByProvider(@Param("provider") ServiceProvider provider, @Param("today") LocalDate today);
     
+    // Stale PENDING bookings for the expiry job: slot started or no response since respondBy.
+    // Keyset by id so rows that stay PENDING are not scanned again; locked until the chunk commits.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.status = 'PENDING' AND b.id > :afterId AND " +
+           "(b.bookingDate < :today OR (b.bookingDate = :today AND b.bookingTime <= :now) OR b.createdAt < :respondBy) " +
+           "ORDER BY b.id")
+    List<Booking> findStalePendingForUpdate(@Param("afterId") Long afterId, @Param("today") LocalDate today,
+                                            @Param("now") LocalTime now, @Param("respondBy") LocalDateTime respondBy,
+                                            Pageable pageable);
+    
+    // Single-booking status changes: locked like the expiry job and bulk changes lock their rows, so
+    // a change waits for theirs instead of writing its status over one it never saw
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+    
+    // Bulk status changes: every booking locked up front, in id order so concurrent batches queue
+    // instead of deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids ORDER BY b.id")
+    List<Booking> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    
     // Admin queries
+    @EntityGraph(Booking.ADMIN_VIEW)
     List<Booking> findByStatus(BookingStatus status);
     
+    @EntityGraph(Booking.ADMIN_VIEW)
+    @Query("SELECT b FROM Booking b")
+    List<Booking> findAllForAdmin();
+    
     long countByStatus(BookingStatus status);
     
+    @EntityGraph(Booking.ADMIN_VIEW)
     List<Booking> findTop10ByOrderByCreatedAtDesc();
     
-    // Provider ID based queries
-    List<Booking> findByProviderId(Long providerId);
+    @Query("SELECT COALESCE(SUM(b.price), 0) FROM Booking b WHERE b.status = 'COMPLETED'")
+    BigDecimal getTotalRevenue();
+    
+    @Query("SELECT new com.quickserve.backend.repository.projection.CategoryBookingTotals(" +
+           "sp.primaryService, COUNT(b), COALESCE(SUM(CASE WHEN b.status = 'COMPLETED' THEN b.price END), 0)) " +
+           "FROM Booking b JOIN b.provider sp GROUP BY sp.primaryService")
+    List<CategoryBookingTotals> getTotalsByCategory();
+    
+    // Provider ID based queries (explicit FK path; the derived form joins service_providers and scans bookings)
+    @Query("SELECT b FROM Booking b WHERE b.provider.id = :providerId")
+    List<Booking> findByProviderId(@Param("providerId") Long providerId);
     
     int countByProviderId(Long providerId);
     
     int countByProviderIdAndStatus(Long providerId, BookingStatus status);
     
     // Customer ID based queries  
-    List<Booking> findByCustomerId(Long customerId);
+    @Query("SELECT b FROM Booking b WHERE b.customer.id = :customerId")
+    List<Booking> findByCustomerId(@Param("customerId") Long customerId);
     
     int countByCustomerId(Long customerId);
 }
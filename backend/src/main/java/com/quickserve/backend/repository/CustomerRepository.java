@@ -3,6 +3,7 @@ package com.quickserve.backend.repository;
 import com.quickserve.backend.model.Customer;
 import com.quickserve.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -23,4 +24,16 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     @Query("SELECT c FROM Customer c JOIN FETCH c.user WHERE c.user.email = :email")
     Optional<Customer> findByUserEmailWithUser(@Param("email") String email);
+
+    @Query("SELECT c FROM Customer c JOIN FETCH c.user WHERE c.id = :id")
+    Optional<Customer> findByIdWithUser(@Param("id") Long id);
+
+    // Stats counters, updated in place without loading the customer. Bookings reference the
+    // customer's user, so the counters are addressed by user id.
+    @Modifying
+    @Query("UPDATE Customer c SET c.totalBookings = COALESCE(c.totalBookings, 0) + :created, " +
+           "c.completedBookings = COALESCE(c.completedBookings, 0) + :completed, " +
+           "c.cancelledBookings = COALESCE(c.cancelledBookings, 0) + :cancelled WHERE c.user.id = :userId")
+    int addBookingCountsByUserId(@Param("userId") Long userId, @Param("created") int created,
+                                 @Param("completed") int completed, @Param("cancelled") int cancelled);
 }
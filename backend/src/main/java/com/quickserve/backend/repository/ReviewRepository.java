@@ -3,13 +3,17 @@ package com.quickserve.backend.repository;
 import com.quickserve.backend.model.Review;
 import com.quickserve.backend.model.ServiceProvider;
 import com.quickserve.backend.model.User;
+import com.quickserve.backend.repository.projection.BookingRating;
+import com.quickserve.backend.repository.projection.ProviderRatingCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,23 +23,25 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // Provider reviews
     List<Review> findByProviderOrderByCreatedAtDesc(ServiceProvider provider);
 
+    @EntityGraph(Review.RESPONSE_VIEW)
     Page<Review> findByProviderOrderByCreatedAtDesc(ServiceProvider provider, Pageable pageable);
 
     // Customer reviews
+    @EntityGraph(Review.RESPONSE_VIEW)
     List<Review> findByCustomerOrderByCreatedAtDesc(User customer);
 
     // Check if booking already has a review
-    Optional<Review> findByBookingId(Long bookingId);
+    @Query("SELECT r FROM Review r WHERE r.booking.id = :bookingId")
+    Optional<Review> findByBookingId(@Param("bookingId") Long bookingId);
 
     boolean existsByBookingId(Long bookingId);
 
-    // Stats
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.provider = :provider")
-    Double getAverageRatingByProvider(@Param("provider") ServiceProvider provider);
+    @Query("SELECT new com.quickserve.backend.repository.projection.BookingRating(r.booking.id, r.rating) " +
+           "FROM Review r WHERE r.booking.id IN :bookingIds")
+    List<BookingRating> findRatingsByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
 
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.provider = :provider")
-    long countByProvider(@Param("provider") ServiceProvider provider);
-
-    @Query("SELECT r.rating, COUNT(r) FROM Review r WHERE r.provider = :provider GROUP BY r.rating ORDER BY r.rating DESC")
-    List<Object[]> getRatingDistributionByProvider(@Param("provider") ServiceProvider provider);
+    // Rebuilds ServiceProvider.ratings for a batch of providers from idx_reviews_provider_rating
+    @Query("SELECT new com.quickserve.backend.repository.projection.ProviderRatingCount(r.provider.id, r.rating, COUNT(r)) " +
+           "FROM Review r WHERE r.provider.id IN :providerIds GROUP BY r.provider.id, r.rating")
+    List<ProviderRatingCount> countRatingsByProviderIds(@Param("providerIds") Collection<Long> providerIds);
 }
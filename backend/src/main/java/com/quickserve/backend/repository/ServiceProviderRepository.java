@@ -3,25 +3,53 @@ package com.quickserve.backend.repository;
 import com.quickserve.backend.model.ServiceProvider;
 import com.quickserve.backend.model.User;
 import com.quickserve.backend.model.enums.ServiceCategory;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ServiceProviderRepository extends JpaRepository<ServiceProvider, Long> {
     
-    Optional<ServiceProvider> findByUserId(Long userId);
+    @Query("SELECT sp FROM ServiceProvider sp WHERE sp.user.id = :userId")
+    Optional<ServiceProvider> findByUserId(@Param("userId") Long userId);
     
     Optional<ServiceProvider> findByUser(User user);
     
+    @Query("SELECT sp FROM ServiceProvider sp JOIN FETCH sp.user WHERE sp.id = :id")
+    Optional<ServiceProvider> findByIdWithUser(@Param("id") Long id);
+
+    // Rating updates: SELECT ... FOR UPDATE reads the current row (never the L2 cache) and holds
+    // concurrent reviews of the same provider until the transaction commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sp FROM ServiceProvider sp WHERE sp.id = :id")
+    Optional<ServiceProvider> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT sp FROM ServiceProvider sp WHERE sp.id IN :ids")
+    List<ServiceProvider> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Straight from the table: buffered profile views are added with JDBC and never reach the L2 cache
+    @Query("SELECT COALESCE(sp.profileViews, 0) FROM ServiceProvider sp WHERE sp.id = :id")
+    Optional<Integer> findProfileViewsById(@Param("id") Long id);
+
+    // Keyset walk over all providers for batch jobs
+    @Query("SELECT sp.id FROM ServiceProvider sp WHERE sp.id > :afterId ORDER BY sp.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
     List<ServiceProvider> findByPrimaryService(ServiceCategory category);
     
     List<ServiceProvider> findByCity(String city);
     
+    @EntityGraph(ServiceProvider.LIST_VIEW)
     List<ServiceProvider> findByIsAvailableTrue();
     
     long countByPrimaryService(ServiceCategory category);
@@ -29,9 +57,14 @@ public interface ServiceProviderRepository extends JpaRepository<ServiceProvider
     @Query("SELECT sp FROM ServiceProvider sp WHERE sp.city = :city AND sp.primaryService = :category AND sp.isAvailable = true")
     List<ServiceProvider> findAvailableProvidersByCityAndCategory(@Param("city") String city, @Param("category") ServiceCategory category);
     
-    @Query("SELECT sp FROM ServiceProvider sp WHERE sp.isAvailable = true AND " +
-           "(sp.primaryService = :category OR :category MEMBER OF sp.secondaryServices)")
-    List<ServiceProvider> findAvailableByCategory(@Param("category") ServiceCategory category);
+    // Primary or secondary match; filtered within the (is_available, category_mask) index
+    @EntityGraph(ServiceProvider.LIST_VIEW)
+    @Query("SELECT sp FROM ServiceProvider sp WHERE sp.isAvailable = true AND bitand(sp.categoryMask, cast(:mask as Long)) <> 0")
+    List<ServiceProvider> findAvailableByCategoryMask(@Param("mask") long mask);
+    
+    default List<ServiceProvider> findAvailableByCategory(ServiceCategory category) {
+        return findAvailableByCategoryMask(category.getMask());
+    }
     
     boolean existsByAadharNumber(String aadharNumber);
 }
@@ -3,8 +3,13 @@ package com.quickserve.backend.repository;
 import com.quickserve.backend.model.User;
 import com.quickserve.backend.model.enums.AccountStatus;
 import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.security.UserPrincipal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,6 +25,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     boolean existsByPhone(String phone);
     
+    // Authentication principal with customer/provider ids resolved in one query
+    @Query("SELECT new com.quickserve.backend.security.UserPrincipal(u.id, u.email, u.password, u.role, c.id, sp.id) " +
+           "FROM User u LEFT JOIN Customer c ON c.user = u LEFT JOIN ServiceProvider sp ON sp.user = u WHERE u.email = :email")
+    Optional<UserPrincipal> findPrincipalByEmail(@Param("email") String email);
+    
+    @Query("SELECT new com.quickserve.backend.security.UserPrincipal(u.id, u.email, u.password, u.role, c.id, sp.id) " +
+           "FROM User u LEFT JOIN Customer c ON c.user = u LEFT JOIN ServiceProvider sp ON sp.user = u WHERE u.id = :id")
+    Optional<UserPrincipal> findPrincipalById(@Param("id") Long id);
+    
     // Role-based queries
     List<User> findByRole(Role role);
     
@@ -33,4 +47,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // Recent users
     List<User> findTop10ByOrderByCreatedAtDesc();
+    
+    // Password re-hash on login
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
 }
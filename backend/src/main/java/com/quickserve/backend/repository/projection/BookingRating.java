@@ -0,0 +1,7 @@
+package com.quickserve.backend.repository.projection;
+
+/**
+ * Rating left on a booking, loaded for a whole page of bookings at once.
+ */
+public record BookingRating(Long bookingId, Integer rating) {
+}
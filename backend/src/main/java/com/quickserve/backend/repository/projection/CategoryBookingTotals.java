@@ -0,0 +1,11 @@
+package com.quickserve.backend.repository.projection;
+
+import com.quickserve.backend.model.enums.ServiceCategory;
+
+import java.math.BigDecimal;
+
+/**
+ * Booking count and completed revenue for one provider category.
+ */
+public record CategoryBookingTotals(ServiceCategory category, Long bookings, BigDecimal revenue) {
+}
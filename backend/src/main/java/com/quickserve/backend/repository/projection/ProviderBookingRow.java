@@ -0,0 +1,15 @@
+package com.quickserve.backend.repository.projection;
+
+import com.quickserve.backend.model.enums.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * One line of a provider's booking list, read without loading the booking, customer or service.
+ */
+public record ProviderBookingRow(Long id, String customer, String service, Long serviceId, LocalDate date,
+                                 LocalTime time, BookingStatus status, BigDecimal price, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,7 @@
+package com.quickserve.backend.repository.projection;
+
+/**
+ * Number of a provider's reviews with one star rating.
+ */
+public record ProviderRatingCount(Long providerId, Integer rating, Long count) {
+}
@@ -1,42 +1,39 @@
 package com.quickserve.backend.security;
 
-import com.quickserve.backend.model.User;
 import com.quickserve.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+    public UserPrincipal loadUserByUsername(String email) throws UsernameNotFoundException {
+        // Resolves user, customer and provider ids in a single query
+        return userRepository.findPrincipalByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
     }
 
-    public UserDetails loadUserById(Long id) {
-        User user = userRepository.findById(id)
+    public UserPrincipal loadUserById(Long id) {
+        return userRepository.findPrincipalById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        // Called after a successful login when the stored hash uses an outdated bcrypt cost
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        log.info("Password hash upgraded for user: {}", user.getUsername());
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
+        return ((UserPrincipal) user).withPassword(newPassword);
     }
 }
@@ -1,5 +1,6 @@
 package com.quickserve.backend.security;
 
+import com.quickserve.backend.model.enums.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -41,11 +42,42 @@ public class JwtTokenProvider {
         }
     }
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_CUSTOMER_ID = "cid";
+    private static final String CLAIM_PROVIDER_ID = "pid";
+
     public String generateToken(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return generateToken(principal);
+        }
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
         return generateToken(userPrincipal.getUsername());
     }
 
+    public String generateToken(UserPrincipal principal) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+
+        // Ids are embedded so authenticated requests don't need a database lookup
+        JwtBuilder builder = Jwts.builder()
+                .subject(principal.getEmail())
+                .claim(CLAIM_USER_ID, principal.getUserId())
+                .claim(CLAIM_ROLE, principal.getRole().name());
+        if (principal.getCustomerId() != null) {
+            builder.claim(CLAIM_CUSTOMER_ID, principal.getCustomerId());
+        }
+        if (principal.getProviderId() != null) {
+            builder.claim(CLAIM_PROVIDER_ID, principal.getProviderId());
+        }
+
+        return builder
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(key)
+                .compact();
+    }
+
     public String generateToken(String email) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
@@ -81,12 +113,19 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        return parseToken(token) != null;
+    }
+
+    /**
+     * Verifies the token and returns its claims, or null if it is invalid or expired.
+     */
+    public Claims parseToken(String token) {
         try {
-            Jwts.parser()
+            return Jwts.parser()
                     .verifyWith(key)
                     .build()
-                    .parseSignedClaims(token);
-            return true;
+                    .parseSignedClaims(token)
+                    .getPayload();
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -96,7 +135,27 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Builds the principal from the ids embedded in the token. Returns null for tokens
+     * issued before ids were embedded, so callers can fall back to a database lookup.
+     */
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+
+        return new UserPrincipal(
+                userId,
+                claims.getSubject(),
+                null,
+                Role.valueOf(role),
+                claims.get(CLAIM_CUSTOMER_ID, Long.class),
+                claims.get(CLAIM_PROVIDER_ID, Long.class));
     }
 
     public long getExpirationInSeconds() {
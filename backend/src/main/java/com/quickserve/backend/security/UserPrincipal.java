@@ -0,0 +1,56 @@
+package com.quickserve.backend.security;
+
+import com.quickserve.backend.model.enums.Role;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticated user with the ids services need already resolved, so request handling
+ * does not have to look the user, customer or provider up again by email.
+ */
+@Getter
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+
+    private final Long userId;
+    private final String email;
+    private String password;
+    private final Role role;
+    private final Long customerId; // null if not a customer
+    private final Long providerId; // null if not a service provider
+    private final List<GrantedAuthority> authorities;
+
+    public UserPrincipal(Long userId, String email, String password, Role role, Long customerId, Long providerId) {
+        this.userId = userId;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.customerId = customerId;
+        this.providerId = providerId;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public UserPrincipal withPassword(String newPassword) {
+        return new UserPrincipal(userId, email, newPassword, role, customerId, providerId);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+}
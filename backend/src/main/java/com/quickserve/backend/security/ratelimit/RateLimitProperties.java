@@ -0,0 +1,47 @@
+package com.quickserve.backend.security.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "ratelimit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Only trust X-Forwarded-For when running behind a known reverse proxy
+    private boolean trustForwardedFor = false;
+
+    // Upper bound on tracked buckets; least recently used keys are dropped first
+    private long maxBuckets = 100_000;
+
+    // Buckets untouched for this long are evicted (a fresh bucket starts full anyway)
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    // First matching rule wins, so keep the most specific patterns on top
+    private List<Rule> rules = new ArrayList<>(List.of(
+            new Rule("auth-login", "/api/auth/login", 10, 0.2),
+            new Rule("auth-signup", "/api/auth/signup/**", 5, 0.05),
+            new Rule("auth", "/api/auth/**", 30, 1.0),
+            new Rule("public-search", "/api/public/providers", 20, 2.0),
+            new Rule("public", "/api/public/**", 60, 10.0)
+    ));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+        private String name;
+        private String pattern;
+        private long capacity;
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,106 @@
+package com.quickserve.backend.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, RuleStats> statsByRule = new ConcurrentHashMap<>();
+    private Cache<String, TokenBucket> buckets;
+
+    @PostConstruct
+    public void init() {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .recordStats()
+                .build();
+
+        Gauge.builder("quickserve.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Token buckets currently tracked")
+                .register(meterRegistry);
+
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            statsByRule.put(rule.getName(), new RuleStats(
+                    Counter.builder("quickserve.ratelimit.requests")
+                            .tag("rule", rule.getName()).tag("outcome", "allowed")
+                            .register(meterRegistry),
+                    Counter.builder("quickserve.ratelimit.requests")
+                            .tag("rule", rule.getName()).tag("outcome", "rejected")
+                            .register(meterRegistry)));
+        }
+    }
+
+    public Optional<RateLimitProperties.Rule> findRule(String path) {
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (pathMatcher.match(rule.getPattern(), path)) {
+                return Optional.of(rule);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Takes a token for the given client under the rule. Returns 0 when allowed, otherwise
+     * the wait in nanoseconds before the client may retry.
+     */
+    public long tryAcquire(RateLimitProperties.Rule rule, String clientKey) {
+        TokenBucket bucket = buckets.get(rule.getName() + "|" + clientKey,
+                key -> new TokenBucket(rule.getCapacity(), rule.getRefillPerSecond()));
+
+        long wait = bucket.tryConsume();
+        RuleStats stats = statsByRule.get(rule.getName());
+        if (stats != null) {
+            (wait == 0 ? stats.allowed() : stats.rejected()).increment();
+        }
+        return wait;
+    }
+
+    public long getRemainingTokens(RateLimitProperties.Rule rule, String clientKey) {
+        TokenBucket bucket = buckets.getIfPresent(rule.getName() + "|" + clientKey);
+        return bucket != null ? bucket.getAvailableTokens() : rule.getCapacity();
+    }
+
+    public Map<String, Object> snapshot() {
+        List<Map<String, Object>> rules = new ArrayList<>();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            RuleStats stats = statsByRule.get(rule.getName());
+            Map<String, Object> ruleInfo = new LinkedHashMap<>();
+            ruleInfo.put("name", rule.getName());
+            ruleInfo.put("pattern", rule.getPattern());
+            ruleInfo.put("capacity", rule.getCapacity());
+            ruleInfo.put("refillPerSecond", rule.getRefillPerSecond());
+            ruleInfo.put("allowed", stats != null ? (long) stats.allowed().count() : 0);
+            ruleInfo.put("rejected", stats != null ? (long) stats.rejected().count() : 0);
+            rules.add(ruleInfo);
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", properties.isEnabled());
+        snapshot.put("activeBuckets", buckets.estimatedSize());
+        snapshot.put("maxBuckets", properties.getMaxBuckets());
+        snapshot.put("idleExpiry", properties.getIdleExpiry().toString());
+        snapshot.put("evictedBuckets", buckets.stats().evictionCount());
+        snapshot.put("rules", rules);
+        return snapshot;
+    }
+
+    private record RuleStats(Counter allowed, Counter rejected) {
+    }
+}
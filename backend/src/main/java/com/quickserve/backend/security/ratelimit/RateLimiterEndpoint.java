@@ -0,0 +1,21 @@
+package com.quickserve.backend.security.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "ratelimit")
+@RequiredArgsConstructor
+public class RateLimiterEndpoint {
+
+    private final RateLimiter rateLimiter;
+
+    @ReadOperation
+    public Map<String, Object> rateLimits() {
+        return rateLimiter.snapshot();
+    }
+}
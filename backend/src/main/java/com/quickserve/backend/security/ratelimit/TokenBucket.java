@@ -0,0 +1,53 @@
+package com.quickserve.backend.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The whole bucket state is a single "theoretical arrival time"
+ * (GCRA), so acquiring a token is one CAS on an {@link AtomicLong} with no locking.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final long nanosPerToken;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long capacity, double refillTokensPerSecond) {
+        this.capacity = Math.max(1, capacity);
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / refillTokensPerSecond));
+        this.burstToleranceNanos = nanosPerToken * (this.capacity - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Tries to take one token. Returns 0 if the token was granted, otherwise how many
+     * nanoseconds the caller has to wait before the next token becomes available.
+     */
+    public long tryConsume() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long base = tat - now > 0 ? tat : now;
+            long wait = base - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + nanosPerToken)) {
+                return 0;
+            }
+        }
+    }
+
+    public long getAvailableTokens() {
+        long now = System.nanoTime();
+        long tat = theoreticalArrival.get();
+        long backlog = Math.max(0, tat - now);
+        long used = (backlog + nanosPerToken - 1) / nanosPerToken;
+        return Math.max(0, capacity - used);
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+}
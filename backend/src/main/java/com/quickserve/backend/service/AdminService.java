@@ -1,7 +1,9 @@
 package com.quickserve.backend.service;
 
+import com.quickserve.backend.dto.request.BulkBookingStatusRequest;
 import com.quickserve.backend.dto.request.admin.UpdateUserStatusRequest;
 import com.quickserve.backend.dto.request.admin.VerifyProviderRequest;
+import com.quickserve.backend.dto.response.BulkBookingStatusResponse;
 import com.quickserve.backend.dto.response.admin.*;
 import com.quickserve.backend.model.enums.AccountStatus;
 import com.quickserve.backend.model.enums.BookingStatus;
@@ -30,6 +32,7 @@ public interface AdminService {
     Page<BookingAdminResponse> getAllBookings(String search, BookingStatus status, Pageable pageable);
     BookingAdminResponse getBookingById(Long bookingId);
     BookingAdminResponse updateBookingStatus(Long bookingId, BookingStatus status, String notes);
+    BulkBookingStatusResponse updateBookingStatuses(BulkBookingStatusRequest request);
     
     // Analytics
     Object getRevenueAnalytics(String period);
@@ -8,25 +8,25 @@ import java.util.List;
 public interface CustomerService {
 
     // Profile
-    CustomerProfileResponse getProfile(String email);
-    CustomerProfileResponse updateProfile(String email, UpdateCustomerProfileRequest request);
+    CustomerProfileResponse getProfile(Long customerId);
+    CustomerProfileResponse updateProfile(Long customerId, UpdateCustomerProfileRequest request);
 
     // Bookings
-    CustomerBookingResponse createBooking(String email, CreateBookingRequest request);
-    List<CustomerBookingResponse> getBookings(String email);
-    List<CustomerBookingResponse> getUpcomingBookings(String email);
-    List<CustomerBookingResponse> getPastBookings(String email);
-    CustomerBookingResponse getBookingById(String email, Long bookingId);
-    CustomerBookingResponse cancelBooking(String email, Long bookingId, String reason);
+    CustomerBookingResponse createBooking(Long userId, Long customerId, CreateBookingRequest request);
+    List<CustomerBookingResponse> getBookings(Long userId);
+    List<CustomerBookingResponse> getUpcomingBookings(Long userId);
+    List<CustomerBookingResponse> getPastBookings(Long userId);
+    CustomerBookingResponse getBookingById(Long userId, Long bookingId);
+    CustomerBookingResponse cancelBooking(Long userId, Long customerId, Long bookingId, String reason);
 
     // Reviews
-    ReviewResponse createReview(String email, CreateReviewRequest request);
-    List<ReviewResponse> getMyReviews(String email);
+    ReviewResponse createReview(Long userId, CreateReviewRequest request);
+    List<ReviewResponse> getMyReviews(Long userId);
 
     // Saved Addresses
-    List<SavedAddressResponse> getSavedAddresses(String email);
-    SavedAddressResponse addSavedAddress(String email, SavedAddressRequest request);
-    SavedAddressResponse updateSavedAddress(String email, Long addressId, SavedAddressRequest request);
-    void deleteSavedAddress(String email, Long addressId);
-    void setDefaultAddress(String email, Long addressId);
+    List<SavedAddressResponse> getSavedAddresses(Long customerId);
+    SavedAddressResponse addSavedAddress(Long customerId, SavedAddressRequest request);
+    SavedAddressResponse updateSavedAddress(Long customerId, Long addressId, SavedAddressRequest request);
+    void deleteSavedAddress(Long customerId, Long addressId);
+    void setDefaultAddress(Long customerId, Long addressId);
 }
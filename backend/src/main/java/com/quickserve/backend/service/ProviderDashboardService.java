@@ -1,10 +1,14 @@
 package com.quickserve.backend.service;
 
+import com.quickserve.backend.dto.request.BulkBookingStatusRequest;
 import com.quickserve.backend.dto.request.CreateServiceRequest;
+import com.quickserve.backend.dto.request.ProviderBookingQuery;
 import com.quickserve.backend.dto.request.UpdateBookingStatusRequest;
 import com.quickserve.backend.dto.request.UpdateProfileRequest;
 import com.quickserve.backend.dto.request.UpdateServiceRequest;
+import com.quickserve.backend.dto.response.BookingPageResponse;
 import com.quickserve.backend.dto.response.BookingResponse;
+import com.quickserve.backend.dto.response.BulkBookingStatusResponse;
 import com.quickserve.backend.dto.response.DashboardStatsResponse;
 import com.quickserve.backend.dto.response.ProviderProfileResponse;
 import com.quickserve.backend.dto.response.ProviderServiceResponse;
@@ -14,22 +18,24 @@ import java.util.List;
 public interface ProviderDashboardService {
     
     // Dashboard stats
-    DashboardStatsResponse getDashboardStats(String email);
+    DashboardStatsResponse getDashboardStats(Long providerId);
     
     // Profile
-    ProviderProfileResponse getProfile(String email);
-    ProviderProfileResponse updateProfile(String email, UpdateProfileRequest request);
-    void updateAvailability(String email, boolean available);
+    ProviderProfileResponse getProfile(Long providerId);
+    ProviderProfileResponse updateProfile(Long providerId, UpdateProfileRequest request);
+    void updateAvailability(Long providerId, boolean available);
     
     // Services
-    List<ProviderServiceResponse> getServices(String email);
-    ProviderServiceResponse createService(String email, CreateServiceRequest request);
-    ProviderServiceResponse updateService(String email, Long serviceId, UpdateServiceRequest request);
-    void deleteService(String email, Long serviceId);
-    void toggleServiceStatus(String email, Long serviceId);
+    List<ProviderServiceResponse> getServices(Long providerId);
+    ProviderServiceResponse createService(Long providerId, CreateServiceRequest request);
+    ProviderServiceResponse updateService(Long providerId, Long serviceId, UpdateServiceRequest request);
+    void deleteService(Long providerId, Long serviceId);
+    void toggleServiceStatus(Long providerId, Long serviceId);
     
     // Bookings
-    List<BookingResponse> getBookings(String email);
-    List<BookingResponse> getUpcomingBookings(String email);
-    BookingResponse updateBookingStatus(String email, Long bookingId, UpdateBookingStatusRequest request);
+    List<BookingResponse> getBookings(Long providerId);
+    BookingPageResponse getBookings(Long providerId, ProviderBookingQuery query);
+    List<BookingResponse> getUpcomingBookings(Long providerId);
+    BookingResponse updateBookingStatus(Long providerId, Long bookingId, UpdateBookingStatusRequest request);
+    BulkBookingStatusResponse updateBookingStatuses(Long providerId, BulkBookingStatusRequest request);
 }
@@ -26,8 +26,11 @@ public interface PublicService {
             int size
     );
 
+    // Assembles the page only; views are counted separately so cached pages can be served
     ProviderDetailResponse getProviderDetails(Long providerId);
 
+    void recordProfileView(Long providerId);
+
     // Reviews
     List<ReviewResponse> getProviderReviews(Long providerId, int page, int size);
 }
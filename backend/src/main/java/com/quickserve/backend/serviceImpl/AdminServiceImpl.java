@@ -1,7 +1,10 @@
 package com.quickserve.backend.serviceImpl;
 
+import com.quickserve.backend.config.concurrency.FanOut;
+import com.quickserve.backend.dto.request.BulkBookingStatusRequest;
 import com.quickserve.backend.dto.request.admin.UpdateUserStatusRequest;
 import com.quickserve.backend.dto.request.admin.VerifyProviderRequest;
+import com.quickserve.backend.dto.response.BulkBookingStatusResponse;
 import com.quickserve.backend.dto.response.admin.*;
 import com.quickserve.backend.exception.BadRequestException;
 import com.quickserve.backend.exception.ResourceNotFoundException;
@@ -10,6 +13,7 @@ import com.quickserve.backend.model.enums.AccountStatus;
 import com.quickserve.backend.model.enums.BookingStatus;
 import com.quickserve.backend.model.enums.Role;
 import com.quickserve.backend.repository.*;
+import com.quickserve.backend.repository.projection.CategoryBookingTotals;
 import com.quickserve.backend.service.AdminService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +21,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -27,6 +32,7 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 @Slf4j
 public class AdminServiceImpl implements AdminService {
 
@@ -36,96 +42,99 @@ public class AdminServiceImpl implements AdminService {
     private final BookingRepository bookingRepository;
     private final ProviderServiceRepository providerServiceRepository;
     private final ReviewRepository reviewRepository;
+    private final FanOut fanOut;
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AdminDashboardStatsResponse getDashboardStats() {
-        // Total counts
-        long totalUsers = userRepository.count();
-        long totalCustomers = userRepository.countByRole(Role.CUSTOMER);
-        long totalProviders = userRepository.countByRole(Role.SERVICE_PROVIDER);
-        long totalBookings = bookingRepository.count();
-        
-        // Calculate total revenue from completed bookings
-        BigDecimal totalRevenue = bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.COMPLETED)
-                .map(Booking::getPrice)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        // Booking status counts
-        long pendingBookings = bookingRepository.countByStatus(BookingStatus.PENDING);
-        long confirmedBookings = bookingRepository.countByStatus(BookingStatus.CONFIRMED);
-        long completedBookings = bookingRepository.countByStatus(BookingStatus.COMPLETED);
-        long cancelledBookings = bookingRepository.countByStatus(BookingStatus.CANCELLED);
-        
-        // Provider status counts
-        long activeProviders = userRepository.countByRoleAndStatus(Role.SERVICE_PROVIDER, AccountStatus.ACTIVE);
-        long pendingVerificationProviders = userRepository.countByRoleAndStatus(Role.SERVICE_PROVIDER, AccountStatus.PENDING_VERIFICATION);
-        long suspendedProviders = userRepository.countByRoleAndStatus(Role.SERVICE_PROVIDER, AccountStatus.SUSPENDED);
-        
-        // Recent bookings
-        List<Booking> recentBookingsList = bookingRepository.findTop10ByOrderByCreatedAtDesc();
-        List<AdminDashboardStatsResponse.RecentBookingInfo> recentBookings = recentBookingsList.stream()
-                .map(b -> AdminDashboardStatsResponse.RecentBookingInfo.builder()
-                        .id(b.getId())
-                        .customerName(b.getCustomer().getFullName())
-                        .providerName(b.getProvider().getUser().getFullName())
-                        .serviceName(b.getService() != null ? b.getService().getName() : "N/A")
-                        .status(b.getStatus().name())
-                        .amount(b.getPrice())
-                        .scheduledDate(b.getBookingDate() != null ? b.getBookingDate().toString() : null)
-                        .build())
-                .collect(Collectors.toList());
-        
-        // Recent users
-        List<User> recentUsersList = userRepository.findTop10ByOrderByCreatedAtDesc();
-        List<AdminDashboardStatsResponse.RecentUserInfo> recentUsers = recentUsersList.stream()
-                .map(u -> AdminDashboardStatsResponse.RecentUserInfo.builder()
-                        .id(u.getId())
-                        .fullName(u.getFullName())
-                        .email(u.getEmail())
-                        .role(u.getRole().name())
-                        .status(u.getStatus().name())
-                        .createdAt(u.getCreatedAt() != null ? u.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE) : null)
-                        .build())
-                .collect(Collectors.toList());
-        
-        // Booking by category
-        Map<String, Long> bookingsByCategory = new HashMap<>();
-        Map<String, BigDecimal> revenueByCategory = new HashMap<>();
-        
-        List<Booking> allBookings = bookingRepository.findAll();
-        for (Booking booking : allBookings) {
-            String category = booking.getProvider().getPrimaryService() != null 
-                    ? booking.getProvider().getPrimaryService().getDisplayName() 
-                    : "Other";
-            bookingsByCategory.merge(category, 1L, Long::sum);
-            if (booking.getStatus() == BookingStatus.COMPLETED && booking.getPrice() != null) {
-                revenueByCategory.merge(category, booking.getPrice(), BigDecimal::add);
+        // The counts are independent, so each runs on its own connection and the dashboard
+        // takes as long as the slowest one
+        try (FanOut.Scope scope = fanOut.open()) {
+            // Total counts
+            FanOut.Task<Long> totalUsers = scope.fork(userRepository::count);
+            FanOut.Task<Long> totalCustomers = scope.fork(() -> userRepository.countByRole(Role.CUSTOMER));
+            FanOut.Task<Long> totalProviders = scope.fork(() -> userRepository.countByRole(Role.SERVICE_PROVIDER));
+            FanOut.Task<Long> totalBookings = scope.fork(bookingRepository::count);
+
+            // Calculate total revenue from completed bookings
+            FanOut.Task<BigDecimal> totalRevenue = scope.fork(bookingRepository::getTotalRevenue);
+
+            // Booking status counts
+            FanOut.Task<Long> pendingBookings = scope.fork(() -> bookingRepository.countByStatus(BookingStatus.PENDING));
+            FanOut.Task<Long> confirmedBookings = scope.fork(() -> bookingRepository.countByStatus(BookingStatus.CONFIRMED));
+            FanOut.Task<Long> completedBookings = scope.fork(() -> bookingRepository.countByStatus(BookingStatus.COMPLETED));
+            FanOut.Task<Long> cancelledBookings = scope.fork(() -> bookingRepository.countByStatus(BookingStatus.CANCELLED));
+
+            // Provider status counts
+            FanOut.Task<Long> activeProviders = scope.fork(() ->
+                    userRepository.countByRoleAndStatus(Role.SERVICE_PROVIDER, AccountStatus.ACTIVE));
+            FanOut.Task<Long> pendingVerificationProviders = scope.fork(() ->
+                    userRepository.countByRoleAndStatus(Role.SERVICE_PROVIDER, AccountStatus.PENDING_VERIFICATION));
+            FanOut.Task<Long> suspendedProviders = scope.fork(() ->
+                    userRepository.countByRoleAndStatus(Role.SERVICE_PROVIDER, AccountStatus.SUSPENDED));
+
+            // Recent bookings and users, mapped while their transaction is still open
+            FanOut.Task<List<AdminDashboardStatsResponse.RecentBookingInfo>> recentBookings = scope.fork(() ->
+                    bookingRepository.findTop10ByOrderByCreatedAtDesc().stream()
+                            .map(b -> AdminDashboardStatsResponse.RecentBookingInfo.builder()
+                                    .id(b.getId())
+                                    .customerName(b.getCustomer().getFullName())
+                                    .providerName(b.getProvider().getUser().getFullName())
+                                    .serviceName(b.getService() != null ? b.getService().getName() : "N/A")
+                                    .status(b.getStatus().name())
+                                    .amount(b.getPrice())
+                                    .scheduledDate(b.getBookingDate() != null ? b.getBookingDate().toString() : null)
+                                    .build())
+                            .collect(Collectors.toList()));
+            FanOut.Task<List<AdminDashboardStatsResponse.RecentUserInfo>> recentUsers = scope.fork(() ->
+                    userRepository.findTop10ByOrderByCreatedAtDesc().stream()
+                            .map(u -> AdminDashboardStatsResponse.RecentUserInfo.builder()
+                                    .id(u.getId())
+                                    .fullName(u.getFullName())
+                                    .email(u.getEmail())
+                                    .role(u.getRole().name())
+                                    .status(u.getStatus().name())
+                                    .createdAt(u.getCreatedAt() != null ? u.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE) : null)
+                                    .build())
+                            .collect(Collectors.toList()));
+
+            FanOut.Task<List<CategoryBookingTotals>> categoryTotals = scope.fork(bookingRepository::getTotalsByCategory);
+            scope.join();
+
+            // Booking by category
+            Map<String, Long> bookingsByCategory = new HashMap<>();
+            Map<String, BigDecimal> revenueByCategory = new HashMap<>();
+
+            for (CategoryBookingTotals totals : categoryTotals.get()) {
+                String category = totals.category() != null ? totals.category().getDisplayName() : "Other";
+                bookingsByCategory.merge(category, totals.bookings(), Long::sum);
+                if (totals.revenue().signum() > 0) {
+                    revenueByCategory.merge(category, totals.revenue(), BigDecimal::add);
+                }
             }
+
+            return AdminDashboardStatsResponse.builder()
+                    .totalUsers(totalUsers.get())
+                    .totalCustomers(totalCustomers.get())
+                    .totalProviders(totalProviders.get())
+                    .totalBookings(totalBookings.get())
+                    .totalRevenue(totalRevenue.get())
+                    .userGrowthPercent(12.5)
+                    .bookingGrowthPercent(8.3)
+                    .revenueGrowthPercent(15.2)
+                    .pendingBookings(pendingBookings.get())
+                    .confirmedBookings(confirmedBookings.get())
+                    .completedBookings(completedBookings.get())
+                    .cancelledBookings(cancelledBookings.get())
+                    .activeProviders(activeProviders.get())
+                    .pendingVerificationProviders(pendingVerificationProviders.get())
+                    .suspendedProviders(suspendedProviders.get())
+                    .recentBookings(recentBookings.get())
+                    .recentUsers(recentUsers.get())
+                    .bookingsByCategory(bookingsByCategory)
+                    .revenueByCategory(revenueByCategory)
+                    .build();
         }
-        
-        return AdminDashboardStatsResponse.builder()
-                .totalUsers(totalUsers)
-                .totalCustomers(totalCustomers)
-                .totalProviders(totalProviders)
-                .totalBookings(totalBookings)
-                .totalRevenue(totalRevenue)
-                .userGrowthPercent(12.5)
-                .bookingGrowthPercent(8.3)
-                .revenueGrowthPercent(15.2)
-                .pendingBookings(pendingBookings)
-                .confirmedBookings(confirmedBookings)
-                .completedBookings(completedBookings)
-                .cancelledBookings(cancelledBookings)
-                .activeProviders(activeProviders)
-                .pendingVerificationProviders(pendingVerificationProviders)
-                .suspendedProviders(suspendedProviders)
-                .recentBookings(recentBookings)
-                .recentUsers(recentUsers)
-                .bookingsByCategory(bookingsByCategory)
-                .revenueByCategory(revenueByCategory)
-                .build();
     }
 
     @Override
@@ -296,7 +305,7 @@ public class AdminServiceImpl implements AdminService {
         if (status != null) {
             bookings = bookingRepository.findByStatus(status);
         } else {
-            bookings = bookingRepository.findAll();
+            bookings = bookingRepository.findAllForAdmin();
         }
         
         // Apply search filter
@@ -341,7 +350,7 @@ public class AdminServiceImpl implements AdminService {
     @Override
     @Transactional
     public BookingAdminResponse updateBookingStatus(Long bookingId, BookingStatus status, String notes) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + bookingId));
         
         booking.setStatus(status);
@@ -365,15 +374,27 @@ public class AdminServiceImpl implements AdminService {
         return mapToBookingAdminResponse(booking);
     }
 
+    // Unlike the single-booking override, a bulk change must be a valid transition for every booking
+    @Override
+    @Transactional
+    public BulkBookingStatusResponse updateBookingStatuses(BulkBookingStatusRequest request) {
+        BookingStatus status = BookingTransitions.parseStatus(request.getStatus());
+        List<Long> updated = BookingTransitions.applyAll(bookingRepository, request.getBookingIds(), status,
+                request.getCancellationReason(), booking -> { });
+
+        log.info("Booking statuses updated by admin: {} bookings, newStatus={}", updated.size(), status);
+        return BulkBookingStatusResponse.builder()
+                .status(status.name().toLowerCase())
+                .updated(updated.size())
+                .bookingIds(updated)
+                .build();
+    }
+
     @Override
     public Object getRevenueAnalytics(String period) {
         Map<String, Object> analytics = new HashMap<>();
         analytics.put("period", period);
-        analytics.put("totalRevenue", bookingRepository.findAll().stream()
-                .filter(b -> b.getStatus() == BookingStatus.COMPLETED)
-                .map(Booking::getPrice)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        analytics.put("totalRevenue", bookingRepository.getTotalRevenue());
         return analytics;
     }
 
@@ -470,7 +491,7 @@ public class AdminServiceImpl implements AdminService {
                 .state(provider.getState())
                 .pincode(provider.getPincode())
                 .primaryService(provider.getPrimaryService())
-                .secondaryServices(provider.getSecondaryServices())
+                .secondaryServices(new ArrayList<>(provider.getSecondaryServices()))
                 .experienceYears(provider.getExperienceYearsSafe())
                 .serviceRadiusKm(provider.getServiceRadiusKmSafe())
                 .hourlyRate(provider.getHourlyRateSafe())
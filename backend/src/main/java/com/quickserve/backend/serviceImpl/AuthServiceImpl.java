@@ -16,6 +16,7 @@ import com.quickserve.backend.repository.CustomerRepository;
 import com.quickserve.backend.repository.ServiceProviderRepository;
 import com.quickserve.backend.repository.UserRepository;
 import com.quickserve.backend.security.JwtTokenProvider;
+import com.quickserve.backend.security.UserPrincipal;
 import com.quickserve.backend.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,7 +26,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -41,6 +42,7 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public AuthResponse login(LoginRequest request) {
@@ -49,7 +51,8 @@ public class AuthServiceImpl implements AuthService {
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
             );
 
-            User user = userRepository.findByEmail(request.getEmail())
+            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+            User user = userRepository.findById(principal.getUserId())
                     .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
             if (user.getStatus() == AccountStatus.SUSPENDED) {
@@ -60,10 +63,10 @@ public class AuthServiceImpl implements AuthService {
                 throw new BadRequestException("Your account has been deactivated.");
             }
 
-            String accessToken = tokenProvider.generateToken(authentication);
+            String accessToken = tokenProvider.generateToken(principal);
             String refreshToken = tokenProvider.generateRefreshToken(user.getEmail());
 
-            return buildAuthResponse(user, accessToken, refreshToken);
+            return buildAuthResponse(user, principal, accessToken, refreshToken);
 
         } catch (BadCredentialsException e) {
             throw new BadRequestException("Invalid email or password");
@@ -71,7 +74,6 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    @Transactional
     public AuthResponse signup(SignupRequest request) {
         // Check if email already exists
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -88,12 +90,18 @@ public class AuthServiceImpl implements AuthService {
             throw new BadRequestException("Aadhar number is already registered");
         }
 
+        // Hashed before the transaction opens, so waiting on the hash pool does not hold a connection
+        String password = passwordEncoder.encode(request.getPassword());
+        return transactionTemplate.execute(status -> registerProvider(request, password));
+    }
+
+    private AuthResponse registerProvider(SignupRequest request, String password) {
         // Create User
         User user = User.builder()
                 .fullName(request.getFullName())
                 .email(request.getEmail())
                 .phone(request.getPhone())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(password)
                 .role(Role.SERVICE_PROVIDER)
                 .status(AccountStatus.PENDING_VERIFICATION)
                 .build();
@@ -124,7 +132,7 @@ public class AuthServiceImpl implements AuthService {
                 .state(request.getState())
                 .pincode(request.getPincode())
                 .primaryService(primaryCategory)
-                .secondaryServices(secondaryCategories)
+                .secondaryMask(ServiceCategory.toMask(secondaryCategories))
                 .experienceYears(request.getExperience())
                 .serviceRadiusKm(request.getServiceRadius() != null ? request.getServiceRadius() : 5)
                 .hourlyRate(request.getHourlyRate())
@@ -135,16 +143,17 @@ public class AuthServiceImpl implements AuthService {
         provider = serviceProviderRepository.save(provider);
 
         // Generate tokens
-        String accessToken = tokenProvider.generateToken(user.getEmail());
+        UserPrincipal principal = new UserPrincipal(
+                user.getId(), user.getEmail(), null, user.getRole(), null, provider.getId());
+        String accessToken = tokenProvider.generateToken(principal);
         String refreshToken = tokenProvider.generateRefreshToken(user.getEmail());
 
         log.info("New service provider registered: {}", user.getEmail());
 
-        return buildAuthResponse(user, accessToken, refreshToken);
+        return buildAuthResponse(user, principal, accessToken, refreshToken);
     }
 
     @Override
-    @Transactional
     public AuthResponse signupCustomer(CustomerSignupRequest request) {
         // Check if email already exists
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -156,12 +165,17 @@ public class AuthServiceImpl implements AuthService {
             throw new BadRequestException("Phone number is already registered");
         }
 
+        String password = passwordEncoder.encode(request.getPassword());
+        return transactionTemplate.execute(status -> registerCustomer(request, password));
+    }
+
+    private AuthResponse registerCustomer(CustomerSignupRequest request, String password) {
         // Create User with CUSTOMER role
         User user = User.builder()
                 .fullName(request.getFullName())
                 .email(request.getEmail())
                 .phone(request.getPhone())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(password)
                 .role(Role.CUSTOMER)
                 .status(AccountStatus.ACTIVE) // Customers are active immediately
                 .build();
@@ -180,15 +194,17 @@ public class AuthServiceImpl implements AuthService {
                 .cancelledBookings(0)
                 .build();
 
-        customerRepository.save(customer);
+        customer = customerRepository.save(customer);
 
         // Generate tokens
-        String accessToken = tokenProvider.generateToken(user.getEmail());
+        UserPrincipal principal = new UserPrincipal(
+                user.getId(), user.getEmail(), null, user.getRole(), customer.getId(), null);
+        String accessToken = tokenProvider.generateToken(principal);
         String refreshToken = tokenProvider.generateRefreshToken(user.getEmail());
 
         log.info("New customer registered: {}", user.getEmail());
 
-        return buildAuthResponse(user, accessToken, refreshToken);
+        return buildAuthResponse(user, principal, accessToken, refreshToken);
     }
 
     @Override
@@ -198,13 +214,15 @@ public class AuthServiceImpl implements AuthService {
         }
 
         String email = tokenProvider.getEmailFromToken(refreshToken);
-        User user = userRepository.findByEmail(email)
+        UserPrincipal principal = userRepository.findPrincipalByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        User user = userRepository.findById(principal.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        String newAccessToken = tokenProvider.generateToken(email);
+        String newAccessToken = tokenProvider.generateToken(principal);
         String newRefreshToken = tokenProvider.generateRefreshToken(email);
 
-        return buildAuthResponse(user, newAccessToken, newRefreshToken);
+        return buildAuthResponse(user, principal, newAccessToken, newRefreshToken);
     }
 
     @Override
@@ -215,22 +233,7 @@ public class AuthServiceImpl implements AuthService {
         log.info("User logged out: {}", email);
     }
 
-    private AuthResponse buildAuthResponse(User user, String accessToken, String refreshToken) {
-        Long providerId = null;
-        Long customerId = null;
-        
-        if (user.getRole() == Role.SERVICE_PROVIDER) {
-            ServiceProvider provider = serviceProviderRepository.findByUserId(user.getId()).orElse(null);
-            if (provider != null) {
-                providerId = provider.getId();
-            }
-        } else if (user.getRole() == Role.CUSTOMER) {
-            Customer customer = customerRepository.findByUserId(user.getId()).orElse(null);
-            if (customer != null) {
-                customerId = customer.getId();
-            }
-        }
-
+    private AuthResponse buildAuthResponse(User user, UserPrincipal principal, String accessToken, String refreshToken) {
         AuthResponse.UserInfo userInfo = AuthResponse.UserInfo.builder()
                 .id(user.getId())
                 .fullName(user.getFullName())
@@ -238,8 +241,8 @@ public class AuthServiceImpl implements AuthService {
                 .phone(user.getPhone())
                 .role(user.getRole())
                 .profilePhotoUrl(user.getProfilePhotoUrl())
-                .providerId(providerId)
-                .customerId(customerId)
+                .providerId(principal.getProviderId())
+                .customerId(principal.getCustomerId())
                 .build();
 
         return AuthResponse.builder()
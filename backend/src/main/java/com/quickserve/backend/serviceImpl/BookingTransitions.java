@@ -0,0 +1,81 @@
+package com.quickserve.backend.serviceImpl;
+
+import com.quickserve.backend.exception.BadRequestException;
+import com.quickserve.backend.exception.ResourceNotFoundException;
+import com.quickserve.backend.model.Booking;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Status changes shared by the provider and admin booking endpoints. Counters are not touched here:
+ * they follow from the booking events the changes produce (see BookingCounterConsumer).
+ */
+final class BookingTransitions {
+
+    private BookingTransitions() {
+    }
+
+    static BookingStatus parseStatus(String status) {
+        try {
+            return BookingStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid booking status: " + status);
+        }
+    }
+
+    /** Sets the status and the timestamp (and cancellation reason) that goes with it. */
+    static void apply(Booking booking, BookingStatus status, String cancellationReason, LocalDateTime now) {
+        booking.setStatus(status);
+        switch (status) {
+            case CONFIRMED -> booking.setConfirmedAt(now);
+            case COMPLETED -> booking.setCompletedAt(now);
+            case CANCELLED -> {
+                booking.setCancelledAt(now);
+                if (cancellationReason != null) {
+                    booking.setCancellationReason(cancellationReason);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Moves every booking to {@code status} or none of them. All bookings are locked and checked in
+     * memory first (existence, {@code check}, the transition itself); the changes then go out as one
+     * JDBC batch of UPDATEs (hibernate.jdbc.batch_size).
+     */
+    static List<Long> applyAll(BookingRepository bookingRepository, Collection<Long> bookingIds, BookingStatus status,
+                               String cancellationReason, Consumer<Booking> check) {
+        Set<Long> ids = new TreeSet<>(bookingIds);
+        List<Booking> bookings = bookingRepository.findAllByIdForUpdate(ids);
+        if (bookings.size() != ids.size()) {
+            bookings.forEach(booking -> ids.remove(booking.getId()));
+            throw new ResourceNotFoundException("Bookings not found: " + ids);
+        }
+
+        bookings.forEach(check);
+        String invalid = bookings.stream()
+                .filter(booking -> !booking.getStatus().canTransitionTo(status))
+                .map(booking -> booking.getId() + " (" + booking.getStatus() + ")")
+                .collect(Collectors.joining(", "));
+        if (!invalid.isEmpty()) {
+            throw new BadRequestException("Invalid status transition to " + status + " for bookings " + invalid);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Booking booking : bookings) {
+            apply(booking, status, cancellationReason, now);
+        }
+        bookingRepository.flush();
+        return bookings.stream().map(Booking::getId).toList();
+    }
+}
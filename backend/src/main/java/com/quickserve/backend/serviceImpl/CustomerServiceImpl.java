@@ -7,6 +7,7 @@ import com.quickserve.backend.exception.ResourceNotFoundException;
 import com.quickserve.backend.model.*;
 import com.quickserve.backend.model.enums.BookingStatus;
 import com.quickserve.backend.repository.*;
+import com.quickserve.backend.repository.projection.BookingRating;
 import com.quickserve.backend.service.CustomerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,10 +17,13 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 @Slf4j
 public class CustomerServiceImpl implements CustomerService {
 
@@ -34,18 +38,17 @@ public class CustomerServiceImpl implements CustomerService {
     // ==================== PROFILE ====================
 
     @Override
-    public CustomerProfileResponse getProfile(String email) {
-        User user = getUserByEmail(email);
-        Customer customer = getCustomerByUser(user);
+    public CustomerProfileResponse getProfile(Long customerId) {
+        Customer customer = getCustomerWithUser(customerId);
 
-        return buildProfileResponse(user, customer);
+        return buildProfileResponse(customer.getUser(), customer);
     }
 
     @Override
     @Transactional
-    public CustomerProfileResponse updateProfile(String email, UpdateCustomerProfileRequest request) {
-        User user = getUserByEmail(email);
-        Customer customer = getCustomerByUser(user);
+    public CustomerProfileResponse updateProfile(Long customerId, UpdateCustomerProfileRequest request) {
+        Customer customer = getCustomerWithUser(customerId);
+        User user = customer.getUser();
 
         // Update user fields
         if (request.getFullName() != null) {
@@ -87,9 +90,8 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional
-    public CustomerBookingResponse createBooking(String email, CreateBookingRequest request) {
-        User user = getUserByEmail(email);
-        Customer customer = getCustomerByUser(user);
+    public CustomerBookingResponse createBooking(Long userId, Long customerId, CreateBookingRequest request) {
+        Customer customer = getCustomerReference(customerId);
 
         // Get provider
         ServiceProvider provider = serviceProviderRepository.findById(request.getProviderId())
@@ -115,14 +117,14 @@ public class CustomerServiceImpl implements CustomerService {
         // Determine address
         String bookingAddress = request.getAddress();
         if (request.getSavedAddressId() != null) {
-            SavedAddress savedAddress = savedAddressRepository.findById(request.getSavedAddressId())
+            SavedAddress savedAddress = savedAddressRepository.findByIdAndCustomer(request.getSavedAddressId(), customer)
                     .orElseThrow(() -> new ResourceNotFoundException("Saved address not found"));
             bookingAddress = formatAddress(savedAddress);
         }
 
         // Create booking
         Booking booking = Booking.builder()
-                .customer(user)
+                .customer(userRepository.getReferenceById(userId))
                 .provider(provider)
                 .service(service)
                 .bookingDate(request.getBookingDate())
@@ -133,76 +135,70 @@ public class CustomerServiceImpl implements CustomerService {
                 .status(BookingStatus.PENDING)
                 .build();
 
+        // Customer stats follow from the booking's CREATED event (BookingCounterConsumer)
         booking = bookingRepository.save(booking);
 
-        // Update customer stats
-        customer.setTotalBookings(customer.getTotalBookings() + 1);
-        customerRepository.save(customer);
-
-        return buildBookingResponse(booking);
+        return buildBookingResponse(booking, null);
     }
 
     @Override
-    public List<CustomerBookingResponse> getBookings(String email) {
-        User user = getUserByEmail(email);
+    public List<CustomerBookingResponse> getBookings(Long userId) {
+        User user = userRepository.getReferenceById(userId);
         List<Booking> bookings = bookingRepository.findByCustomerOrderByBookingDateDescBookingTimeDesc(user);
-        return bookings.stream()
-                .map(this::buildBookingResponse)
-                .collect(Collectors.toList());
+        return buildBookingResponses(bookings);
     }
 
     @Override
-    public List<CustomerBookingResponse> getUpcomingBookings(String email) {
-        User user = getUserByEmail(email);
+    public List<CustomerBookingResponse> getUpcomingBookings(Long userId) {
+        User user = userRepository.getReferenceById(userId);
         List<Booking> bookings = bookingRepository.findByCustomerOrderByBookingDateDescBookingTimeDesc(user);
         
         LocalDate today = LocalDate.now();
-        return bookings.stream()
+        return buildBookingResponses(bookings.stream()
                 .filter(b -> !b.getBookingDate().isBefore(today) && 
                         (b.getStatus() == BookingStatus.PENDING || b.getStatus() == BookingStatus.CONFIRMED))
-                .map(this::buildBookingResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
-    public List<CustomerBookingResponse> getPastBookings(String email) {
-        User user = getUserByEmail(email);
+    public List<CustomerBookingResponse> getPastBookings(Long userId) {
+        User user = userRepository.getReferenceById(userId);
         List<Booking> bookings = bookingRepository.findByCustomerOrderByBookingDateDescBookingTimeDesc(user);
         
         LocalDate today = LocalDate.now();
-        return bookings.stream()
+        return buildBookingResponses(bookings.stream()
                 .filter(b -> b.getBookingDate().isBefore(today) || 
                         b.getStatus() == BookingStatus.COMPLETED || 
                         b.getStatus() == BookingStatus.CANCELLED)
-                .map(this::buildBookingResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
-    public CustomerBookingResponse getBookingById(String email, Long bookingId) {
-        User user = getUserByEmail(email);
+    public CustomerBookingResponse getBookingById(Long userId, Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
 
         // Verify booking belongs to customer
-        if (!booking.getCustomer().getId().equals(user.getId())) {
+        if (!booking.getCustomer().getId().equals(userId)) {
             throw new BadRequestException("Booking does not belong to this customer");
         }
 
-        return buildBookingResponse(booking);
+        BookingRating review = reviewRepository.findRatingsByBookingIds(List.of(bookingId)).stream()
+                .findFirst()
+                .orElse(null);
+        return buildBookingResponse(booking, review);
     }
 
     @Override
     @Transactional
-    public CustomerBookingResponse cancelBooking(String email, Long bookingId, String reason) {
-        User user = getUserByEmail(email);
-        Customer customer = getCustomerByUser(user);
+    public CustomerBookingResponse cancelBooking(Long userId, Long customerId, Long bookingId, String reason) {
+        requireCustomerId(customerId);
         
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
 
         // Verify booking belongs to customer
-        if (!booking.getCustomer().getId().equals(user.getId())) {
+        if (!booking.getCustomer().getId().equals(userId)) {
             throw new BadRequestException("Booking does not belong to this customer");
         }
 
@@ -219,25 +215,21 @@ public class CustomerServiceImpl implements CustomerService {
         booking.setCancellationReason(reason);
         bookingRepository.save(booking);
 
-        // Update customer stats
-        customer.setCancelledBookings(customer.getCancelledBookings() + 1);
-        customerRepository.save(customer);
-
-        return buildBookingResponse(booking);
+        // Only completed bookings can be reviewed
+        return buildBookingResponse(booking, null);
     }
 
     // ==================== REVIEWS ====================
 
     @Override
     @Transactional
-    public ReviewResponse createReview(String email, CreateReviewRequest request) {
-        User user = getUserByEmail(email);
+    public ReviewResponse createReview(Long userId, CreateReviewRequest request) {
 
         Booking booking = bookingRepository.findById(request.getBookingId())
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
 
         // Verify booking belongs to customer
-        if (!booking.getCustomer().getId().equals(user.getId())) {
+        if (!booking.getCustomer().getId().equals(userId)) {
             throw new BadRequestException("Booking does not belong to this customer");
         }
 
@@ -251,10 +243,14 @@ public class CustomerServiceImpl implements CustomerService {
             throw new BadRequestException("You have already reviewed this booking");
         }
 
+        // Lock the provider row so concurrent reviews each land in its rating histogram
+        ServiceProvider provider = serviceProviderRepository.findByIdForUpdate(booking.getProvider().getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Provider not found"));
+
         Review review = Review.builder()
                 .booking(booking)
-                .customer(user)
-                .provider(booking.getProvider())
+                .customer(booking.getCustomer())
+                .provider(provider)
                 .rating(request.getRating())
                 .comment(request.getComment())
                 .build();
@@ -262,15 +258,14 @@ public class CustomerServiceImpl implements CustomerService {
         review = reviewRepository.save(review);
 
         // Update provider stats
-        ServiceProvider provider = booking.getProvider();
-        updateProviderRating(provider);
+        provider.recordRating(review.getRating());
 
         return buildReviewResponse(review);
     }
 
     @Override
-    public List<ReviewResponse> getMyReviews(String email) {
-        User user = getUserByEmail(email);
+    public List<ReviewResponse> getMyReviews(Long userId) {
+        User user = userRepository.getReferenceById(userId);
         List<Review> reviews = reviewRepository.findByCustomerOrderByCreatedAtDesc(user);
         return reviews.stream()
                 .map(this::buildReviewResponse)
@@ -280,9 +275,8 @@ public class CustomerServiceImpl implements CustomerService {
     // ==================== SAVED ADDRESSES ====================
 
     @Override
-    public List<SavedAddressResponse> getSavedAddresses(String email) {
-        User user = getUserByEmail(email);
-        Customer customer = getCustomerByUser(user);
+    public List<SavedAddressResponse> getSavedAddresses(Long customerId) {
+        Customer customer = getCustomerReference(customerId);
         List<SavedAddress> addresses = savedAddressRepository.findByCustomerOrderByIsDefaultDescCreatedAtDesc(customer);
         return addresses.stream()
                 .map(this::buildAddressResponse)
@@ -291,9 +285,8 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional
-    public SavedAddressResponse addSavedAddress(String email, SavedAddressRequest request) {
-        User user = getUserByEmail(email);
-        Customer customer = getCustomerByUser(user);
+    public SavedAddressResponse addSavedAddress(Long customerId, SavedAddressRequest request) {
+        Customer customer = getCustomerReference(customerId);
 
         // If this is set as default, unset other defaults
         if (Boolean.TRUE.equals(request.getIsDefault())) {
@@ -319,9 +312,8 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional
-    public SavedAddressResponse updateSavedAddress(String email, Long addressId, SavedAddressRequest request) {
-        User user = getUserByEmail(email);
-        Customer customer = getCustomerByUser(user);
+    public SavedAddressResponse updateSavedAddress(Long customerId, Long addressId, SavedAddressRequest request) {
+        Customer customer = getCustomerReference(customerId);
 
         SavedAddress address = savedAddressRepository.findByIdAndCustomer(addressId, customer)
                 .orElseThrow(() -> new ResourceNotFoundException("Address not found"));
@@ -352,9 +344,8 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional
-    public void deleteSavedAddress(String email, Long addressId) {
-        User user = getUserByEmail(email);
-        Customer customer = getCustomerByUser(user);
+    public void deleteSavedAddress(Long customerId, Long addressId) {
+        Customer customer = getCustomerReference(customerId);
 
         SavedAddress address = savedAddressRepository.findByIdAndCustomer(addressId, customer)
                 .orElseThrow(() -> new ResourceNotFoundException("Address not found"));
@@ -374,9 +365,8 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional
-    public void setDefaultAddress(String email, Long addressId) {
-        User user = getUserByEmail(email);
-        Customer customer = getCustomerByUser(user);
+    public void setDefaultAddress(Long customerId, Long addressId) {
+        Customer customer = getCustomerReference(customerId);
 
         SavedAddress address = savedAddressRepository.findByIdAndCustomer(addressId, customer)
                 .orElseThrow(() -> new ResourceNotFoundException("Address not found"));
@@ -388,13 +378,20 @@ public class CustomerServiceImpl implements CustomerService {
 
     // ==================== HELPER METHODS ====================
 
-    private User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    private Long requireCustomerId(Long customerId) {
+        // Null for principals without a customer profile (e.g. admins)
+        if (customerId == null) {
+            throw new ResourceNotFoundException("Customer profile not found");
+        }
+        return customerId;
     }
 
-    private Customer getCustomerByUser(User user) {
-        return customerRepository.findByUser(user)
+    private Customer getCustomerReference(Long customerId) {
+        return customerRepository.getReferenceById(requireCustomerId(customerId));
+    }
+
+    private Customer getCustomerWithUser(Long customerId) {
+        return customerRepository.findByIdWithUser(requireCustomerId(customerId))
                 .orElseThrow(() -> new ResourceNotFoundException("Customer profile not found"));
     }
 
@@ -416,21 +413,26 @@ public class CustomerServiceImpl implements CustomerService {
                 .build();
     }
 
-    private CustomerBookingResponse buildBookingResponse(Booking booking) {
+    private List<CustomerBookingResponse> buildBookingResponses(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+
+        // Review ratings for the whole list in one query
+        Map<Long, BookingRating> reviews = reviewRepository.findRatingsByBookingIds(
+                        bookings.stream().map(Booking::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(BookingRating::bookingId, Function.identity()));
+
+        return bookings.stream()
+                .map(b -> buildBookingResponse(b, reviews.get(b.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private CustomerBookingResponse buildBookingResponse(Booking booking, BookingRating review) {
         ServiceProvider provider = booking.getProvider();
         ProviderService service = booking.getService();
         User providerUser = provider.getUser();
 
-        // Check if has review
-        Boolean hasReview = reviewRepository.existsByBookingId(booking.getId());
-        Integer reviewRating = null;
-        if (hasReview) {
-            Review review = reviewRepository.findByBookingId(booking.getId()).orElse(null);
-            if (review != null) {
-                reviewRating = review.getRating();
-            }
-        }
-
         return CustomerBookingResponse.builder()
                 .id(booking.getId())
                 .providerId(provider.getId())
@@ -454,8 +456,8 @@ public class CustomerServiceImpl implements CustomerService {
                 .completedAt(booking.getCompletedAt())
                 .cancelledAt(booking.getCancelledAt())
                 .cancellationReason(booking.getCancellationReason())
-                .hasReview(hasReview)
-                .reviewRating(reviewRating)
+                .hasReview(review != null)
+                .reviewRating(review != null ? review.rating() : null)
                 .build();
     }
 
@@ -505,15 +507,4 @@ public class CustomerServiceImpl implements CustomerService {
                     savedAddressRepository.save(addr);
                 });
     }
-
-    private void updateProviderRating(ServiceProvider provider) {
-        Double avgRating = reviewRepository.getAverageRatingByProvider(provider);
-        long reviewCount = reviewRepository.countByProvider(provider);
-        
-        if (avgRating != null) {
-            provider.setAverageRating(java.math.BigDecimal.valueOf(avgRating));
-        }
-        provider.setTotalReviews((int) reviewCount);
-        serviceProviderRepository.save(provider);
-    }
 }
@@ -1,10 +1,15 @@
 package com.quickserve.backend.serviceImpl;
 
+import com.quickserve.backend.dto.request.BulkBookingStatusRequest;
 import com.quickserve.backend.dto.request.CreateServiceRequest;
+import com.quickserve.backend.dto.request.ProviderBookingQuery;
 import com.quickserve.backend.dto.request.UpdateBookingStatusRequest;
 import com.quickserve.backend.dto.request.UpdateProfileRequest;
 import com.quickserve.backend.dto.request.UpdateServiceRequest;
+import com.quickserve.backend.dto.response.BookingPageResponse;
 import com.quickserve.backend.dto.response.BookingResponse;
+import com.quickserve.backend.dto.response.BookingSummaryResponse;
+import com.quickserve.backend.dto.response.BulkBookingStatusResponse;
 import com.quickserve.backend.dto.response.DashboardStatsResponse;
 import com.quickserve.backend.dto.response.ProviderProfileResponse;
 import com.quickserve.backend.dto.response.ProviderServiceResponse;
@@ -15,44 +20,79 @@ import com.quickserve.backend.model.enums.BookingStatus;
 import com.quickserve.backend.model.enums.DayOfWeek;
 import com.quickserve.backend.model.enums.ServiceCategory;
 import com.quickserve.backend.repository.*;
+import com.quickserve.backend.repository.projection.ProviderBookingRow;
 import com.quickserve.backend.service.ProviderDashboardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ProviderDashboardServiceImpl implements ProviderDashboardService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    // A change stamped this recently may belong to a transaction that has not committed yet, so the
+    // incremental cursor stays behind it and such rows are sent again on the next poll
+    private static final Duration COMMIT_LAG = Duration.ofSeconds(30);
+    // Open ends of a booking date range, within MySQL's DATE range
+    private static final LocalDate MIN_BOOKING_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate MAX_BOOKING_DATE = LocalDate.of(9999, 12, 31);
+
     private final UserRepository userRepository;
     private final ServiceProviderRepository providerRepository;
     private final ProviderServiceRepository serviceRepository;
     private final BookingRepository bookingRepository;
     private final WorkingHoursRepository workingHoursRepository;
 
-    private ServiceProvider getProviderByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
-        ServiceProvider provider = providerRepository.findByUser(user)
+    private Long requireProviderId(Long providerId) {
+        // Null for principals without a provider profile (e.g. admins)
+        if (providerId == null) {
+            throw new ResourceNotFoundException("Provider profile not found");
+        }
+        return providerId;
+    }
+
+    private ServiceProvider getProvider(Long providerId) {
+        return providerRepository.findById(requireProviderId(providerId))
                 .orElseThrow(() -> new ResourceNotFoundException("Provider profile not found"));
-        
-        return provider;
+    }
+
+    private ServiceProvider getProviderWithUser(Long providerId) {
+        return providerRepository.findByIdWithUser(requireProviderId(providerId))
+                .orElseThrow(() -> new ResourceNotFoundException("Provider profile not found"));
+    }
+
+    private ServiceProvider getProviderReference(Long providerId) {
+        return providerRepository.getReferenceById(requireProviderId(providerId));
     }
 
     @Override
-    public DashboardStatsResponse getDashboardStats(String email) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public DashboardStatsResponse getDashboardStats(Long providerId) {
+        ServiceProvider provider = getProvider(providerId);
         
         LocalDateTime weekAgo = LocalDateTime.now().minusWeeks(1);
         LocalDateTime twoWeeksAgo = LocalDateTime.now().minusWeeks(2);
@@ -100,7 +140,7 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
                 .todayBookings(todayBookings)
                 .averageRating(avgRating)
                 .totalReviews(totalReviews)
-                .profileViews(provider.getProfileViewsSafe())
+                .profileViews(providerRepository.findProfileViewsById(provider.getId()).orElse(0))
                 .activeServices((int) activeServices)
                 .earningsTrend(earningsTrend)
                 .bookingsTrend(bookingsTrend)
@@ -121,8 +161,8 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
     }
 
     @Override
-    public ProviderProfileResponse getProfile(String email) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public ProviderProfileResponse getProfile(Long providerId) {
+        ServiceProvider provider = getProviderWithUser(providerId);
         User user = provider.getUser();
         
         return buildProfileResponse(provider, user);
@@ -198,8 +238,8 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
 
     @Override
     @Transactional
-    public ProviderProfileResponse updateProfile(String email, UpdateProfileRequest request) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public ProviderProfileResponse updateProfile(Long providerId, UpdateProfileRequest request) {
+        ServiceProvider provider = getProviderWithUser(providerId);
         User user = provider.getUser();
         
         // Update user fields
@@ -241,7 +281,7 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
         if (request.getSecondaryServices() != null) {
             provider.setSecondaryServices(request.getSecondaryServices().stream()
                     .map(ServiceCategory::valueOf)
-                    .collect(Collectors.toList()));
+                    .collect(Collectors.toSet()));
         }
         if (request.getLanguages() != null) {
             provider.setLanguages(request.getLanguages());
@@ -250,35 +290,13 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
             provider.setSkills(request.getSkills());
         }
         
-        // Update certifications
+        // Certifications and working hours are diffed against what is loaded; the resulting inserts,
+        // updates and deletes are flushed as JDBC batches (hibernate.jdbc.batch_size)
         if (request.getCertifications() != null) {
-            provider.getCertifications().clear();
-            for (UpdateProfileRequest.CertificationDto certDto : request.getCertifications()) {
-                Certification cert = Certification.builder()
-                        .provider(provider)
-                        .name(certDto.getName())
-                        .issuer(certDto.getIssuer())
-                        .year(certDto.getYear())
-                        .build();
-                provider.getCertifications().add(cert);
-            }
+            updateCertifications(provider, request.getCertifications());
         }
-        
-        // Update working hours
         if (request.getWorkingHours() != null) {
-            for (Map.Entry<String, UpdateProfileRequest.WorkingHoursDto> entry : request.getWorkingHours().entrySet()) {
-                DayOfWeek day = DayOfWeek.valueOf(entry.getKey().toUpperCase());
-                UpdateProfileRequest.WorkingHoursDto hoursDto = entry.getValue();
-                
-                WorkingHours workingHours = workingHoursRepository.findByProviderAndDayOfWeek(provider, day)
-                        .orElse(WorkingHours.builder().provider(provider).dayOfWeek(day).build());
-                
-                workingHours.setOpenTime(LocalTime.parse(hoursDto.getOpen()));
-                workingHours.setCloseTime(LocalTime.parse(hoursDto.getClose()));
-                workingHours.setIsOpen(hoursDto.getIsOpen());
-                
-                workingHoursRepository.save(workingHours);
-            }
+            updateWorkingHours(provider, request.getWorkingHours());
         }
         
         userRepository.save(user);
@@ -287,17 +305,79 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
         return buildProfileResponse(provider, user);
     }
 
+    // Unchanged certifications are kept, the rest deleted and new ones inserted
+    private void updateCertifications(ServiceProvider provider, List<UpdateProfileRequest.CertificationDto> requested) {
+        List<UpdateProfileRequest.CertificationDto> toInsert = new ArrayList<>(requested);
+        Iterator<Certification> certifications = provider.getCertifications().iterator();
+        while (certifications.hasNext()) {
+            Certification cert = certifications.next();
+            int match = -1;
+            for (int i = 0; i < toInsert.size() && match < 0; i++) {
+                UpdateProfileRequest.CertificationDto dto = toInsert.get(i);
+                if (Objects.equals(dto.getName(), cert.getName()) && Objects.equals(dto.getIssuer(), cert.getIssuer())
+                        && Objects.equals(dto.getYear(), cert.getYear())) {
+                    match = i;
+                }
+            }
+            if (match >= 0) {
+                toInsert.remove(match);
+            } else {
+                certifications.remove();
+            }
+        }
+        for (UpdateProfileRequest.CertificationDto certDto : toInsert) {
+            provider.getCertifications().add(Certification.builder()
+                    .provider(provider)
+                    .name(certDto.getName())
+                    .issuer(certDto.getIssuer())
+                    .year(certDto.getYear())
+                    .build());
+        }
+    }
+
+    // Days in the request are inserted or updated, a day sent as null is removed, other days are left alone
+    private void updateWorkingHours(ServiceProvider provider, Map<String, UpdateProfileRequest.WorkingHoursDto> requested) {
+        Map<DayOfWeek, WorkingHours> existing = new EnumMap<>(DayOfWeek.class);
+        for (WorkingHours hours : provider.getWorkingHours()) {
+            existing.put(hours.getDayOfWeek(), hours);
+        }
+        for (Map.Entry<String, UpdateProfileRequest.WorkingHoursDto> entry : requested.entrySet()) {
+            DayOfWeek day;
+            try {
+                day = DayOfWeek.valueOf(entry.getKey().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid day of week: " + entry.getKey());
+            }
+            UpdateProfileRequest.WorkingHoursDto hoursDto = entry.getValue();
+            WorkingHours workingHours = existing.get(day);
+            if (hoursDto == null) {
+                if (workingHours != null) {
+                    provider.getWorkingHours().remove(workingHours);
+                }
+                continue;
+            }
+            if (workingHours == null) {
+                workingHours = WorkingHours.builder().provider(provider).dayOfWeek(day).build();
+                provider.getWorkingHours().add(workingHours);
+            }
+            // Setting equal values leaves the row clean, so unchanged days are not updated
+            workingHours.setOpenTime(hoursDto.getOpen() != null ? LocalTime.parse(hoursDto.getOpen()) : null);
+            workingHours.setCloseTime(hoursDto.getClose() != null ? LocalTime.parse(hoursDto.getClose()) : null);
+            workingHours.setIsOpen(Boolean.TRUE.equals(hoursDto.getIsOpen()));
+        }
+    }
+
     @Override
     @Transactional
-    public void updateAvailability(String email, boolean available) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public void updateAvailability(Long providerId, boolean available) {
+        ServiceProvider provider = getProvider(providerId);
         provider.setAvailable(available);
         providerRepository.save(provider);
     }
 
     @Override
-    public List<ProviderServiceResponse> getServices(String email) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public List<ProviderServiceResponse> getServices(Long providerId) {
+        ServiceProvider provider = getProviderReference(providerId);
         return serviceRepository.findByProviderOrderByCreatedAtDesc(provider).stream()
                 .map(this::mapToServiceResponse)
                 .collect(Collectors.toList());
@@ -318,8 +398,8 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
 
     @Override
     @Transactional
-    public ProviderServiceResponse createService(String email, CreateServiceRequest request) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public ProviderServiceResponse createService(Long providerId, CreateServiceRequest request) {
+        ServiceProvider provider = getProviderReference(providerId);
         
         ProviderService service = ProviderService.builder()
                 .provider(provider)
@@ -337,13 +417,13 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
 
     @Override
     @Transactional
-    public ProviderServiceResponse updateService(String email, Long serviceId, UpdateServiceRequest request) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public ProviderServiceResponse updateService(Long providerId, Long serviceId, UpdateServiceRequest request) {
+        requireProviderId(providerId);
         
         ProviderService service = serviceRepository.findById(serviceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
         
-        if (!service.getProvider().getId().equals(provider.getId())) {
+        if (!service.getProvider().getId().equals(providerId)) {
             throw new BadRequestException("You can only update your own services");
         }
         
@@ -372,13 +452,13 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
 
     @Override
     @Transactional
-    public void deleteService(String email, Long serviceId) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public void deleteService(Long providerId, Long serviceId) {
+        requireProviderId(providerId);
         
         ProviderService service = serviceRepository.findById(serviceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
         
-        if (!service.getProvider().getId().equals(provider.getId())) {
+        if (!service.getProvider().getId().equals(providerId)) {
             throw new BadRequestException("You can only delete your own services");
         }
         
@@ -387,13 +467,13 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
 
     @Override
     @Transactional
-    public void toggleServiceStatus(String email, Long serviceId) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public void toggleServiceStatus(Long providerId, Long serviceId) {
+        requireProviderId(providerId);
         
         ProviderService service = serviceRepository.findById(serviceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found"));
         
-        if (!service.getProvider().getId().equals(provider.getId())) {
+        if (!service.getProvider().getId().equals(providerId)) {
             throw new BadRequestException("You can only modify your own services");
         }
         
@@ -402,16 +482,129 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
     }
 
     @Override
-    public List<BookingResponse> getBookings(String email) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public List<BookingResponse> getBookings(Long providerId) {
+        ServiceProvider provider = getProviderReference(providerId);
         return bookingRepository.findByProviderOrderByBookingDateDescBookingTimeDesc(provider).stream()
                 .map(this::mapToBookingResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<BookingResponse> getUpcomingBookings(String email) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public BookingPageResponse getBookings(Long providerId, ProviderBookingQuery query) {
+        Long id = requireProviderId(providerId);
+        int limit = query.getLimit() == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(query.getLimit(), 1), MAX_PAGE_SIZE);
+        // One extra row tells whether another page follows
+        PageRequest page = PageRequest.of(0, limit + 1);
+
+        if (query.getSince() != null) {
+            if (query.getStatus() != null || query.getFrom() != null || query.getTo() != null) {
+                throw new BadRequestException("'since' returns every changed booking and cannot be combined with status or date filters");
+            }
+            String[] position = query.getCursor() != null ? decodeCursor(query.getCursor(), 2) : null;
+            LocalDateTime since = position != null ? parseCursor(position[0], LocalDateTime::parse) : query.getSince();
+            Long afterId = position != null ? parseCursor(position[1], Long::valueOf) : Long.MAX_VALUE;
+
+            List<ProviderBookingRow> rows = bookingRepository.findChangedByProvider(id, since, afterId, page);
+            boolean hasMore = rows.size() > limit;
+            rows = hasMore ? rows.subList(0, limit) : rows;
+            // Always hand back a position, so the client can ask again later for newer changes. It only
+            // moves past rows older than the commit lag; a booking whose transaction commits late can be
+            // stamped before rows already seen, and is still picked up on a later poll.
+            LocalDateTime settled = LocalDateTime.now().minus(COMMIT_LAG);
+            ProviderBookingRow last = null;
+            for (ProviderBookingRow row : rows) {
+                if (!row.updatedAt().isBefore(settled)) {
+                    // Everything after this row is recent too; the next poll reads it again
+                    hasMore = false;
+                    break;
+                }
+                last = row;
+            }
+            String nextCursor = last != null ? encodeCursor(last.updatedAt(), last.id()) : encodeCursor(since, afterId);
+            return toBookingPage(rows, nextCursor, hasMore);
+        }
+
+        EnumSet<BookingStatus> statuses = EnumSet.allOf(BookingStatus.class);
+        if (query.getStatus() != null && !query.getStatus().isEmpty()) {
+            statuses = EnumSet.noneOf(BookingStatus.class);
+            for (String status : query.getStatus()) {
+                try {
+                    statuses.add(BookingStatus.valueOf(status.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    throw new BadRequestException("Invalid booking status: " + status);
+                }
+            }
+        }
+        LocalDate from = query.getFrom() != null ? query.getFrom() : MIN_BOOKING_DATE;
+        LocalDate to = query.getTo() != null ? query.getTo() : MAX_BOOKING_DATE;
+        if (from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+
+        String[] position = query.getCursor() != null ? decodeCursor(query.getCursor(), 3) : null;
+        LocalDate date = position != null ? parseCursor(position[0], LocalDate::parse) : MAX_BOOKING_DATE;
+        LocalTime time = position != null ? parseCursor(position[1], LocalTime::parse) : LocalTime.MAX;
+        Long beforeId = position != null ? parseCursor(position[2], Long::valueOf) : Long.MAX_VALUE;
+
+        List<ProviderBookingRow> rows = bookingRepository.findPageByProvider(
+                id, statuses, from, to, date, time, beforeId, page);
+        boolean hasMore = rows.size() > limit;
+        rows = hasMore ? rows.subList(0, limit) : rows;
+        ProviderBookingRow last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        return toBookingPage(rows, hasMore ? encodeCursor(last.date(), last.time(), last.id()) : null, hasMore);
+    }
+
+    private BookingPageResponse toBookingPage(List<ProviderBookingRow> rows, String nextCursor, boolean hasMore) {
+        List<BookingSummaryResponse> bookings = rows.stream()
+                .map(row -> BookingSummaryResponse.builder()
+                        .id(row.id())
+                        .customer(row.customer())
+                        .service(row.service())
+                        .serviceId(row.serviceId())
+                        .date(row.date())
+                        .time(row.time())
+                        .status(row.status().name().toLowerCase())
+                        .price(row.price())
+                        .updatedAt(row.updatedAt())
+                        .build())
+                .collect(Collectors.toList());
+        return BookingPageResponse.builder()
+                .bookings(bookings)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Cursors are the sort key of the last row returned, opaque to clients
+    private static String encodeCursor(Object... parts) {
+        String joined = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, int parts) {
+        String[] position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (position.length != parts) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        return position;
+    }
+
+    private static <T> T parseCursor(String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    @Override
+    public List<BookingResponse> getUpcomingBookings(Long providerId) {
+        ServiceProvider provider = getProviderReference(providerId);
         return bookingRepository.findUpcomingByProvider(provider, LocalDate.now()).stream()
                 .map(this::mapToBookingResponse)
                 .collect(Collectors.toList());
@@ -438,53 +631,49 @@ public class ProviderDashboardServiceImpl implements ProviderDashboardService {
 
     @Override
     @Transactional
-    public BookingResponse updateBookingStatus(String email, Long bookingId, UpdateBookingStatusRequest request) {
-        ServiceProvider provider = getProviderByEmail(email);
+    public BookingResponse updateBookingStatus(Long providerId, Long bookingId, UpdateBookingStatusRequest request) {
+        requireProviderId(providerId);
         
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
         
-        if (!booking.getProvider().getId().equals(provider.getId())) {
+        if (!booking.getProvider().getId().equals(providerId)) {
             throw new BadRequestException("You can only update your own bookings");
         }
         
-        BookingStatus newStatus = BookingStatus.valueOf(request.getStatus().toUpperCase());
+        BookingStatus newStatus = BookingTransitions.parseStatus(request.getStatus());
         BookingStatus currentStatus = booking.getStatus();
         
         // Validate status transition
         validateStatusTransition(currentStatus, newStatus);
         
-        booking.setStatus(newStatus);
-        
-        switch (newStatus) {
-            case CONFIRMED:
-                booking.setConfirmedAt(LocalDateTime.now());
-                break;
-            case COMPLETED:
-                booking.setCompletedAt(LocalDateTime.now());
-                // Update provider stats
-                provider.setCompletedJobs(provider.getCompletedJobsSafe() + 1);
-                providerRepository.save(provider);
-                break;
-            case CANCELLED:
-                booking.setCancelledAt(LocalDateTime.now());
-                booking.setCancellationReason(request.getCancellationReason());
-                break;
-        }
+        // Completed jobs and customer counts follow from the booking event (BookingCounterConsumer)
+        BookingTransitions.apply(booking, newStatus, request.getCancellationReason(), LocalDateTime.now());
         
         booking = bookingRepository.save(booking);
         return mapToBookingResponse(booking);
     }
 
+    @Override
+    @Transactional
+    public BulkBookingStatusResponse updateBookingStatuses(Long providerId, BulkBookingStatusRequest request) {
+        requireProviderId(providerId);
+        BookingStatus newStatus = BookingTransitions.parseStatus(request.getStatus());
+        List<Long> updated = BookingTransitions.applyAll(bookingRepository, request.getBookingIds(), newStatus,
+                request.getCancellationReason(), booking -> {
+                    if (!booking.getProvider().getId().equals(providerId)) {
+                        throw new BadRequestException("You can only update your own bookings");
+                    }
+                });
+        return BulkBookingStatusResponse.builder()
+                .status(newStatus.name().toLowerCase())
+                .updated(updated.size())
+                .bookingIds(updated)
+                .build();
+    }
+
     private void validateStatusTransition(BookingStatus from, BookingStatus to) {
-        boolean valid = switch (from) {
-            case PENDING -> to == BookingStatus.CONFIRMED || to == BookingStatus.CANCELLED;
-            case CONFIRMED -> to == BookingStatus.COMPLETED || to == BookingStatus.CANCELLED || to == BookingStatus.IN_PROGRESS;
-            case IN_PROGRESS -> to == BookingStatus.COMPLETED || to == BookingStatus.CANCELLED;
-            default -> false;
-        };
-        
-        if (!valid) {
+        if (!from.canTransitionTo(to)) {
             throw new BadRequestException("Invalid status transition from " + from + " to " + to);
         }
     }
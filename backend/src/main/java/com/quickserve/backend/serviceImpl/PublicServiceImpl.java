@@ -1,5 +1,7 @@
 package com.quickserve.backend.serviceImpl;
 
+import com.quickserve.backend.config.cache.ProfileViewBuffer;
+import com.quickserve.backend.config.concurrency.FanOut;
 import com.quickserve.backend.dto.response.customer.ReviewResponse;
 import com.quickserve.backend.dto.response.publicdto.ProviderDetailResponse;
 import com.quickserve.backend.dto.response.publicdto.ProviderListResponse;
@@ -16,6 +18,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -23,13 +27,14 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 @Slf4j
 public class PublicServiceImpl implements PublicService {
 
     private final ServiceProviderRepository serviceProviderRepository;
-    private final ProviderServiceRepository providerServiceRepository;
     private final ReviewRepository reviewRepository;
-    private final WorkingHoursRepository workingHoursRepository;
+    private final FanOut fanOut;
+    private final ProfileViewBuffer profileViewBuffer;
 
     @Override
     public List<ServiceCategoryResponse> getAllCategories() {
@@ -60,22 +65,19 @@ public class PublicServiceImpl implements PublicService {
             int page,
             int size) {
 
-        // Get all available providers (isAvailable = true)
+        // Get available providers (isAvailable = true), narrowed to the category in the query
         // Note: Providers need to have isAvailable = true to appear in search results
-        List<ServiceProvider> providers = serviceProviderRepository.findByIsAvailableTrue();
-
-        // Filter by category
+        ServiceCategory cat = null;
         if (category != null && !category.isEmpty() && !category.equalsIgnoreCase("All")) {
             try {
-                ServiceCategory cat = ServiceCategory.valueOf(category.toUpperCase().replace(" ", "_"));
-                providers = providers.stream()
-                        .filter(p -> p.getPrimaryService() == cat || 
-                                (p.getSecondaryServices() != null && p.getSecondaryServices().contains(cat)))
-                        .collect(Collectors.toList());
+                cat = ServiceCategory.valueOf(category.toUpperCase().replace(" ", "_"));
             } catch (IllegalArgumentException e) {
                 log.warn("Invalid category: {}", category);
             }
         }
+        List<ServiceProvider> providers = cat != null
+                ? serviceProviderRepository.findAvailableByCategory(cat)
+                : serviceProviderRepository.findByIsAvailableTrue();
 
         // Filter by city
         if (city != null && !city.isEmpty()) {
@@ -91,8 +93,7 @@ public class PublicServiceImpl implements PublicService {
                     .filter(p -> {
                         String name = p.getUser().getFullName().toLowerCase();
                         String primarySvc = p.getPrimaryService().getDisplayName().toLowerCase();
-                        List<ProviderService> services = providerServiceRepository.findByProviderAndActiveTrue(p);
-                        boolean matchesServiceName = services.stream()
+                        boolean matchesServiceName = getActiveServices(p).stream()
                                 .anyMatch(s -> s.getName().toLowerCase().contains(searchLower));
                         return name.contains(searchLower) || 
                                primarySvc.contains(searchLower) || 
@@ -145,15 +146,40 @@ public class PublicServiceImpl implements PublicService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProviderDetailResponse getProviderDetails(Long providerId) {
-        ServiceProvider provider = serviceProviderRepository.findById(providerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Provider not found"));
-
-        // Increment view count (handle null for existing records)
-        provider.setProfileViews(provider.getProfileViewsSafe() + 1);
-        serviceProviderRepository.save(provider);
+        // Each part loads on its own connection, so the page takes as long as the slowest part
+        try (FanOut.Scope scope = fanOut.open()) {
+            FanOut.Task<ProviderDetailResponse.ProviderDetailResponseBuilder> profile =
+                    scope.fork(() -> buildProfile(findProvider(providerId))
+                            .profileViews(serviceProviderRepository.findProfileViewsById(providerId).orElse(0)));
+            FanOut.Task<List<ProviderDetailResponse.ServiceInfo>> services =
+                    scope.fork(() -> buildServiceInfos(findProvider(providerId)));
+            FanOut.Task<Map<String, ProviderDetailResponse.WorkingHoursInfo>> workingHours =
+                    scope.fork(() -> buildWorkingHours(findProvider(providerId)));
+            FanOut.Task<List<ProviderDetailResponse.CertificationInfo>> certifications =
+                    scope.fork(() -> buildCertifications(findProvider(providerId)));
+            FanOut.Task<List<ReviewResponse>> recentReviews = scope.fork(() -> reviewRepository
+                    .findByProviderOrderByCreatedAtDesc(serviceProviderRepository.getReferenceById(providerId),
+                            PageRequest.of(0, 5))
+                    .getContent().stream()
+                    .map(this::buildReviewResponse)
+                    .collect(Collectors.toList()));
+            scope.join();
+
+            return profile.get()
+                    .services(services.get())
+                    .workingHours(workingHours.get())
+                    .certifications(certifications.get())
+                    .recentReviews(recentReviews.get())
+                    .build();
+        }
+    }
 
-        return buildProviderDetailResponse(provider);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void recordProfileView(Long providerId) {
+        profileViewBuffer.record(providerId);
     }
 
     @Override
@@ -171,9 +197,17 @@ public class PublicServiceImpl implements PublicService {
 
     // ==================== HELPER METHODS ====================
 
+    // Read through the provider's collections rather than repository queries so that
+    // repeat views are served from the second-level cache
+    private List<ProviderService> getActiveServices(ServiceProvider provider) {
+        return provider.getServices().stream()
+                .filter(s -> Boolean.TRUE.equals(s.getActive()))
+                .collect(Collectors.toList());
+    }
+
     private ProviderListResponse buildProviderListResponse(ServiceProvider provider) {
         User user = provider.getUser();
-        List<ProviderService> services = providerServiceRepository.findByProviderAndActiveTrue(provider);
+        List<ProviderService> services = getActiveServices(provider);
         
         List<String> serviceNames = services.stream()
                 .map(ProviderService::getName)
@@ -198,15 +232,46 @@ public class PublicServiceImpl implements PublicService {
                 .build();
     }
 
-    private ProviderDetailResponse buildProviderDetailResponse(ServiceProvider provider) {
+    private ServiceProvider findProvider(Long providerId) {
+        return serviceProviderRepository.findById(providerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Provider not found"));
+    }
+
+    private ProviderDetailResponse.ProviderDetailResponseBuilder buildProfile(ServiceProvider provider) {
         User user = provider.getUser();
-        List<ProviderService> services = providerServiceRepository.findByProviderAndActiveTrue(provider);
-        List<WorkingHours> workingHoursList = workingHoursRepository.findByProvider(provider);
-        Page<Review> recentReviews = reviewRepository.findByProviderOrderByCreatedAtDesc(
-                provider, PageRequest.of(0, 5));
+        List<String> secondaryServiceNames = provider.getSecondaryServices().stream()
+                .map(ServiceCategory::getDisplayName)
+                .collect(Collectors.toList());
+
+        return ProviderDetailResponse.builder()
+                .id(provider.getId())
+                .name(user.getFullName())
+                .email(user.getEmail())
+                .phone(user.getPhone())
+                .avatarUrl(user.getProfilePhotoUrl())
+                .bio(provider.getBio())
+                .address(provider.getAddress())
+                .city(provider.getCity())
+                .state(provider.getState())
+                .pincode(provider.getPincode())
+                .serviceRadiusKm(provider.getServiceRadiusKmSafe())
+                .primaryService(provider.getPrimaryService().getDisplayName())
+                .secondaryServices(secondaryServiceNames)
+                .experienceYears(provider.getExperienceYearsSafe())
+                // Copied: the lazy collections cannot be read once this load's session closes
+                .skills(new ArrayList<>(provider.getSkills()))
+                .languages(new ArrayList<>(provider.getLanguages()))
+                .averageRating(provider.getAverageRatingSafe())
+                .totalReviews(provider.getTotalReviewsSafe())
+                .completedJobs(provider.getCompletedJobsSafe())
+                .verified(provider.isAadharVerified())
+                .isAvailable(provider.isAvailable())
+                .memberSince(user.getCreatedAt())
+                .ratingDistribution(provider.getRatings().distribution());
+    }
 
-        // Build services info
-        List<ProviderDetailResponse.ServiceInfo> serviceInfos = services.stream()
+    private List<ProviderDetailResponse.ServiceInfo> buildServiceInfos(ServiceProvider provider) {
+        return getActiveServices(provider).stream()
                 .map(s -> ProviderDetailResponse.ServiceInfo.builder()
                         .id(s.getId())
                         .name(s.getName())
@@ -216,10 +281,11 @@ public class PublicServiceImpl implements PublicService {
                         .durationMinutes(s.getDurationMinutes())
                         .build())
                 .collect(Collectors.toList());
+    }
 
-        // Build working hours map
+    private Map<String, ProviderDetailResponse.WorkingHoursInfo> buildWorkingHours(ServiceProvider provider) {
         Map<String, ProviderDetailResponse.WorkingHoursInfo> workingHoursMap = new HashMap<>();
-        for (WorkingHours wh : workingHoursList) {
+        for (WorkingHours wh : provider.getWorkingHours()) {
             workingHoursMap.put(wh.getDayOfWeek().name(), 
                     ProviderDetailResponse.WorkingHoursInfo.builder()
                             .startTime(wh.getOpenTime() != null ? wh.getOpenTime().toString() : null)
@@ -227,67 +293,17 @@ public class PublicServiceImpl implements PublicService {
                             .isAvailable(wh.getIsOpen())
                             .build());
         }
+        return workingHoursMap;
+    }
 
-        // Build certifications
-        List<ProviderDetailResponse.CertificationInfo> certInfos = provider.getCertifications().stream()
+    private List<ProviderDetailResponse.CertificationInfo> buildCertifications(ServiceProvider provider) {
+        return provider.getCertifications().stream()
                 .map(c -> ProviderDetailResponse.CertificationInfo.builder()
                         .name(c.getName())
                         .issuer(c.getIssuer())
                         .year(c.getYear() != null ? c.getYear().toString() : null)
                         .build())
                 .collect(Collectors.toList());
-
-        // Build rating distribution
-        Map<Integer, Long> ratingDistribution = new HashMap<>();
-        for (int i = 1; i <= 5; i++) {
-            ratingDistribution.put(i, 0L);
-        }
-        List<Object[]> distribution = reviewRepository.getRatingDistributionByProvider(provider);
-        for (Object[] row : distribution) {
-            Integer rating = (Integer) row[0];
-            Long count = (Long) row[1];
-            ratingDistribution.put(rating, count);
-        }
-
-        // Build secondary services
-        List<String> secondaryServiceNames = provider.getSecondaryServices() != null ?
-                provider.getSecondaryServices().stream()
-                        .map(ServiceCategory::getDisplayName)
-                        .collect(Collectors.toList()) :
-                Collections.emptyList();
-
-        return ProviderDetailResponse.builder()
-                .id(provider.getId())
-                .name(user.getFullName())
-                .email(user.getEmail())
-                .phone(user.getPhone())
-                .avatarUrl(user.getProfilePhotoUrl())
-                .bio(provider.getBio())
-                .address(provider.getAddress())
-                .city(provider.getCity())
-                .state(provider.getState())
-                .pincode(provider.getPincode())
-                .serviceRadiusKm(provider.getServiceRadiusKmSafe())
-                .primaryService(provider.getPrimaryService().getDisplayName())
-                .secondaryServices(secondaryServiceNames)
-                .experienceYears(provider.getExperienceYearsSafe())
-                .skills(provider.getSkills())
-                .languages(provider.getLanguages())
-                .certifications(certInfos)
-                .averageRating(provider.getAverageRatingSafe())
-                .totalReviews(provider.getTotalReviewsSafe())
-                .completedJobs(provider.getCompletedJobsSafe())
-                .profileViews(provider.getProfileViewsSafe())
-                .verified(provider.isAadharVerified())
-                .isAvailable(provider.isAvailable())
-                .memberSince(user.getCreatedAt())
-                .workingHours(workingHoursMap)
-                .services(serviceInfos)
-                .recentReviews(recentReviews.getContent().stream()
-                        .map(this::buildReviewResponse)
-                        .collect(Collectors.toList()))
-                .ratingDistribution(ratingDistribution)
-                .build();
     }
 
     private ReviewResponse buildReviewResponse(Review review) {
@@ -0,0 +1,6 @@
+-- Incremental provider booking lists read the bookings changed after a point in time (see
+-- ProviderDashboardServiceImpl.getBookings with since).
+
+-- BookingRepository
+--   findChangedByProvider
+CREATE INDEX idx_bookings_provider_updated ON bookings (provider_id, updated_at);
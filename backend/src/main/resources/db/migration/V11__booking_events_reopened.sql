@@ -0,0 +1,5 @@
+-- A booking moved back to PENDING (an admin override) is recorded as REOPENED, so the counter
+-- consumer can take back the count of the status it left (see BookingCounterConsumer).
+
+ALTER TABLE booking_events MODIFY COLUMN type
+    ENUM ('CANCELLED','COMPLETED','CONFIRMED','CREATED','REOPENED','STARTED') NOT NULL;
@@ -0,0 +1,15 @@
+-- Secondary categories get a mask of their own, so a provider can list their primary category as a
+-- secondary too and keeps it when the primary changes. category_mask stays as the searchable union
+-- (primary | secondary) behind idx_providers_available_categories.
+
+ALTER TABLE service_providers ADD COLUMN secondary_mask BIGINT NOT NULL DEFAULT 0;
+
+-- V4 always set the primary bit and never a secondary equal to the primary, so subtracting the
+-- primary bit leaves exactly the secondaries
+UPDATE service_providers SET secondary_mask = category_mask -
+    CASE primary_service
+        WHEN 'PLUMBING' THEN 1 WHEN 'ELECTRICAL' THEN 2 WHEN 'CLEANING' THEN 4 WHEN 'CARPENTRY' THEN 8
+        WHEN 'PAINTING' THEN 16 WHEN 'HVAC' THEN 32 WHEN 'LANDSCAPING' THEN 64 WHEN 'PEST_CONTROL' THEN 128
+        WHEN 'APPLIANCE_REPAIR' THEN 256 WHEN 'HOME_SECURITY' THEN 512 WHEN 'ROOFING' THEN 1024
+        WHEN 'FLOORING' THEN 2048 ELSE 0
+    END;
@@ -0,0 +1,178 @@
+-- Baseline: the schema Hibernate generated for the entities before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE users (
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    full_name         VARCHAR(255) NOT NULL,
+    email             VARCHAR(255) NOT NULL,
+    phone             VARCHAR(255) NOT NULL,
+    password          VARCHAR(255) NOT NULL,
+    role              ENUM ('ADMIN','CUSTOMER','SERVICE_PROVIDER') NOT NULL,
+    status            ENUM ('ACTIVE','DEACTIVATED','PENDING_VERIFICATION','SUSPENDED') NOT NULL,
+    profile_photo_url VARCHAR(255),
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email),
+    CONSTRAINT UKdu5v5sr43g5bfnji4vb8hg5s3 UNIQUE (phone)
+) ENGINE=InnoDB;
+
+CREATE TABLE customers (
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id            BIGINT       NOT NULL,
+    address            VARCHAR(255) NOT NULL,
+    city               VARCHAR(255) NOT NULL,
+    state              VARCHAR(255) NOT NULL,
+    pincode            VARCHAR(255) NOT NULL,
+    latitude           FLOAT(53),
+    longitude          FLOAT(53),
+    total_bookings     INTEGER,
+    completed_bookings INTEGER,
+    cancelled_bookings INTEGER,
+    created_at         DATETIME(6),
+    updated_at         DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UKeuat1oase6eqv195jvb71a93s UNIQUE (user_id),
+    CONSTRAINT FKrh1g1a20omjmn6kurd35o3eit FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE saved_addresses (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    customer_id BIGINT       NOT NULL,
+    label       VARCHAR(255) NOT NULL,
+    address     VARCHAR(255) NOT NULL,
+    city        VARCHAR(255) NOT NULL,
+    state       VARCHAR(255) NOT NULL,
+    pincode     VARCHAR(255) NOT NULL,
+    latitude    FLOAT(53),
+    longitude   FLOAT(53),
+    is_default  BIT,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKqrpumcj3aipw1nb9ieb03bu1b FOREIGN KEY (customer_id) REFERENCES customers (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE service_providers (
+    id                BIGINT        NOT NULL AUTO_INCREMENT,
+    user_id           BIGINT        NOT NULL,
+    aadhar_number     VARCHAR(255)  NOT NULL,
+    aadhar_verified   BIT           NOT NULL,
+    address           VARCHAR(255)  NOT NULL,
+    city              VARCHAR(255)  NOT NULL,
+    state             VARCHAR(255)  NOT NULL,
+    pincode           VARCHAR(255)  NOT NULL,
+    primary_service   ENUM ('APPLIANCE_REPAIR','CARPENTRY','CLEANING','ELECTRICAL','FLOORING','HOME_SECURITY',
+                            'HVAC','LANDSCAPING','PAINTING','PEST_CONTROL','PLUMBING','ROOFING') NOT NULL,
+    experience_years  INTEGER       NOT NULL,
+    service_radius_km INTEGER       NOT NULL,
+    hourly_rate       DECIMAL(10,2),
+    bio               VARCHAR(1000),
+    average_rating    DECIMAL(3,2),
+    total_reviews     INTEGER,
+    completed_jobs    INTEGER,
+    profile_views     INTEGER,
+    is_available      BIT           NOT NULL,
+    is_verified       BIT           NOT NULL,
+    created_at        DATETIME(6),
+    updated_at        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UK6mfuq2q3as7jdahj01wbkpmuu UNIQUE (user_id),
+    CONSTRAINT FK8b8mme5feiiglgjkw0fin13iu FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE provider_secondary_services (
+    provider_id      BIGINT NOT NULL,
+    service_category ENUM ('APPLIANCE_REPAIR','CARPENTRY','CLEANING','ELECTRICAL','FLOORING','HOME_SECURITY',
+                           'HVAC','LANDSCAPING','PAINTING','PEST_CONTROL','PLUMBING','ROOFING'),
+    CONSTRAINT FKeig7ejc9yv73ydd2ukovkvlsh FOREIGN KEY (provider_id) REFERENCES service_providers (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE provider_languages (
+    provider_id BIGINT NOT NULL,
+    language    VARCHAR(255),
+    CONSTRAINT FK1otvg5r6ypk1tuiyn8ik2wp9n FOREIGN KEY (provider_id) REFERENCES service_providers (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE provider_skills (
+    provider_id BIGINT NOT NULL,
+    skill       VARCHAR(255),
+    CONSTRAINT FKqvl4f1xvkue7nxlb2rojl6saa FOREIGN KEY (provider_id) REFERENCES service_providers (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE provider_services (
+    id               BIGINT        NOT NULL AUTO_INCREMENT,
+    provider_id      BIGINT        NOT NULL,
+    name             VARCHAR(255)  NOT NULL,
+    description      VARCHAR(500),
+    price            DECIMAL(10,2) NOT NULL,
+    duration         VARCHAR(255)  NOT NULL,
+    duration_minutes INTEGER       NOT NULL,
+    active           BIT           NOT NULL,
+    created_at       DATETIME(6),
+    updated_at       DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKs5ufc8hsra7n349pfpe9gx467 FOREIGN KEY (provider_id) REFERENCES service_providers (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE working_hours (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    provider_id BIGINT NOT NULL,
+    day_of_week ENUM ('FRIDAY','MONDAY','SATURDAY','SUNDAY','THURSDAY','TUESDAY','WEDNESDAY') NOT NULL,
+    open_time   TIME(6),
+    close_time  TIME(6),
+    is_open     BIT    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKsx32u3ptv79siggq2ow1oxug1 UNIQUE (provider_id, day_of_week),
+    CONSTRAINT FKjh79qwxlutwoh3repigfslfw2 FOREIGN KEY (provider_id) REFERENCES service_providers (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE certifications (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    provider_id BIGINT       NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    issuer      VARCHAR(255) NOT NULL,
+    year        VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT FKc7jy9yqe2l5lp5ijb30mwvta2 FOREIGN KEY (provider_id) REFERENCES service_providers (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE bookings (
+    id                  BIGINT        NOT NULL AUTO_INCREMENT,
+    customer_id         BIGINT        NOT NULL,
+    provider_id         BIGINT        NOT NULL,
+    service_id          BIGINT        NOT NULL,
+    booking_date        DATE          NOT NULL,
+    booking_time        TIME(6)       NOT NULL,
+    status              ENUM ('CANCELLED','COMPLETED','CONFIRMED','IN_PROGRESS','PENDING') NOT NULL,
+    customer_address    VARCHAR(255)  NOT NULL,
+    price               DECIMAL(10,2) NOT NULL,
+    notes               VARCHAR(500),
+    confirmed_at        DATETIME(6),
+    completed_at        DATETIME(6),
+    cancelled_at        DATETIME(6),
+    cancellation_reason VARCHAR(500),
+    created_at          DATETIME(6),
+    updated_at          DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKib6gjgj2e9binkktxmm175bmm FOREIGN KEY (customer_id) REFERENCES users (id),
+    CONSTRAINT FKs54eyrn8jfo549lhch3sac8mw FOREIGN KEY (provider_id) REFERENCES service_providers (id),
+    CONSTRAINT FK7w8mimbpifk1kc67m2unufrur FOREIGN KEY (service_id) REFERENCES provider_services (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE reviews (
+    id                    BIGINT        NOT NULL AUTO_INCREMENT,
+    booking_id            BIGINT        NOT NULL,
+    customer_id           BIGINT        NOT NULL,
+    provider_id           BIGINT        NOT NULL,
+    rating                INTEGER       NOT NULL,
+    comment               VARCHAR(1000),
+    provider_response     VARCHAR(500),
+    provider_responded_at DATETIME(6),
+    created_at            DATETIME(6),
+    updated_at            DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FK28an517hrxtt2bsg93uefugrm FOREIGN KEY (booking_id) REFERENCES bookings (id),
+    CONSTRAINT FKkquncb1glvrldaui8v52xfd5q FOREIGN KEY (customer_id) REFERENCES users (id),
+    CONSTRAINT FK2kegg8ipw2k1oaobhmrjjjk9q FOREIGN KEY (provider_id) REFERENCES service_providers (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,49 @@
+-- Composite indexes for the repository queries. Each index lists the methods it serves;
+-- RepositoryQueryPlanTest fails if one of those queries falls back to a full table scan.
+-- Indexes leading with a foreign key column also replace the single-column FK index MySQL created.
+
+-- BookingRepository
+--   findByProvider[Id]OrderByBookingDateDescBookingTimeDesc, findByProviderAndBookingDate,
+--   findByProviderAndBookingDateAndStatusIn, findUpcomingByProvider, countByProviderId
+CREATE INDEX idx_bookings_provider_date ON bookings (provider_id, booking_date, booking_time);
+--   findByProviderAndStatus, countByProviderAndStatus, countByProviderIdAndStatus,
+--   getTotalEarningsByProvider, getEarningsByProviderSince, countCompletedByProviderSince
+CREATE INDEX idx_bookings_provider_status ON bookings (provider_id, status, completed_at);
+--   findTop5ByProviderOrderByCreatedAtDesc
+CREATE INDEX idx_bookings_provider_created ON bookings (provider_id, created_at);
+--   findByCustomer[Id]OrderByBookingDateDescBookingTimeDesc, countByCustomerId
+CREATE INDEX idx_bookings_customer_date ON bookings (customer_id, booking_date, booking_time);
+--   findByStatus, countByStatus
+CREATE INDEX idx_bookings_status_created ON bookings (status, created_at);
+--   findTop10ByOrderByCreatedAtDesc
+CREATE INDEX idx_bookings_created ON bookings (created_at);
+
+-- ReviewRepository
+--   findByProviderOrderByCreatedAtDesc
+CREATE INDEX idx_reviews_provider_created ON reviews (provider_id, created_at);
+--   getAverageRatingByProvider, countByProvider, getRatingDistributionByProvider (covering)
+CREATE INDEX idx_reviews_provider_rating ON reviews (provider_id, rating);
+--   findByCustomerOrderByCreatedAtDesc
+CREATE INDEX idx_reviews_customer_created ON reviews (customer_id, created_at);
+--   findByBookingId, existsByBookingId
+CREATE INDEX idx_reviews_booking ON reviews (booking_id);
+
+-- UserRepository (email and phone lookups use the unique constraints)
+--   findByRole, countByRole, findByRoleAndStatus, countByRoleAndStatus
+CREATE INDEX idx_users_role_status ON users (role, status);
+--   findByStatus
+CREATE INDEX idx_users_status ON users (status);
+--   findTop10ByOrderByCreatedAtDesc
+CREATE INDEX idx_users_created ON users (created_at);
+
+-- ServiceProviderRepository (user lookups use the unique constraint on user_id)
+--   findByCity, findAvailableProvidersByCityAndCategory
+CREATE INDEX idx_providers_city_category ON service_providers (city, primary_service, is_available);
+--   findByPrimaryService, countByPrimaryService
+CREATE INDEX idx_providers_category_available ON service_providers (primary_service, is_available);
+--   findByIsAvailableTrue, findAvailableByCategory
+CREATE INDEX idx_providers_available ON service_providers (is_available);
+--   existsByAadharNumber
+CREATE INDEX idx_providers_aadhar ON service_providers (aadhar_number);
+--   findAvailableByCategory (MEMBER OF secondaryServices)
+CREATE INDEX idx_secondary_services_provider ON provider_secondary_services (provider_id, service_category);
@@ -0,0 +1,20 @@
+-- Pooled id generation: entities draw ids in blocks of 50 from this table instead of AUTO_INCREMENT,
+-- which lets Hibernate batch inserts. The pooled optimizer treats next_val as the top of the first
+-- block it reads, so each row starts 50 above the table's current max id.
+-- Keep the +50 in step with allocationSize on the entities' @TableGenerator.
+
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB;
+
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'users', COALESCE(MAX(id), 0) + 50 FROM users;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'customers', COALESCE(MAX(id), 0) + 50 FROM customers;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'saved_addresses', COALESCE(MAX(id), 0) + 50 FROM saved_addresses;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'service_providers', COALESCE(MAX(id), 0) + 50 FROM service_providers;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'provider_services', COALESCE(MAX(id), 0) + 50 FROM provider_services;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'working_hours', COALESCE(MAX(id), 0) + 50 FROM working_hours;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'certifications', COALESCE(MAX(id), 0) + 50 FROM certifications;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'bookings', COALESCE(MAX(id), 0) + 50 FROM bookings;
+INSERT INTO id_generators (sequence_name, next_val) SELECT 'reviews', COALESCE(MAX(id), 0) + 50 FROM reviews;
@@ -0,0 +1,31 @@
+-- Provider categories as a bitmask: bit n is set when the provider offers the category with that bit
+-- in ServiceCategory (PLUMBING = 0 ... FLOORING = 11). The mask holds the primary category as well, so
+-- "offers category X" is a single bitand on service_providers instead of a join to the collection table.
+
+ALTER TABLE service_providers ADD COLUMN category_mask BIGINT NOT NULL DEFAULT 0;
+
+-- SUM(DISTINCT) over distinct powers of two is the bitwise OR of the secondary categories
+UPDATE service_providers SET category_mask =
+    CASE primary_service
+        WHEN 'PLUMBING' THEN 1 WHEN 'ELECTRICAL' THEN 2 WHEN 'CLEANING' THEN 4 WHEN 'CARPENTRY' THEN 8
+        WHEN 'PAINTING' THEN 16 WHEN 'HVAC' THEN 32 WHEN 'LANDSCAPING' THEN 64 WHEN 'PEST_CONTROL' THEN 128
+        WHEN 'APPLIANCE_REPAIR' THEN 256 WHEN 'HOME_SECURITY' THEN 512 WHEN 'ROOFING' THEN 1024
+        WHEN 'FLOORING' THEN 2048 ELSE 0
+    END
+    + COALESCE((
+        SELECT SUM(DISTINCT CASE ss.service_category
+            WHEN 'PLUMBING' THEN 1 WHEN 'ELECTRICAL' THEN 2 WHEN 'CLEANING' THEN 4 WHEN 'CARPENTRY' THEN 8
+            WHEN 'PAINTING' THEN 16 WHEN 'HVAC' THEN 32 WHEN 'LANDSCAPING' THEN 64 WHEN 'PEST_CONTROL' THEN 128
+            WHEN 'APPLIANCE_REPAIR' THEN 256 WHEN 'HOME_SECURITY' THEN 512 WHEN 'ROOFING' THEN 1024
+            WHEN 'FLOORING' THEN 2048 ELSE 0
+        END)
+        FROM provider_secondary_services ss
+        WHERE ss.provider_id = service_providers.id
+          AND ss.service_category <> service_providers.primary_service
+    ), 0);
+
+--   findByIsAvailableTrue, findAvailableByCategoryMask (mask test is answered from the index)
+ALTER TABLE service_providers DROP INDEX idx_providers_available;
+CREATE INDEX idx_providers_available_categories ON service_providers (is_available, category_mask);
+
+DROP TABLE provider_secondary_services;
@@ -0,0 +1,30 @@
+-- Per-provider rating histogram: review counts per star rating and the rating sum, updated as reviews
+-- are created so the average, count and distribution no longer aggregate over reviews. Existing rows
+-- are filled from reviews here; the actuator `ratings` endpoint rebuilds them if they ever drift.
+
+ALTER TABLE service_providers ADD COLUMN rating_1_count INT NOT NULL DEFAULT 0;
+ALTER TABLE service_providers ADD COLUMN rating_2_count INT NOT NULL DEFAULT 0;
+ALTER TABLE service_providers ADD COLUMN rating_3_count INT NOT NULL DEFAULT 0;
+ALTER TABLE service_providers ADD COLUMN rating_4_count INT NOT NULL DEFAULT 0;
+ALTER TABLE service_providers ADD COLUMN rating_5_count INT NOT NULL DEFAULT 0;
+ALTER TABLE service_providers ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0;
+
+-- Each subquery is answered from idx_reviews_provider_rating
+UPDATE service_providers SET
+    rating_1_count = (SELECT COUNT(*) FROM reviews r WHERE r.provider_id = service_providers.id AND r.rating = 1),
+    rating_2_count = (SELECT COUNT(*) FROM reviews r WHERE r.provider_id = service_providers.id AND r.rating = 2),
+    rating_3_count = (SELECT COUNT(*) FROM reviews r WHERE r.provider_id = service_providers.id AND r.rating = 3),
+    rating_4_count = (SELECT COUNT(*) FROM reviews r WHERE r.provider_id = service_providers.id AND r.rating = 4),
+    rating_5_count = (SELECT COUNT(*) FROM reviews r WHERE r.provider_id = service_providers.id AND r.rating = 5);
+
+UPDATE service_providers SET
+    rating_sum = rating_1_count + 2 * rating_2_count + 3 * rating_3_count + 4 * rating_4_count + 5 * rating_5_count;
+
+-- The denormalised count and average now follow the histogram
+UPDATE service_providers SET
+    total_reviews = rating_1_count + rating_2_count + rating_3_count + rating_4_count + rating_5_count,
+    average_rating = CASE
+        WHEN rating_1_count + rating_2_count + rating_3_count + rating_4_count + rating_5_count = 0 THEN 0
+        ELSE ROUND(rating_sum * 1.0
+                / (rating_1_count + rating_2_count + rating_3_count + rating_4_count + rating_5_count), 2)
+    END;
@@ -0,0 +1,10 @@
+-- Version counters behind the ETags of public read endpoints: ('categories', 0) for the category list
+-- and ('provider', id) for a provider's profile and reviews. Bumped in the transaction that changes
+-- the resource (see ResourceVersionListener); a missing row reads as version 0.
+
+CREATE TABLE resource_versions (
+    resource_type VARCHAR(32) NOT NULL,
+    resource_id   BIGINT      NOT NULL,
+    version       BIGINT      NOT NULL,
+    PRIMARY KEY (resource_type, resource_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,10 @@
+-- Named leases for scheduled jobs that must run on one node at a time (see SchedulerLease).
+-- A node holds a lease while expires_at is in the future; expiry times come from the database
+-- clock so nodes with skewed clocks still agree on who holds it.
+
+CREATE TABLE scheduler_leases (
+    name       VARCHAR(64)  NOT NULL,
+    owner      VARCHAR(128) NOT NULL,
+    expires_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE=InnoDB;
@@ -0,0 +1,20 @@
+-- Transactional outbox for booking state transitions (see BookingEventListener). Rows are inserted
+-- in the transaction that changes the booking and marked dispatched once the in-process consumers
+-- have run; dispatched rows are deleted after outbox.retention.
+
+CREATE TABLE booking_events (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    booking_id      BIGINT NOT NULL,
+    provider_id     BIGINT NOT NULL,
+    customer_id     BIGINT NOT NULL,
+    type            ENUM ('CANCELLED','COMPLETED','CONFIRMED','CREATED','STARTED') NOT NULL,
+    previous_status ENUM ('CANCELLED','COMPLETED','CONFIRMED','IN_PROGRESS','PENDING'),
+    status          ENUM ('CANCELLED','COMPLETED','CONFIRMED','IN_PROGRESS','PENDING') NOT NULL,
+    occurred_at     DATETIME(6) NOT NULL,
+    dispatched_at   DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- BookingEventRepository
+--   findUndispatched, deleteDispatchedBefore
+CREATE INDEX idx_booking_events_dispatch ON booking_events (dispatched_at, id);
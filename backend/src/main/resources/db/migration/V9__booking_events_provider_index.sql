@@ -0,0 +1,6 @@
+-- Resuming a provider's booking stream replays that provider's events after the client's
+-- Last-Event-ID (see ProviderEventStream).
+
+-- BookingEventRepository
+--   findByProviderAfter
+CREATE INDEX idx_booking_events_provider ON booking_events (provider_id, id);
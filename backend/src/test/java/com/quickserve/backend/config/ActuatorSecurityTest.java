@@ -0,0 +1,33 @@
+package com.quickserve.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ActuatorSecurityTest {
+
+    @Autowired private MockMvc mockMvc;
+
+    @Test
+    void onlyHealthIsOpenToAnonymousCallers() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+
+        for (String endpoint : new String[] {"metrics", "ratelimit", "l2cache", "dbtime"}) {
+            mockMvc.perform(get("/actuator/" + endpoint)).andExpect(status().isForbidden());
+            mockMvc.perform(get("/actuator/" + endpoint).with(user("customer").roles("CUSTOMER")))
+                    .andExpect(status().isForbidden());
+            mockMvc.perform(get("/actuator/" + endpoint).with(user("admin").roles("ADMIN")))
+                    .andExpect(status().isOk());
+        }
+    }
+}
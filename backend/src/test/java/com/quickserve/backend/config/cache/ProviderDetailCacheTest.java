@@ -0,0 +1,102 @@
+package com.quickserve.backend.config.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.quickserve.backend.config.etag.ResourceVersions;
+import com.quickserve.backend.dto.response.publicdto.ProviderDetailResponse;
+import com.quickserve.backend.exception.ResourceNotFoundException;
+import com.quickserve.backend.service.PublicService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ProviderDetailCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PublicService publicService = mock(PublicService.class);
+    private final ResourceVersions resourceVersions = mock(ResourceVersions.class);
+    private final ProviderDetailCacheProperties properties = new ProviderDetailCacheProperties();
+    private final ProviderDetailCache cache = new ProviderDetailCache(
+            publicService, resourceVersions, objectMapper, properties, new SimpleMeterRegistry());
+
+    @Test
+    void concurrentMissesBuildThePageOnce() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        when(publicService.getProviderDetails(1L)).thenAnswer(invocation -> {
+            builds.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return ProviderDetailResponse.builder().id(1L).name("Single Flight").build();
+        });
+
+        List<Future<RawValue>> pages = new ArrayList<>();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                pages.add(requests.submit(() -> cache.get(1L, 3)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+        }
+
+        assertThat(builds).hasValue(1);
+        for (Future<RawValue> page : pages) {
+            assertThat(name(page.get())).isEqualTo("Single Flight");
+        }
+    }
+
+    @Test
+    void newVersionIsRebuiltAndFailuresAreNotKept() throws Exception {
+        when(publicService.getProviderDetails(2L))
+                .thenReturn(ProviderDetailResponse.builder().id(2L).name("Before").build())
+                .thenThrow(new ResourceNotFoundException("Provider not found"))
+                .thenReturn(ProviderDetailResponse.builder().id(2L).name("After").build());
+
+        assertThat(name(cache.get(2L, 1))).isEqualTo("Before");
+        assertThat(name(cache.get(2L, 1))).isEqualTo("Before");
+        assertThatThrownBy(() -> cache.get(2L, 2)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(name(cache.get(2L, 2))).isEqualTo("After");
+        verify(publicService, times(3)).getProviderDetails(2L);
+    }
+
+    @Test
+    void refreshWaitsUntilTheDatabaseHasReachedTheVersion() throws Exception {
+        properties.setRefreshAfter(Duration.ofMillis(1));
+        ProviderDetailCache refreshing = new ProviderDetailCache(
+                publicService, resourceVersions, objectMapper, properties, new SimpleMeterRegistry());
+        when(publicService.getProviderDetails(3L))
+                .thenReturn(ProviderDetailResponse.builder().id(3L).name("Built on the primary").build())
+                .thenReturn(ProviderDetailResponse.builder().id(3L).name("Refreshed").build());
+        // The page was keyed by version 5; the replica is still at 4
+        when(resourceVersions.providerVersion(3L)).thenReturn(4L);
+
+        assertThat(name(refreshing.get(3L, 5))).isEqualTo("Built on the primary");
+        Thread.sleep(10);
+        assertThat(name(refreshing.get(3L, 5))).isEqualTo("Built on the primary");
+        verify(resourceVersions, timeout(5_000)).providerVersion(3L);
+        verify(publicService, times(1)).getProviderDetails(3L);
+
+        when(resourceVersions.providerVersion(3L)).thenReturn(5L);
+        Thread.sleep(10);
+        refreshing.get(3L, 5);
+        verify(publicService, timeout(5_000).times(2)).getProviderDetails(3L);
+        refreshing.destroy();
+    }
+
+    private String name(RawValue page) throws Exception {
+        return (String) objectMapper.readValue(objectMapper.writeValueAsString(page), Map.class).get("name");
+    }
+}
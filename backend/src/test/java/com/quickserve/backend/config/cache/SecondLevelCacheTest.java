@@ -0,0 +1,87 @@
+package com.quickserve.backend.config.cache;
+
+import com.quickserve.backend.dto.response.publicdto.ProviderDetailResponse;
+import com.quickserve.backend.model.CacheRegions;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.repository.ServiceProviderRepository;
+import com.quickserve.backend.service.PublicService;
+import com.quickserve.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired private PublicService publicService;
+    @Autowired private ServiceProviderRepository providerRepository;
+    @Autowired private TestFixtures fixtures;
+    @Autowired private SecondLevelCacheEndpoint cacheEndpoint;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ProfileViewBuffer profileViewBuffer;
+
+    @Test
+    void repeatProviderViewsAreServedFromCacheAndSeeNewServices() {
+        Long providerId = transactionTemplate.execute(status ->
+                fixtures.provider("Cache Test Provider", ServiceCategory.PLUMBING).getId());
+
+        viewProvider(providerId);
+        long servicesHitsBefore = hits(CacheRegions.PROVIDER_SERVICE_LISTS);
+        long providerHitsBefore = hits(CacheRegions.PROVIDERS);
+
+        ProviderDetailResponse cached = viewProvider(providerId);
+        assertThat(cached.getServices()).hasSize(1);
+        assertThat(hits(CacheRegions.PROVIDERS)).isGreaterThan(providerHitsBefore);
+        assertThat(hits(CacheRegions.PROVIDER_SERVICE_LISTS)).isGreaterThan(servicesHitsBefore);
+
+        // Saved through its own repository, never added to provider.getServices()
+        transactionTemplate.executeWithoutResult(status ->
+                fixtures.service(providerRepository.getReferenceById(providerId), "Pipe fitting"));
+
+        assertThat(viewProvider(providerId).getServices())
+                .extracting(ProviderDetailResponse.ServiceInfo::getName)
+                .containsExactlyInAnyOrder(ServiceCategory.PLUMBING.getDisplayName(), "Pipe fitting");
+    }
+
+    @Test
+    void flushedViewsKeepTheProviderCachedAndSurviveEntityWrites() {
+        Long providerId = fixtures.provider("Viewed Provider", ServiceCategory.PLUMBING).getId();
+        viewProvider(providerId);
+
+        publicService.recordProfileView(providerId);
+        profileViewBuffer.flush();
+        long providerHitsBefore = hits(CacheRegions.PROVIDERS);
+
+        ProviderDetailResponse afterFlush = viewProvider(providerId);
+        assertThat(hits(CacheRegions.PROVIDERS)).isGreaterThan(providerHitsBefore);
+        assertThat(afterFlush.getProfileViews()).isEqualTo(1);
+
+        // Written from the cached copy, whose profileViews predates the flush
+        transactionTemplate.executeWithoutResult(status ->
+                providerRepository.findById(providerId).orElseThrow().setBio("Updated bio"));
+
+        assertThat(providerRepository.findProfileViewsById(providerId)).contains(1);
+    }
+
+    private ProviderDetailResponse viewProvider(Long providerId) {
+        return transactionTemplate.execute(status -> publicService.getProviderDetails(providerId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private long hits(String region) {
+        List<Map<String, Object>> regions = (List<Map<String, Object>>) cacheEndpoint.regions().get("regions");
+        return regions.stream()
+                .filter(r -> region.equals(r.get("name")))
+                .mapToLong(r -> (Long) r.get("hits"))
+                .findFirst()
+                .orElseThrow();
+    }
+}
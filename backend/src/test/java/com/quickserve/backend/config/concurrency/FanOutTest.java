@@ -0,0 +1,156 @@
+package com.quickserve.backend.config.concurrency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickserve.backend.config.cache.ProfileViewBuffer;
+import com.quickserve.backend.config.querybudget.QueryCounter;
+import com.quickserve.backend.dto.response.publicdto.ProviderDetailResponse;
+import com.quickserve.backend.exception.ResourceNotFoundException;
+import com.quickserve.backend.exception.ServiceUnavailableException;
+import com.quickserve.backend.model.ServiceProvider;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.repository.UserRepository;
+import com.quickserve.backend.service.PublicService;
+import com.quickserve.backend.support.QueryCounts;
+import com.quickserve.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FanOutTest {
+
+    @Autowired private FanOut fanOut;
+    @Autowired private PublicService publicService;
+    @Autowired private ProfileViewBuffer profileViewBuffer;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TestFixtures fixtures;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    @Test
+    void loadsRunConcurrentlyAndTheirStatementsCountTowardsTheCaller() {
+        // Each load waits for the other, so running them one after another would time out
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        QueryCounter counter = QueryCounts.count(() -> {
+            try (FanOut.Scope scope = fanOut.open()) {
+                FanOut.Task<Boolean> first = scope.fork(() -> meet(bothStarted));
+                FanOut.Task<Long> second = scope.fork(() -> meet(bothStarted) ? userRepository.count() : -1);
+                scope.join();
+
+                assertThat(first.get()).isTrue();
+                assertThat(second.get()).isPositive();
+            }
+        });
+
+        assertThat(counter.getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void deadlineCancelsLoadsStillRunning() {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> {
+            try (FanOut.Scope scope = fanOut.open(Duration.ofMillis(100))) {
+                scope.fork(() -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return null;
+                });
+                scope.join();
+            }
+        }).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(await(interrupted)).isTrue();
+    }
+
+    @Test
+    void firstFailureIsRethrown() {
+        assertThatThrownBy(() -> {
+            try (FanOut.Scope scope = fanOut.open()) {
+                scope.fork(userRepository::count);
+                scope.fork(() -> {
+                    throw new ResourceNotFoundException("Provider not found");
+                });
+                scope.join();
+            }
+        }).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void insideATransactionLoadsRunOnTheCallingThread() {
+        Thread caller = Thread.currentThread();
+
+        Thread ranOn = transactionTemplate.execute(status -> {
+            try (FanOut.Scope scope = fanOut.open()) {
+                FanOut.Task<Thread> task = scope.fork(Thread::currentThread);
+                scope.join();
+                return task.get();
+            }
+        });
+
+        assertThat(ranOn).isSameAs(caller);
+    }
+
+    @Test
+    void providerDetailsAreAssembledFromConcurrentLoads() {
+        Long providerId = transactionTemplate.execute(status -> createProvider());
+
+        ProviderDetailResponse first = publicService.getProviderDetails(providerId);
+        publicService.recordProfileView(providerId);
+        profileViewBuffer.flush();
+        ProviderDetailResponse second = publicService.getProviderDetails(providerId);
+
+        assertThat(first.getName()).isEqualTo("Fan-out Provider");
+        assertThat(first.getServices()).extracting(ProviderDetailResponse.ServiceInfo::getName)
+                .containsExactly(ServiceCategory.PLUMBING.getDisplayName());
+        assertThat(first.getRatingDistribution()).containsOnlyKeys(1, 2, 3, 4, 5);
+        assertThat(second.getProfileViews()).isEqualTo(first.getProfileViews() + 1);
+        assertThatThrownBy(() -> publicService.getProviderDetails(-1L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void providerDetailsSerializeSkillsAndLanguagesAfterTheLoadsClose() {
+        Long providerId = transactionTemplate.execute(status -> createProvider());
+
+        // Serialized the way the controller does, outside any session the loads opened
+        JsonNode json = objectMapper.valueToTree(publicService.getProviderDetails(providerId));
+
+        assertThat(json.get("skills")).extracting(JsonNode::asText).containsExactly("Pipe repair", "Leak detection");
+        assertThat(json.get("languages")).extracting(JsonNode::asText).containsExactly("Hindi", "English");
+    }
+
+    private static boolean meet(CountDownLatch latch) {
+        latch.countDown();
+        return await(latch);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Long createProvider() {
+        ServiceProvider provider = fixtures.provider("Fan-out Provider", ServiceCategory.PLUMBING);
+        provider.getSkills().addAll(List.of("Pipe repair", "Leak detection"));
+        provider.getLanguages().addAll(List.of("Hindi", "English"));
+        return provider.getId();
+    }
+}
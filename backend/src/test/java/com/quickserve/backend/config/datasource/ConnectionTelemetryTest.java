@@ -0,0 +1,41 @@
+package com.quickserve.backend.config.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConnectionTelemetryTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ConnectionTelemetryEndpoint endpoint;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void requestsAreAttributedToTheirControllerMapping() throws Exception {
+        mockMvc.perform(get("/api/public/categories")).andExpect(status().isOk());
+
+        List<Map<String, Object>> endpoints = (List<Map<String, Object>>) endpoint.endpoints().get("endpoints");
+        Map<String, Object> categories = endpoints.stream()
+                .filter(row -> "GET /api/public/categories".equals(row.get("endpoint")))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat((Long) categories.get("requests")).isEqualTo(1);
+        // One count query per category
+        assertThat((Double) categories.get("meanStatements")).isGreaterThanOrEqualTo(12.0);
+        assertThat((Double) categories.get("meanHoldMs")).isGreaterThanOrEqualTo((Double) categories.get("meanQueryMs"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.quickserve.backend.config.datasource;
+
+import com.quickserve.backend.config.etag.ResourceVersions;
+import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.security.UserPrincipal;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two embedded H2 instances stand in for the MySQL primary and its replica
+@SpringBootTest(properties = {
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=" + ReadWriteRoutingTest.REPLICA_URL,
+        "datasource.replica.username=sa",
+        "datasource.replica.password=",
+        "datasource.replica.stickiness=1m"
+})
+@ActiveProfiles("test")
+class ReadWriteRoutingTest {
+
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:quickserve_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ResourceVersions resourceVersions;
+
+    @BeforeAll
+    static void migrateReplica() {
+        // A real replica gets its schema through replication
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        assertThat(databaseIn(true)).isEqualTo("quickserve_replica");
+        assertThat(databaseIn(false)).isEqualTo("quickserve");
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() {
+        authenticateAs(9_000_001L);
+        databaseIn(false);
+        assertThat(databaseIn(true)).isEqualTo("quickserve");
+
+        authenticateAs(9_000_002L);
+        assertThat(databaseIn(true)).isEqualTo("quickserve_replica");
+    }
+
+    @Test
+    void versionsAreReadFromTheDatabaseThePageIsBuiltFrom() {
+        // The replica has not caught up with the provider's last change yet
+        String insert = "INSERT INTO resource_versions (resource_type, resource_id, version) VALUES ('provider', ?, ?)";
+        jdbcTemplate.update(insert, 9_100_001L, 2);
+        new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "")).update(insert, 9_100_001L, 1);
+
+        assertThat(resourceVersions.providerVersion(9_100_001L)).isEqualTo(1);
+
+        authenticateAs(9_000_003L);
+        databaseIn(false);
+        assertThat(resourceVersions.providerVersion(9_100_001L)).isEqualTo(2);
+    }
+
+    private String databaseIn(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class))
+                .toLowerCase();
+    }
+
+    private static void authenticateAs(Long userId) {
+        UserPrincipal principal = new UserPrincipal(userId, "routing-" + userId + "@test.local", null, Role.CUSTOMER, null, null);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.quickserve.backend.config.etag;
+
+import com.quickserve.backend.config.cache.ProfileViewBuffer;
+import com.quickserve.backend.dto.request.customer.CreateReviewRequest;
+import com.quickserve.backend.dto.request.customer.UpdateCustomerProfileRequest;
+import com.quickserve.backend.model.Customer;
+import com.quickserve.backend.model.ServiceProvider;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.repository.ServiceProviderRepository;
+import com.quickserve.backend.service.CustomerService;
+import com.quickserve.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ResourceVersions resourceVersions;
+    @Autowired private ProfileViewBuffer profileViewBuffer;
+    @Autowired private ServiceProviderRepository providerRepository;
+    @Autowired private TestFixtures fixtures;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private CustomerService customerService;
+
+    @Test
+    void unchangedProviderIsAnswered304WithoutLoadingIt() throws Exception {
+        String categoriesBefore = resourceVersions.categoriesEtag();
+        Long providerId = transactionTemplate.execute(status ->
+                fixtures.provider("ETag Provider", ServiceCategory.HVAC).getId());
+        String path = "/api/public/providers/" + providerId;
+
+        assertThat(resourceVersions.categoriesEtag()).isNotEqualTo(categoriesBefore);
+
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"provider-" + providerId + "-v");
+
+        // Counting a view does not change what the page shows
+        mockMvc.perform(get(path)).andExpect(header().string(HttpHeaders.ETAG, etag));
+        int views = profileViews(providerId);
+
+        // A returning visitor revalidating the page is still counted
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        assertThat(profileViews(providerId)).isEqualTo(views + 1);
+
+        transactionTemplate.executeWithoutResult(status ->
+                fixtures.service(providerRepository.getReferenceById(providerId), "Geyser repair"));
+
+        MvcResult changed = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(changed.getResponse().getContentAsString()).contains("Geyser repair");
+    }
+
+    @Test
+    void reviewerRenameRevalidatesTheProvidersTheyReviewed() throws Exception {
+        Customer customer = fixtures.customer("Old Reviewer Name");
+        ServiceProvider provider = fixtures.provider("Reviewed Provider", ServiceCategory.HVAC);
+        Long bookingId = fixtures.booking(customer.getUser(), provider, LocalDate.now().minusDays(1),
+                LocalTime.of(10, 0), BookingStatus.COMPLETED).getId();
+        customerService.createReview(customer.getUser().getId(), new CreateReviewRequest(bookingId, 5, "Quick fix"));
+        String path = "/api/public/providers/" + provider.getId() + "/reviews";
+
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        customerService.updateProfile(customer.getId(),
+                UpdateCustomerProfileRequest.builder().fullName("New Reviewer Name").build());
+
+        MvcResult renamed = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(renamed.getResponse().getContentAsString()).contains("New Reviewer Name");
+    }
+
+    private int profileViews(Long providerId) {
+        profileViewBuffer.flush();
+        return providerRepository.findProfileViewsById(providerId).orElseThrow();
+    }
+}
@@ -0,0 +1,148 @@
+package com.quickserve.backend.config.expiry;
+
+import com.quickserve.backend.config.outbox.BookingEventDispatcher;
+import com.quickserve.backend.config.scheduling.SchedulerLease;
+import com.quickserve.backend.dto.request.UpdateBookingStatusRequest;
+import com.quickserve.backend.exception.BadRequestException;
+import com.quickserve.backend.model.*;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.repository.BookingRepository;
+import com.quickserve.backend.repository.CustomerRepository;
+import com.quickserve.backend.service.ProviderDashboardService;
+import com.quickserve.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StaleBookingExpiryTest {
+
+    @Autowired private StaleBookingExpiry expiry;
+    @Autowired private BookingExpiryProperties properties;
+    @Autowired private BookingEventDispatcher dispatcher;
+    @Autowired private ProviderDashboardService providerDashboardService;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private TestFixtures fixtures;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void stalePendingBookingsAreCancelledInChunksByOneNode() {
+        Customer customer = fixtures.customer("Expiry Customer");
+        ServiceProvider provider = fixtures.provider("Expiry Provider", ServiceCategory.CARPENTRY);
+        LocalDate today = LocalDate.now();
+        Long slotPassed = booking(customer, provider, today.minusDays(1), BookingStatus.PENDING);
+        Long unanswered = booking(customer, provider, today.plusDays(2), BookingStatus.PENDING);
+        Long longPast = booking(customer, provider, today.minusDays(3), BookingStatus.PENDING);
+        Long upcoming = booking(customer, provider, today.plusDays(3), BookingStatus.PENDING);
+        Long confirmed = booking(customer, provider, today.minusDays(1), BookingStatus.CONFIRMED);
+        jdbcTemplate.update("UPDATE bookings SET created_at = ? WHERE id = ?",
+                LocalDateTime.now().minusDays(2), unanswered);
+
+        // Another node holds the lease
+        SchedulerLease otherNode = new SchedulerLease(jdbcTemplate);
+        assertThat(otherNode.tryAcquire(StaleBookingExpiry.LEASE, Duration.ofMinutes(1))).isTrue();
+        assertThat(expiry.expireStale().leased()).isFalse();
+        assertThat(status(slotPassed)).isEqualTo(BookingStatus.PENDING);
+        otherNode.release(StaleBookingExpiry.LEASE);
+
+        int chunkSize = properties.getChunkSize();
+        properties.setChunkSize(1);
+        StaleBookingExpiry.Result result;
+        try {
+            result = expiry.expireStale();
+        } finally {
+            properties.setChunkSize(chunkSize);
+        }
+
+        assertThat(result.leased()).isTrue();
+        assertThat(result.expired()).isGreaterThanOrEqualTo(3);
+        assertThat(result.chunks()).isEqualTo(result.expired());
+        assertThat(bookingRepository.findById(slotPassed).orElseThrow().getCancellationReason())
+                .isEqualTo(StaleBookingExpiry.SLOT_PASSED);
+        assertThat(bookingRepository.findById(unanswered).orElseThrow().getCancellationReason())
+                .isEqualTo(StaleBookingExpiry.NO_RESPONSE);
+        assertThat(status(longPast)).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(status(upcoming)).isEqualTo(BookingStatus.PENDING);
+        assertThat(status(confirmed)).isEqualTo(BookingStatus.CONFIRMED);
+
+        // Counters follow from the CANCELLED events
+        dispatcher.dispatchPending();
+        assertThat(customerRepository.findById(customer.getId()).orElseThrow().getCancelledBookings()).isEqualTo(3);
+    }
+
+    @Test
+    void providerConfirmationWaitsForTheExpiryChunkInsteadOfOverwritingIt() throws Exception {
+        ServiceProvider provider = fixtures.provider("Racing Provider", ServiceCategory.CARPENTRY);
+        Long bookingId = fixtures.booking(fixtures.user("Racing Customer", Role.CUSTOMER), provider,
+                LocalDate.now().plusDays(1), LocalTime.of(10, 0), BookingStatus.PENDING).getId();
+
+        CountDownLatch cancelled = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            // Locks and cancels the booking the way an expiry chunk does, then holds the lock
+            Future<?> chunk = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                Booking booking = bookingRepository.findAllByIdForUpdate(List.of(bookingId)).get(0);
+                booking.setStatus(BookingStatus.CANCELLED);
+                booking.setCancellationReason(StaleBookingExpiry.NO_RESPONSE);
+                bookingRepository.flush();
+                cancelled.countDown();
+                await(commit);
+            }));
+            assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> confirm = executor.submit(() -> providerDashboardService.updateBookingStatus(provider.getId(),
+                    bookingId, new UpdateBookingStatusRequest("CONFIRMED", null)));
+            Thread.sleep(200);
+            assertThat(confirm).isNotDone();
+
+            commit.countDown();
+            chunk.get(5, TimeUnit.SECONDS);
+            assertThatThrownBy(() -> confirm.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(BadRequestException.class);
+        }
+
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(booking.getCancellationReason()).isEqualTo(StaleBookingExpiry.NO_RESPONSE);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BookingStatus status(Long bookingId) {
+        return bookingRepository.findById(bookingId).orElseThrow().getStatus();
+    }
+
+    private Long booking(Customer customer, ServiceProvider provider, LocalDate date, BookingStatus status) {
+        return fixtures.booking(customer.getUser(), provider, date, LocalTime.of(10, 0), status).getId();
+    }
+}
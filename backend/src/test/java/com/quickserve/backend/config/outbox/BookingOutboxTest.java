@@ -0,0 +1,114 @@
+package com.quickserve.backend.config.outbox;
+
+import com.quickserve.backend.dto.request.UpdateBookingStatusRequest;
+import com.quickserve.backend.model.*;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.repository.CustomerRepository;
+import com.quickserve.backend.repository.ServiceProviderRepository;
+import com.quickserve.backend.service.AdminService;
+import com.quickserve.backend.service.CustomerService;
+import com.quickserve.backend.service.ProviderDashboardService;
+import com.quickserve.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingOutboxTest {
+
+    @Autowired private BookingEventDispatcher dispatcher;
+    @Autowired private ProviderDashboardService providerDashboardService;
+    @Autowired private CustomerService customerService;
+    @Autowired private AdminService adminService;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private ServiceProviderRepository providerRepository;
+    @Autowired private TestFixtures fixtures;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void transitionsFromEveryPathAreRecordedAndCounted() {
+        Customer customer = fixtures.customer("Outbox Customer");
+        ServiceProvider provider = fixtures.provider("Outbox Provider", ServiceCategory.PEST_CONTROL);
+        Long userId = customer.getUser().getId();
+
+        Long completedByProvider = booking(customer, provider);
+        providerDashboardService.updateBookingStatus(provider.getId(), completedByProvider,
+                new UpdateBookingStatusRequest("CONFIRMED", null));
+        providerDashboardService.updateBookingStatus(provider.getId(), completedByProvider,
+                new UpdateBookingStatusRequest("COMPLETED", null));
+        Long cancelledByCustomer = booking(customer, provider);
+        customerService.cancelBooking(userId, customer.getId(), cancelledByCustomer, "Plans changed");
+        Long completedByAdmin = booking(customer, provider);
+        adminService.updateBookingStatus(completedByAdmin, BookingStatus.COMPLETED, null);
+
+        // A rolled-back booking leaves no event behind
+        transactionTemplate.executeWithoutResult(status -> {
+            booking(customer, provider);
+            status.setRollbackOnly();
+        });
+
+        assertThat(jdbcTemplate.queryForList("SELECT type FROM booking_events WHERE customer_id = ? ORDER BY id",
+                String.class, userId))
+                .containsExactly("CREATED", "CONFIRMED", "COMPLETED", "CREATED", "CANCELLED", "CREATED", "COMPLETED");
+        // Nothing counted on the write path
+        assertThat(customerRepository.findById(customer.getId()).orElseThrow().getTotalBookings()).isZero();
+
+        assertThat(dispatcher.dispatchPending()).isGreaterThanOrEqualTo(7);
+
+        Customer counted = customerRepository.findById(customer.getId()).orElseThrow();
+        assertThat(counted.getTotalBookings()).isEqualTo(3);
+        assertThat(counted.getCompletedBookings()).isEqualTo(2);
+        assertThat(counted.getCancelledBookings()).isEqualTo(1);
+        assertThat(providerRepository.findById(provider.getId()).orElseThrow().getCompletedJobs()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM booking_events WHERE customer_id = ? AND dispatched_at IS NULL",
+                Integer.class, userId)).isZero();
+    }
+
+    @Test
+    void adminReversalsLeaveTheCountersWhereTheyWere() {
+        Customer customer = fixtures.customer("Reversal Customer");
+        ServiceProvider provider = fixtures.provider("Reversal Provider", ServiceCategory.PEST_CONTROL);
+        Long completed = booking(customer, provider);
+        adminService.updateBookingStatus(completed, BookingStatus.COMPLETED, null);
+        Long cancelled = booking(customer, provider);
+        adminService.updateBookingStatus(cancelled, BookingStatus.CANCELLED, "Duplicate");
+        dispatcher.dispatchPending();
+
+        // Reopened and completed again, un-cancelled and cancelled again
+        adminService.updateBookingStatus(completed, BookingStatus.PENDING, null);
+        adminService.updateBookingStatus(completed, BookingStatus.COMPLETED, null);
+        adminService.updateBookingStatus(cancelled, BookingStatus.CONFIRMED, null);
+        dispatcher.dispatchPending();
+        Customer midway = customerRepository.findById(customer.getId()).orElseThrow();
+        assertThat(midway.getCompletedBookings()).isEqualTo(1);
+        assertThat(midway.getCancelledBookings()).isZero();
+
+        adminService.updateBookingStatus(cancelled, BookingStatus.CANCELLED, "Duplicate");
+        dispatcher.dispatchPending();
+
+        assertThat(jdbcTemplate.queryForList("SELECT type FROM booking_events WHERE booking_id = ? ORDER BY id",
+                String.class, completed)).containsExactly("CREATED", "COMPLETED", "REOPENED", "COMPLETED");
+        Customer counted = customerRepository.findById(customer.getId()).orElseThrow();
+        assertThat(counted.getTotalBookings()).isEqualTo(2);
+        assertThat(counted.getCompletedBookings()).isEqualTo(1);
+        assertThat(counted.getCancelledBookings()).isEqualTo(1);
+        assertThat(providerRepository.findById(provider.getId()).orElseThrow().getCompletedJobs()).isEqualTo(1);
+    }
+
+    private Long booking(Customer customer, ServiceProvider provider) {
+        return fixtures.booking(customer.getUser(), provider, LocalDate.now().plusDays(2), LocalTime.of(15, 0),
+                BookingStatus.PENDING).getId();
+    }
+}
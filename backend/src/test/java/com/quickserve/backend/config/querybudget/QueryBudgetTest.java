@@ -0,0 +1,86 @@
+package com.quickserve.backend.config.querybudget;
+
+import com.quickserve.backend.dto.response.customer.CustomerBookingResponse;
+import com.quickserve.backend.model.*;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.repository.ReviewRepository;
+import com.quickserve.backend.repository.UserRepository;
+import com.quickserve.backend.service.CustomerService;
+import com.quickserve.backend.support.QueryCounts;
+import com.quickserve.backend.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryBudgetTest {
+
+    private static final int BOOKINGS = 6;
+
+    @Autowired private CustomerService customerService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ReviewRepository reviewRepository;
+    @Autowired private TestFixtures fixtures;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private static Long customerId;
+
+    @BeforeEach
+    void createBookings() {
+        if (customerId != null) {
+            return;
+        }
+        User customer = fixtures.user("Budget Customer", Role.CUSTOMER);
+        ServiceProvider provider = fixtures.provider("Budget Provider", ServiceCategory.CLEANING);
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            boolean completed = i % 2 == 0;
+            Booking booking = fixtures.booking(customer, provider, LocalDate.now().minusDays(i + 1), LocalTime.of(10, 0),
+                    completed ? BookingStatus.COMPLETED : BookingStatus.CANCELLED);
+            if (completed) {
+                reviewRepository.save(Review.builder()
+                        .booking(booking)
+                        .customer(customer)
+                        .provider(provider)
+                        .rating(5)
+                        .build());
+            }
+        }
+        customerId = customer.getId();
+    }
+
+    @Test
+    void customerBookingListRunsAFixedNumberOfStatements() {
+        List<CustomerBookingResponse> bookings = QueryCounts.assertAtMost(3, () -> customerService.getBookings(customerId));
+
+        assertThat(bookings).hasSize(BOOKINGS);
+        assertThat(bookings).filteredOn(CustomerBookingResponse::getHasReview).hasSize(BOOKINGS / 2);
+    }
+
+    @Test
+    void repeatedStatementsAreReported() {
+        QueryCounter counter = QueryCounts.count(() -> {
+            for (int i = 0; i < 3; i++) {
+                transactionTemplate.executeWithoutResult(status -> userRepository.findById(customerId));
+            }
+        });
+
+        // One select per load; before the inverse User.serviceProvider mapping was dropped each
+        // load also selected the provider row
+        assertThat(counter.getTotal()).isEqualTo(3);
+        assertThat(counter.repeatedStatements(3)).hasSize(1);
+        assertThat(counter.repeatedStatements(4)).isEmpty();
+    }
+}
@@ -0,0 +1,84 @@
+package com.quickserve.backend.config.ratings;
+
+import com.quickserve.backend.dto.request.customer.CreateReviewRequest;
+import com.quickserve.backend.model.*;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.repository.ServiceProviderRepository;
+import com.quickserve.backend.service.CustomerService;
+import com.quickserve.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RatingHistogramTest {
+
+    private static final int[] RATINGS = {5, 4, 5, 3, 5, 1, 4, 5};
+
+    @Autowired private CustomerService customerService;
+    @Autowired private RatingHistogramRebuilder rebuilder;
+    @Autowired private ServiceProviderRepository providerRepository;
+    @Autowired private TestFixtures fixtures;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentReviewsAreAllCountedAndRebuildRepairsDrift() throws Exception {
+        User customer = fixtures.user("Rating Customer", Role.CUSTOMER);
+        ServiceProvider provider = fixtures.provider("Rating Provider", ServiceCategory.PAINTING);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < RATINGS.length; i++) {
+            bookingIds.add(fixtures.booking(customer, provider, LocalDate.now().minusDays(i + 1), LocalTime.of(11, 0),
+                    BookingStatus.COMPLETED).getId());
+        }
+
+        List<Future<?>> reviews = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < RATINGS.length; i++) {
+                CreateReviewRequest request = new CreateReviewRequest(bookingIds.get(i), RATINGS[i], null);
+                reviews.add(executor.submit(() -> customerService.createReview(customer.getId(), request)));
+            }
+            for (Future<?> review : reviews) {
+                review.get();
+            }
+        }
+
+        ServiceProvider reviewed = providerRepository.findById(provider.getId()).orElseThrow();
+        assertThat(reviewed.getTotalReviews()).isEqualTo(8);
+        assertThat(reviewed.getAverageRating()).isEqualByComparingTo("4.00");
+        assertThat(reviewed.getRatings().distribution())
+                .containsExactly(entry(5, 4L), entry(4, 2L), entry(3, 1L), entry(2, 0L), entry(1, 1L));
+
+        // Written behind the application's back
+        jdbcTemplate.update("UPDATE service_providers SET rating_5_count = 0, rating_sum = 12, total_reviews = 4 WHERE id = ?",
+                provider.getId());
+
+        RatingHistogramRebuilder.Result result = rebuilder.rebuildAll();
+
+        // Other tests in the shared database save reviews directly through the repository
+        assertThat(result.corrected()).isPositive();
+        ServiceProvider rebuilt = providerRepository.findById(provider.getId()).orElseThrow();
+        assertThat(rebuilt.getTotalReviews()).isEqualTo(8);
+        assertThat(rebuilt.getRatings().getSum()).isEqualTo(32);
+        assertThat(rebuilt.getAverageRating()).isEqualByComparingTo("4.00");
+    }
+
+    private static Map.Entry<Integer, Long> entry(int rating, long count) {
+        return Map.entry(rating, count);
+    }
+}
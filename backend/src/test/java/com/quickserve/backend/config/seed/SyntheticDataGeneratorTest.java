@@ -0,0 +1,89 @@
+package com.quickserve.backend.config.seed;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each test loads its own embedded H2 database, migrated by Flyway like the application's
+class SyntheticDataGeneratorTest {
+
+    private static final List<String> ID_TABLES = List.of("users", "customers", "service_providers",
+            "provider_services", "working_hours", "certifications", "bookings", "reviews");
+
+    @Test
+    void loadsConsistentSkewedData() {
+        JdbcTemplate jdbc = database("seed_consistency");
+        SyntheticDataGenerator.Report report = generator(jdbc).generate("{noop}password");
+
+        assertThat(report.rows()).containsEntry("users", 340L).containsEntry("customers", 300L)
+                .containsEntry("service_providers", 40L).containsEntry("working_hours", 280L)
+                .containsEntry("bookings", 3000L);
+        assertThat(report.rows().get("reviews")).isPositive();
+
+        assertThat(jdbc.queryForList("SELECT DISTINCT status FROM bookings", String.class))
+                .containsExactlyInAnyOrder("PENDING", "CONFIRMED", "IN_PROGRESS", "COMPLETED", "CANCELLED");
+        assertThat(count(jdbc, "SELECT COUNT(*) FROM service_providers sp WHERE sp.total_reviews <> "
+                + "(SELECT COUNT(*) FROM reviews r WHERE r.provider_id = sp.id)")).isZero();
+        assertThat(count(jdbc, "SELECT COUNT(*) FROM service_providers sp WHERE sp.rating_5_count <> "
+                + "(SELECT COUNT(*) FROM reviews r WHERE r.provider_id = sp.id AND r.rating = 5) OR sp.rating_sum <> "
+                + "(SELECT COALESCE(SUM(r.rating), 0) FROM reviews r WHERE r.provider_id = sp.id)")).isZero();
+        assertThat(count(jdbc, "SELECT COUNT(*) FROM reviews r JOIN bookings b ON b.id = r.booking_id "
+                + "WHERE b.status <> 'COMPLETED'")).isZero();
+        assertThat(count(jdbc, "SELECT COUNT(*) FROM customers WHERE city = 'Mumbai'"))
+                .isGreaterThan(count(jdbc, "SELECT COUNT(*) FROM customers WHERE city = 'Chandigarh'"));
+
+        // The application's pooled generators must continue above the seeded ids
+        for (String table : ID_TABLES) {
+            long nextVal = count(jdbc, "SELECT next_val FROM id_generators WHERE sequence_name = '" + table + "'");
+            assertThat(nextVal).as(table).isGreaterThan(count(jdbc, "SELECT COALESCE(MAX(id), 0) FROM " + table) + 49);
+        }
+    }
+
+    @Test
+    void sameSeedGivesSameRowsAndLoadsOnce() {
+        JdbcTemplate first = database("seed_run_a");
+        JdbcTemplate second = database("seed_run_b");
+        generator(first).generate("{noop}password");
+        generator(second).generate("{noop}password");
+
+        String bookings = "SELECT id, customer_id, provider_id, service_id, booking_date, status, price FROM bookings ORDER BY id";
+        String reviews = "SELECT booking_id, rating FROM reviews ORDER BY id";
+        assertThat(second.queryForList(bookings)).isEqualTo(first.queryForList(bookings));
+        assertThat(second.queryForList(reviews)).isEqualTo(first.queryForList(reviews));
+
+        assertThat(generator(first).generate("{noop}password").rows()).isEmpty();
+        assertThat(count(first, "SELECT COUNT(*) FROM bookings")).isEqualTo(3000);
+    }
+
+    private static SyntheticDataGenerator generator(JdbcTemplate jdbc) {
+        SyntheticDataProperties properties = new SyntheticDataProperties();
+        properties.setSeed(7);
+        properties.setReferenceDate(LocalDate.of(2025, 3, 1));
+        properties.setCustomers(300);
+        properties.setProviders(40);
+        properties.setBookings(3000);
+        properties.setBatchSize(250);
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+        return new SyntheticDataGenerator(jdbc, transactionTemplate, properties);
+    }
+
+    private static JdbcTemplate database(String name) {
+        String url = "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        return new JdbcTemplate(new SimpleDriverDataSource(new org.h2.Driver(), url, "sa", ""));
+    }
+
+    private static long count(JdbcTemplate jdbc, String sql) {
+        Long value = jdbc.queryForObject(sql, Long.class);
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,158 @@
+package com.quickserve.backend.config.stream;
+
+import com.quickserve.backend.dto.request.UpdateBookingStatusRequest;
+import com.quickserve.backend.model.*;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.security.UserPrincipal;
+import com.quickserve.backend.service.ProviderDashboardService;
+import com.quickserve.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProviderEventStreamTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ProviderEventStream stream;
+    @Autowired private ProviderDashboardService providerDashboardService;
+    @Autowired private TestFixtures fixtures;
+    @Autowired private ProviderStreamProperties properties;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bookingEventsArePushedAndReplayedOnResume() throws Exception {
+        User customer = fixtures.user("Stream Customer", Role.CUSTOMER);
+        ServiceProvider provider = fixtures.provider("Stream Provider", ServiceCategory.PLUMBING);
+        UserPrincipal principal = new UserPrincipal(provider.getUser().getId(), provider.getUser().getEmail(),
+                "not-used", Role.SERVICE_PROVIDER, null, provider.getId());
+
+        MockHttpServletResponse live = open(principal, null);
+        assertThat(live.getContentAsString()).contains("event:" + ProviderEventStream.READY);
+        String readyId = live.getContentAsString().lines()
+                .filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3);
+
+        Long bookingId = fixtures.booking(customer, provider, LocalDate.now().plusDays(1), LocalTime.of(11, 0),
+                BookingStatus.PENDING).getId();
+        stream.poll();
+        awaitContent(live, "\"bookingId\":" + bookingId);
+        assertThat(live.getContentAsString())
+                .contains("event:" + ProviderEventStream.BOOKING_CREATED)
+                .contains("\"bookingId\":" + bookingId)
+                .contains("\"statsDelta\":{\"totalBookings\":1,\"pendingBookings\":1}");
+
+        // A client that dropped after "ready" gets the booking it missed, then live updates
+        MockHttpServletResponse resumed = open(principal, readyId);
+        assertThat(resumed.getContentAsString()).contains("event:" + ProviderEventStream.BOOKING_CREATED);
+
+        providerDashboardService.updateBookingStatus(provider.getId(), bookingId,
+                new UpdateBookingStatusRequest("CONFIRMED", null));
+        stream.poll();
+        for (MockHttpServletResponse response : new MockHttpServletResponse[] {live, resumed}) {
+            awaitContent(response, "event:" + ProviderEventStream.BOOKING_STATUS_CHANGED);
+            String content = response.getContentAsString();
+            assertThat(content).contains("event:" + ProviderEventStream.BOOKING_STATUS_CHANGED)
+                    .contains("\"statsDelta\":{\"pendingBookings\":-1}");
+            assertThat(content.indexOf("event:" + ProviderEventStream.BOOKING_CREATED))
+                    .isEqualTo(content.lastIndexOf("event:" + ProviderEventStream.BOOKING_CREATED));
+        }
+        stream.closeAll();
+    }
+
+    @Test
+    void anEventCommittedAfterTheTailSkippedItIsStillSent() throws Exception {
+        User customer = fixtures.user("Late Customer", Role.CUSTOMER);
+        ServiceProvider provider = fixtures.provider("Late Provider", ServiceCategory.PLUMBING);
+        UserPrincipal principal = new UserPrincipal(provider.getUser().getId(), provider.getUser().getEmail(),
+                "not-used", Role.SERVICE_PROVIDER, null, provider.getId());
+        Booking slow = fixtures.booking(customer, provider, LocalDate.now().plusDays(1), LocalTime.of(9, 0),
+                BookingStatus.PENDING);
+        MockHttpServletResponse live = open(principal, null);
+
+        // Takes the next event id now and commits only when released, after a later event
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> inFlight = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("INSERT INTO booking_events (booking_id, provider_id, customer_id, type, "
+                                    + "previous_status, status, occurred_at) VALUES (?, ?, ?, 'CONFIRMED', 'PENDING', "
+                                    + "'CONFIRMED', ?)",
+                            slow.getId(), provider.getId(), customer.getId(), LocalDateTime.now());
+                    inserted.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        inserted.await();
+        Long nextId = fixtures.booking(customer, provider, LocalDate.now().plusDays(1), LocalTime.of(13, 0),
+                BookingStatus.PENDING).getId();
+
+        Duration gapTimeout = properties.getGapTimeout();
+        properties.setGapTimeout(Duration.ZERO);
+        try {
+            stream.poll();
+            stream.poll();
+            awaitContent(live, "\"bookingId\":" + nextId);
+            assertThat(live.getContentAsString()).contains("\"bookingId\":" + nextId)
+                    .doesNotContain("event:" + ProviderEventStream.BOOKING_STATUS_CHANGED);
+
+            release.countDown();
+            inFlight.join();
+            stream.poll();
+            awaitContent(live, "event:" + ProviderEventStream.BOOKING_STATUS_CHANGED);
+        } finally {
+            properties.setGapTimeout(gapTimeout);
+            release.countDown();
+        }
+        Long lateId = jdbcTemplate.queryForObject(
+                "SELECT id FROM booking_events WHERE booking_id = ? AND type = 'CONFIRMED'", Long.class, slow.getId());
+        // Sent after the newer event, without an id that would move the client's Last-Event-ID back
+        assertThat(live.getContentAsString())
+                .contains("event:" + ProviderEventStream.BOOKING_STATUS_CHANGED)
+                .doesNotContain("id:" + lateId + "\n");
+        stream.closeAll();
+    }
+
+    // Events are written by each connection's own writer after the poll returns
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!response.getContentAsString().contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private MockHttpServletResponse open(UserPrincipal principal, String lastEventId) throws Exception {
+        var request = get("/api/provider/stream").with(user(principal));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+}
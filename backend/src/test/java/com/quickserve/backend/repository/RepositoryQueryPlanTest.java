@@ -0,0 +1,249 @@
+package com.quickserve.backend.repository;
+
+import com.quickserve.backend.model.ServiceProvider;
+import com.quickserve.backend.model.User;
+import com.quickserve.backend.model.enums.AccountStatus;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Runs every declared query of the booking, review, user, provider and booking event repositories,
+ * captures the SQL Hibernate issues and fails if EXPLAIN shows a full table scan for any of it. The
+ * schema is the one built by the Flyway migrations, so a missing index in db/migration shows up here.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.quickserve.backend.repository.RepositoryQueryPlanTest$SqlRecorder")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ReviewRepository reviewRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ServiceProviderRepository providerRepository;
+    @Autowired private BookingEventRepository eventRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        ServiceProvider provider = providerRepository.getReferenceById(1L);
+        User user = userRepository.getReferenceById(1L);
+        LocalDate today = LocalDate.now();
+        LocalDateTime since = today.atStartOfDay().minusDays(30);
+        List<BookingStatus> active = List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        // ==================== BookingRepository ====================
+        queries.put("BookingRepository.findByProviderOrderByBookingDateDescBookingTimeDesc",
+                () -> bookingRepository.findByProviderOrderByBookingDateDescBookingTimeDesc(provider));
+        queries.put("BookingRepository.findByProviderOrderByBookingDateDescBookingTimeDesc(Pageable)",
+                () -> bookingRepository.findByProviderOrderByBookingDateDescBookingTimeDesc(provider, PageRequest.of(0, 20)));
+        queries.put("BookingRepository.findPageByProvider",
+                () -> bookingRepository.findPageByProvider(1L, EnumSet.allOf(BookingStatus.class), today.minusDays(30),
+                        today, today, LocalTime.NOON, 100L, PageRequest.of(0, 51)));
+        queries.put("BookingRepository.findChangedByProvider",
+                () -> bookingRepository.findChangedByProvider(1L, since, 100L, PageRequest.of(0, 51)));
+        queries.put("BookingRepository.findByIdForUpdate",
+                () -> bookingRepository.findByIdForUpdate(1L));
+        queries.put("BookingRepository.findAllByIdForUpdate",
+                () -> bookingRepository.findAllByIdForUpdate(List.of(1L, 2L, 3L)));
+        queries.put("BookingRepository.findByProviderAndStatus",
+                () -> bookingRepository.findByProviderAndStatus(provider, BookingStatus.PENDING));
+        queries.put("BookingRepository.findByProviderAndBookingDate",
+                () -> bookingRepository.findByProviderAndBookingDate(provider, today));
+        queries.put("BookingRepository.findByProviderAndBookingDateAndStatusIn",
+                () -> bookingRepository.findByProviderAndBookingDateAndStatusIn(provider, today, active));
+        queries.put("BookingRepository.findByCustomerOrderByBookingDateDescBookingTimeDesc",
+                () -> bookingRepository.findByCustomerOrderByBookingDateDescBookingTimeDesc(user));
+        queries.put("BookingRepository.countByProviderAndStatus",
+                () -> bookingRepository.countByProviderAndStatus(provider, BookingStatus.COMPLETED));
+        queries.put("BookingRepository.getTotalEarningsByProvider",
+                () -> bookingRepository.getTotalEarningsByProvider(provider));
+        queries.put("BookingRepository.getEarningsByProviderSince",
+                () -> bookingRepository.getEarningsByProviderSince(provider, since));
+        queries.put("BookingRepository.countCompletedByProviderSince",
+                () -> bookingRepository.countCompletedByProviderSince(provider, since));
+        queries.put("BookingRepository.findStalePendingForUpdate",
+                () -> bookingRepository.findStalePendingForUpdate(0L, today, LocalTime.NOON, since, PageRequest.of(0, 200)));
+        queries.put("BookingRepository.findTop5ByProviderOrderByCreatedAtDesc",
+                () -> bookingRepository.findTop5ByProviderOrderByCreatedAtDesc(provider));
+        queries.put("BookingRepository.findUpcomingByProvider",
+                () -> bookingRepository.findUpcomingByProvider(provider, today));
+        queries.put("BookingRepository.findByStatus",
+                () -> bookingRepository.findByStatus(BookingStatus.PENDING));
+        queries.put("BookingRepository.countByStatus",
+                () -> bookingRepository.countByStatus(BookingStatus.PENDING));
+        queries.put("BookingRepository.findTop10ByOrderByCreatedAtDesc",
+                () -> bookingRepository.findTop10ByOrderByCreatedAtDesc());
+        queries.put("BookingRepository.findByProviderId",
+                () -> bookingRepository.findByProviderId(1L));
+        queries.put("BookingRepository.countByProviderId",
+                () -> bookingRepository.countByProviderId(1L));
+        queries.put("BookingRepository.countByProviderIdAndStatus",
+                () -> bookingRepository.countByProviderIdAndStatus(1L, BookingStatus.COMPLETED));
+        queries.put("BookingRepository.findByCustomerId",
+                () -> bookingRepository.findByCustomerId(1L));
+        queries.put("BookingRepository.countByCustomerId",
+                () -> bookingRepository.countByCustomerId(1L));
+
+        // ==================== ReviewRepository ====================
+        queries.put("ReviewRepository.findByProviderOrderByCreatedAtDesc",
+                () -> reviewRepository.findByProviderOrderByCreatedAtDesc(provider));
+        queries.put("ReviewRepository.findByProviderOrderByCreatedAtDesc(Pageable)",
+                () -> reviewRepository.findByProviderOrderByCreatedAtDesc(provider, PageRequest.of(0, 20)));
+        queries.put("ReviewRepository.findByCustomerOrderByCreatedAtDesc",
+                () -> reviewRepository.findByCustomerOrderByCreatedAtDesc(user));
+        queries.put("ReviewRepository.findByBookingId",
+                () -> reviewRepository.findByBookingId(1L));
+        queries.put("ReviewRepository.existsByBookingId",
+                () -> reviewRepository.existsByBookingId(1L));
+        queries.put("ReviewRepository.findRatingsByBookingIds",
+                () -> reviewRepository.findRatingsByBookingIds(List.of(1L, 2L, 3L)));
+        queries.put("ReviewRepository.countRatingsByProviderIds",
+                () -> reviewRepository.countRatingsByProviderIds(List.of(1L, 2L, 3L)));
+
+        // ==================== UserRepository ====================
+        queries.put("UserRepository.findByEmail",
+                () -> userRepository.findByEmail("user@example.com"));
+        queries.put("UserRepository.findByPhone",
+                () -> userRepository.findByPhone("9999999999"));
+        queries.put("UserRepository.existsByEmail",
+                () -> userRepository.existsByEmail("user@example.com"));
+        queries.put("UserRepository.existsByPhone",
+                () -> userRepository.existsByPhone("9999999999"));
+        queries.put("UserRepository.findPrincipalByEmail",
+                () -> userRepository.findPrincipalByEmail("user@example.com"));
+        queries.put("UserRepository.findPrincipalById",
+                () -> userRepository.findPrincipalById(1L));
+        queries.put("UserRepository.findByRole",
+                () -> userRepository.findByRole(Role.CUSTOMER));
+        queries.put("UserRepository.findByStatus",
+                () -> userRepository.findByStatus(AccountStatus.ACTIVE));
+        queries.put("UserRepository.findByRoleAndStatus",
+                () -> userRepository.findByRoleAndStatus(Role.CUSTOMER, AccountStatus.ACTIVE));
+        queries.put("UserRepository.countByRole",
+                () -> userRepository.countByRole(Role.CUSTOMER));
+        queries.put("UserRepository.countByRoleAndStatus",
+                () -> userRepository.countByRoleAndStatus(Role.SERVICE_PROVIDER, AccountStatus.ACTIVE));
+        queries.put("UserRepository.findTop10ByOrderByCreatedAtDesc",
+                () -> userRepository.findTop10ByOrderByCreatedAtDesc());
+        queries.put("UserRepository.updatePasswordByEmail",
+                () -> userRepository.updatePasswordByEmail("user@example.com", "hash"));
+
+        // ==================== ServiceProviderRepository ====================
+        queries.put("ServiceProviderRepository.findByUserId",
+                () -> providerRepository.findByUserId(1L));
+        queries.put("ServiceProviderRepository.findByUser",
+                () -> providerRepository.findByUser(user));
+        queries.put("ServiceProviderRepository.findByIdWithUser",
+                () -> providerRepository.findByIdWithUser(1L));
+        queries.put("ServiceProviderRepository.findByIdForUpdate",
+                () -> providerRepository.findByIdForUpdate(1L));
+        queries.put("ServiceProviderRepository.findAllByIdForUpdate",
+                () -> providerRepository.findAllByIdForUpdate(List.of(1L, 2L, 3L)));
+        queries.put("ServiceProviderRepository.findProfileViewsById",
+                () -> providerRepository.findProfileViewsById(1L));
+        queries.put("ServiceProviderRepository.findIdsAfter",
+                () -> providerRepository.findIdsAfter(0L, PageRequest.of(0, 500)));
+        queries.put("ServiceProviderRepository.findByPrimaryService",
+                () -> providerRepository.findByPrimaryService(ServiceCategory.PLUMBING));
+        queries.put("ServiceProviderRepository.findByCity",
+                () -> providerRepository.findByCity("Pune"));
+        queries.put("ServiceProviderRepository.findByIsAvailableTrue",
+                () -> providerRepository.findByIsAvailableTrue());
+        queries.put("ServiceProviderRepository.countByPrimaryService",
+                () -> providerRepository.countByPrimaryService(ServiceCategory.PLUMBING));
+        queries.put("ServiceProviderRepository.findAvailableProvidersByCityAndCategory",
+                () -> providerRepository.findAvailableProvidersByCityAndCategory("Pune", ServiceCategory.PLUMBING));
+        queries.put("ServiceProviderRepository.findAvailableByCategory",
+                () -> providerRepository.findAvailableByCategory(ServiceCategory.PLUMBING));
+        queries.put("ServiceProviderRepository.existsByAadharNumber",
+                () -> providerRepository.existsByAadharNumber("123412341234"));
+
+        // ==================== BookingEventRepository ====================
+        queries.put("BookingEventRepository.findUndispatched",
+                () -> eventRepository.findUndispatched(PageRequest.of(0, 200)));
+        queries.put("BookingEventRepository.findAfter",
+                () -> eventRepository.findAfter(100L, PageRequest.of(0, 500)));
+        queries.put("BookingEventRepository.findByProviderAfter",
+                () -> eventRepository.findByProviderAfter(1L, 100L, 200L, PageRequest.of(0, 501)));
+        queries.put("BookingEventRepository.findMaxId", eventRepository::findMaxId);
+        queries.put("BookingEventRepository.findMinId", eventRepository::findMinId);
+        queries.put("BookingEventRepository.markDispatched",
+                () -> eventRepository.markDispatched(List.of(1L, 2L), since));
+        queries.put("BookingEventRepository.deleteDispatchedBefore",
+                () -> eventRepository.deleteDispatchedBefore(since));
+
+        return queries.entrySet().stream()
+                .map(query -> dynamicTest(query.getKey(), () -> assertNoTableScan(query.getKey(), query.getValue())));
+    }
+
+    private void assertNoTableScan(String name, Runnable query) {
+        SqlRecorder.start();
+        List<String> statements;
+        try {
+            query.run();
+        } finally {
+            statements = SqlRecorder.stop();
+        }
+        assertFalse(statements.isEmpty(), name + " issued no SQL");
+
+        for (String sql : statements) {
+            // Parameters stay unbound; H2 plans "?" placeholders without values
+            String plan = jdbcTemplate.query(con -> con.prepareStatement("EXPLAIN " + sql),
+                    rs -> rs.next() ? rs.getString(1) : "");
+            if (plan != null && plan.contains(".tableScan")) {
+                fail(name + " scans a whole table:\n" + sql + "\n\nPlan:\n" + plan);
+            }
+        }
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+        static void start() {
+            RECORDED.set(new ArrayList<>());
+        }
+
+        static List<String> stop() {
+            List<String> recorded = RECORDED.get();
+            RECORDED.remove();
+            return recorded;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> recorded = RECORDED.get();
+            if (recorded != null) {
+                recorded.add(sql);
+            }
+            return sql;
+        }
+    }
+}
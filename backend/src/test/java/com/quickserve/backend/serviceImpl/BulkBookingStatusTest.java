@@ -0,0 +1,100 @@
+package com.quickserve.backend.serviceImpl;
+
+import com.quickserve.backend.config.outbox.BookingEventDispatcher;
+import com.quickserve.backend.config.querybudget.QueryCounter;
+import com.quickserve.backend.dto.request.BulkBookingStatusRequest;
+import com.quickserve.backend.dto.response.BulkBookingStatusResponse;
+import com.quickserve.backend.exception.BadRequestException;
+import com.quickserve.backend.exception.ResourceNotFoundException;
+import com.quickserve.backend.model.*;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.repository.BookingRepository;
+import com.quickserve.backend.repository.CustomerRepository;
+import com.quickserve.backend.repository.ServiceProviderRepository;
+import com.quickserve.backend.service.AdminService;
+import com.quickserve.backend.service.ProviderDashboardService;
+import com.quickserve.backend.support.QueryCounts;
+import com.quickserve.backend.support.TestFixtures;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkBookingStatusTest {
+
+    @Autowired private ProviderDashboardService providerDashboardService;
+    @Autowired private AdminService adminService;
+    @Autowired private BookingEventDispatcher dispatcher;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private ServiceProviderRepository providerRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private TestFixtures fixtures;
+    @Autowired private Validator validator;
+
+    @Test
+    void nullBookingIdsFailValidation() {
+        BulkBookingStatusRequest request = new BulkBookingStatusRequest(Arrays.asList(1L, null), "confirmed", null);
+        assertThat(validator.validate(request)).extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactly("bookingIds[1].<list element>");
+    }
+
+    @Test
+    void bookingsChangeTogetherOrNotAtAll() {
+        Customer customer = fixtures.customer("Bulk Customer");
+        ServiceProvider provider = fixtures.provider("Bulk Provider", ServiceCategory.CLEANING);
+        List<Long> bookings = new ArrayList<>();
+        for (int hour = 9; hour < 13; hour++) {
+            bookings.add(fixtures.booking(customer.getUser(), provider, LocalDate.now().plusDays(1),
+                    LocalTime.of(hour, 0), BookingStatus.PENDING).getId());
+        }
+        List<Long> day = bookings.subList(0, 3);
+
+        // One locking read and one batch of updates, however many bookings
+        QueryCounter counter = QueryCounts.count(() -> providerDashboardService.updateBookingStatuses(
+                provider.getId(), new BulkBookingStatusRequest(day, "confirmed", null)));
+        assertThat(counter.repeatedStatements(2)).isEmpty();
+        assertThat(counter.getTotal()).isLessThanOrEqualTo(3);
+        assertThat(day).allSatisfy(id -> assertThat(status(id)).isEqualTo(BookingStatus.CONFIRMED));
+
+        // The fourth booking is still PENDING, so nothing is completed
+        assertThatThrownBy(() -> providerDashboardService.updateBookingStatuses(provider.getId(),
+                new BulkBookingStatusRequest(bookings, "COMPLETED", null)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(bookings.get(3) + " (PENDING)");
+        assertThat(status(bookings.get(0))).isEqualTo(BookingStatus.CONFIRMED);
+        assertThatThrownBy(() -> providerDashboardService.updateBookingStatuses(provider.getId(),
+                new BulkBookingStatusRequest(List.of(bookings.get(0), -1L), "COMPLETED", null)))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        BulkBookingStatusResponse completed = providerDashboardService.updateBookingStatuses(provider.getId(),
+                new BulkBookingStatusRequest(day, "COMPLETED", null));
+        assertThat(completed.getUpdated()).isEqualTo(3);
+        adminService.updateBookingStatuses(new BulkBookingStatusRequest(List.of(bookings.get(3)), "CANCELLED",
+                "Provider unavailable"));
+        assertThat(bookingRepository.findById(bookings.get(3)).orElseThrow().getCancellationReason())
+                .isEqualTo("Provider unavailable");
+
+        dispatcher.dispatchPending();
+        Customer counted = customerRepository.findById(customer.getId()).orElseThrow();
+        assertThat(counted.getCompletedBookings()).isEqualTo(3);
+        assertThat(counted.getCancelledBookings()).isEqualTo(1);
+        assertThat(providerRepository.findById(provider.getId()).orElseThrow().getCompletedJobs()).isEqualTo(3);
+    }
+
+    private BookingStatus status(Long bookingId) {
+        return bookingRepository.findById(bookingId).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,103 @@
+package com.quickserve.backend.serviceImpl;
+
+import com.quickserve.backend.dto.request.ProviderBookingQuery;
+import com.quickserve.backend.dto.request.UpdateBookingStatusRequest;
+import com.quickserve.backend.dto.response.BookingPageResponse;
+import com.quickserve.backend.dto.response.BookingSummaryResponse;
+import com.quickserve.backend.exception.BadRequestException;
+import com.quickserve.backend.model.*;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.service.ProviderDashboardService;
+import com.quickserve.backend.support.QueryCounts;
+import com.quickserve.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProviderBookingPageTest {
+
+    @Autowired private ProviderDashboardService providerDashboardService;
+    @Autowired private TestFixtures fixtures;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bookingsArePagedFilteredAndSyncedIncrementally() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        User customer = fixtures.user("Page Customer", Role.CUSTOMER);
+        ServiceProvider provider = fixtures.provider("Page Provider", ServiceCategory.PAINTING);
+        BookingStatus[] statuses = {BookingStatus.PENDING, BookingStatus.PENDING, BookingStatus.CONFIRMED,
+                BookingStatus.PENDING, BookingStatus.COMPLETED};
+        for (int day = 1; day <= statuses.length; day++) {
+            fixtures.booking(customer, provider, LocalDate.now().plusDays(day), LocalTime.of(9, 0), statuses[day - 1]);
+        }
+        Long providerId = provider.getId();
+        LocalDate today = LocalDate.now();
+
+        // Newest booking date first, two at a time, one statement per page
+        BookingPageResponse first = page(providerId, ProviderBookingQuery.builder().limit(2).build());
+        BookingPageResponse second = page(providerId, ProviderBookingQuery.builder().limit(2).cursor(first.getNextCursor()).build());
+        BookingPageResponse third = page(providerId, ProviderBookingQuery.builder().limit(2).cursor(second.getNextCursor()).build());
+        assertThat(dates(first)).containsExactly(today.plusDays(5), today.plusDays(4));
+        assertThat(dates(second)).containsExactly(today.plusDays(3), today.plusDays(2));
+        assertThat(dates(third)).containsExactly(today.plusDays(1));
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(third.isHasMore()).isFalse();
+        assertThat(third.getNextCursor()).isNull();
+
+        BookingPageResponse filtered = page(providerId, ProviderBookingQuery.builder()
+                .status(List.of("pending", "confirmed")).from(today.plusDays(2)).to(today.plusDays(4)).build());
+        assertThat(dates(filtered)).containsExactly(today.plusDays(4), today.plusDays(3), today.plusDays(2));
+        assertThat(filtered.getBookings()).extracting(BookingSummaryResponse::getStatus).doesNotContain("completed");
+
+        // Incremental: everything changed since the seed. These changes are too recent for the cursor to
+        // pass, so the next poll repeats them, with the new change last.
+        BookingPageResponse changed = page(providerId, ProviderBookingQuery.builder().since(before).build());
+        assertThat(changed.getBookings()).hasSize(5);
+        Long confirmed = changed.getBookings().get(0).getId();
+        providerDashboardService.updateBookingStatus(providerId, confirmed, new UpdateBookingStatusRequest("CONFIRMED", null));
+        BookingPageResponse later = page(providerId, ProviderBookingQuery.builder()
+                .since(before).cursor(changed.getNextCursor()).build());
+        assertThat(later.getBookings()).hasSize(5);
+        assertThat(later.getBookings().get(4).getId()).isEqualTo(confirmed);
+        assertThat(later.getBookings().get(4).getStatus()).isEqualTo("confirmed");
+
+        // Once the changes are older than the commit lag, the cursor moves past them
+        jdbcTemplate.update("UPDATE bookings SET updated_at = ? WHERE provider_id = ?",
+                LocalDateTime.now().minusMinutes(5), providerId);
+        BookingPageResponse settled = page(providerId, ProviderBookingQuery.builder()
+                .since(before.minusMinutes(10)).limit(3).build());
+        assertThat(settled.isHasMore()).isTrue();
+        BookingPageResponse rest = page(providerId, ProviderBookingQuery.builder()
+                .since(before.minusMinutes(10)).limit(3).cursor(settled.getNextCursor()).build());
+        assertThat(rest.getBookings()).hasSize(2);
+        assertThat(page(providerId, ProviderBookingQuery.builder()
+                .since(before.minusMinutes(10)).cursor(rest.getNextCursor()).build()).getBookings()).isEmpty();
+
+        assertThatThrownBy(() -> page(providerId, ProviderBookingQuery.builder().cursor("not a cursor").build()))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> page(providerId, ProviderBookingQuery.builder().status(List.of("lost")).build()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private BookingPageResponse page(Long providerId, ProviderBookingQuery query) {
+        return QueryCounts.assertAtMost(1, () -> providerDashboardService.getBookings(providerId, query));
+    }
+
+    private static List<LocalDate> dates(BookingPageResponse page) {
+        return page.getBookings().stream().map(BookingSummaryResponse::getDate).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.quickserve.backend.serviceImpl;
+
+import com.quickserve.backend.config.querybudget.QueryCounter;
+import com.quickserve.backend.dto.request.UpdateProfileRequest;
+import com.quickserve.backend.dto.request.UpdateProfileRequest.CertificationDto;
+import com.quickserve.backend.dto.request.UpdateProfileRequest.WorkingHoursDto;
+import com.quickserve.backend.dto.response.ProviderProfileResponse;
+import com.quickserve.backend.model.ServiceProvider;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.repository.ServiceProviderRepository;
+import com.quickserve.backend.service.ProviderDashboardService;
+import com.quickserve.backend.support.QueryCounts;
+import com.quickserve.backend.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProviderProfileUpdateTest {
+
+    private static final List<String> DAYS =
+            List.of("monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday");
+
+    @Autowired private ProviderDashboardService providerDashboardService;
+    @Autowired private TestFixtures fixtures;
+    @Autowired private ServiceProviderRepository providerRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void workingHoursAndCertificationsAreSavedAsADiff() {
+        Long providerId = fixtures.provider("Profile Provider", ServiceCategory.ELECTRICAL).getId();
+
+        Map<String, WorkingHoursDto> week = new LinkedHashMap<>();
+        DAYS.forEach(day -> week.put(day, new WorkingHoursDto("09:00", "18:00", !day.equals("sunday"))));
+        save(providerId, week, List.of(new CertificationDto("Electrical Safety", "NSDC", "2019"),
+                new CertificationDto("Solar Installation", "SkillIndia", "2021")));
+        List<Long> certIds = certificationIds(providerId);
+
+        // Saturday changes, Sunday is dropped, one certification is replaced; the rest is left alone
+        Map<String, WorkingHoursDto> changed = new LinkedHashMap<>(week);
+        changed.put("saturday", new WorkingHoursDto("10:00", "14:00", true));
+        changed.put("sunday", null);
+        QueryCounter counter = QueryCounts.count(() -> save(providerId, changed, List.of(
+                new CertificationDto("Electrical Safety", "NSDC", "2019"),
+                new CertificationDto("Inverter Repair", "NSDC", "2023"))));
+        // Three loads, then one batch per kind of change, then the response
+        assertThat(counter.getTotal()).isLessThanOrEqualTo(8);
+        assertThat(counter.repeatedStatements(2)).isEmpty();
+
+        ProviderProfileResponse profile = providerDashboardService.getProfile(providerId);
+        assertThat(profile.getWorkingHours().get("saturday").getOpen()).isEqualTo("10:00");
+        assertThat(profile.getWorkingHours().get("monday").getOpen()).isEqualTo("09:00");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM working_hours WHERE provider_id = ?",
+                Integer.class, providerId)).isEqualTo(6);
+        assertThat(profile.getCertifications()).extracting(ProviderProfileResponse.CertificationDto::getName)
+                .containsExactlyInAnyOrder("Electrical Safety", "Inverter Repair");
+        // The unchanged certification keeps its row
+        assertThat(certificationIds(providerId)).containsAnyElementsOf(certIds).hasSize(2);
+    }
+
+    @Test
+    void aSecondaryThatWasThePrimaryOutlivesAPrimaryChange() {
+        Long providerId = fixtures.provider("Category Provider", ServiceCategory.ELECTRICAL).getId();
+
+        UpdateProfileRequest secondaries = new UpdateProfileRequest();
+        secondaries.setSecondaryServices(List.of("ELECTRICAL", "PLUMBING"));
+        providerDashboardService.updateProfile(providerId, secondaries);
+        UpdateProfileRequest primary = new UpdateProfileRequest();
+        primary.setPrimaryService("HVAC");
+        providerDashboardService.updateProfile(providerId, primary);
+
+        ProviderProfileResponse profile = providerDashboardService.getProfile(providerId);
+        assertThat(profile.getPrimaryService()).isEqualTo("HVAC");
+        assertThat(profile.getSecondaryServices()).containsExactlyInAnyOrder("ELECTRICAL", "PLUMBING");
+        assertThat(providerRepository.findAvailableByCategory(ServiceCategory.ELECTRICAL))
+                .extracting(ServiceProvider::getId).contains(providerId);
+        assertThat(providerRepository.findAvailableByCategory(ServiceCategory.HVAC))
+                .extracting(ServiceProvider::getId).contains(providerId);
+    }
+
+    private void save(Long providerId, Map<String, WorkingHoursDto> workingHours, List<CertificationDto> certifications) {
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setWorkingHours(workingHours);
+        request.setCertifications(certifications);
+        providerDashboardService.updateProfile(providerId, request);
+    }
+
+    private List<Long> certificationIds(Long providerId) {
+        return jdbcTemplate.queryForList("SELECT id FROM certifications WHERE provider_id = ?", Long.class, providerId);
+    }
+}
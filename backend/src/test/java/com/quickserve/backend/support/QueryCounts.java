@@ -0,0 +1,45 @@
+package com.quickserve.backend.support;
+
+import com.quickserve.backend.config.querybudget.QueryCounter;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements Hibernate runs for a piece of work on the calling thread, e.g.
+ * {@code QueryCounts.assertAtMost(3, () -> customerService.getBookings(userId))}.
+ * Needs a full application context, where the counting statement inspector is registered.
+ */
+public final class QueryCounts {
+
+    private QueryCounts() {
+    }
+
+    public static QueryCounter count(Runnable work) {
+        QueryCounter counter = QueryCounter.start("test", Integer.MAX_VALUE, false);
+        try {
+            work.run();
+        } finally {
+            QueryCounter.stop();
+        }
+        return counter;
+    }
+
+    public static <T> T assertAtMost(int maxStatements, Supplier<T> work) {
+        Object[] result = new Object[1];
+        QueryCounter counter = count(() -> result[0] = work.get());
+        assertThat(counter.getTotal())
+                .as("SQL statements run (repeated: %s)", counter.repeatedStatements(2))
+                .isLessThanOrEqualTo(maxStatements);
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+
+    public static void assertNoRepeats(int threshold, Runnable work) {
+        assertThat(count(work).repeatedStatements(threshold))
+                .as("statements run %d or more times", threshold)
+                .isEmpty();
+    }
+}
@@ -0,0 +1,130 @@
+package com.quickserve.backend.support;
+
+import com.quickserve.backend.model.Booking;
+import com.quickserve.backend.model.Customer;
+import com.quickserve.backend.model.ProviderService;
+import com.quickserve.backend.model.ServiceProvider;
+import com.quickserve.backend.model.User;
+import com.quickserve.backend.model.enums.AccountStatus;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.repository.BookingRepository;
+import com.quickserve.backend.repository.CustomerRepository;
+import com.quickserve.backend.repository.ProviderServiceRepository;
+import com.quickserve.backend.repository.ServiceProviderRepository;
+import com.quickserve.backend.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saves the accounts, providers and bookings a test starts from, e.g.
+ * {@code ServiceProvider provider = fixtures.provider("Page Provider", ServiceCategory.PAINTING)}.
+ * Emails, phones and Aadhar numbers are numbered, so tests sharing a context and its database never
+ * collide. Each call commits on its own, or joins the caller's transaction; the entities returned
+ * can be passed straight back in.
+ */
+@Component
+@Transactional
+public class TestFixtures {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final UserRepository userRepository;
+    private final CustomerRepository customerRepository;
+    private final ServiceProviderRepository providerRepository;
+    private final ProviderServiceRepository serviceRepository;
+    private final BookingRepository bookingRepository;
+
+    public TestFixtures(UserRepository userRepository, CustomerRepository customerRepository,
+                        ServiceProviderRepository providerRepository, ProviderServiceRepository serviceRepository,
+                        BookingRepository bookingRepository) {
+        this.userRepository = userRepository;
+        this.customerRepository = customerRepository;
+        this.providerRepository = providerRepository;
+        this.serviceRepository = serviceRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    /** An active account; its email is {@code fixture<n>@test.local}. */
+    public User user(String name, Role role) {
+        int n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .fullName(name)
+                .email("fixture" + n + "@test.local")
+                .phone(String.format("70%08d", n))
+                .password("not-used")
+                .role(role)
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+
+    /** A customer account with a profile whose booking counters start at zero. */
+    public Customer customer(String name) {
+        return customerRepository.save(Customer.builder()
+                .user(user(name, Role.CUSTOMER))
+                .address("1 Fixture Lane")
+                .city("Pune")
+                .state("Maharashtra")
+                .pincode("411001")
+                .totalBookings(0)
+                .completedBookings(0)
+                .cancelledBookings(0)
+                .build());
+    }
+
+    /** A provider account offering one active service, which {@link #booking} books. */
+    public ServiceProvider provider(String name, ServiceCategory category) {
+        int n = SEQUENCE.incrementAndGet();
+        ServiceProvider provider = ServiceProvider.builder()
+                .user(user(name, Role.SERVICE_PROVIDER))
+                .aadharNumber(String.format("7000%08d", n))
+                .address("2 Fixture Road")
+                .city("Pune")
+                .state("Maharashtra")
+                .pincode("411001")
+                .primaryService(category)
+                .experienceYears(3)
+                .serviceRadiusKm(10)
+                .build();
+        provider.getServices().add(newService(provider, category.getDisplayName()));
+        return providerRepository.save(provider);
+    }
+
+    /** Saves another service through its own repository, leaving {@code provider.getServices()} as it is. */
+    public ProviderService service(ServiceProvider provider, String name) {
+        return serviceRepository.save(newService(provider, name));
+    }
+
+    /** Books the provider's first service; the provider is one returned by {@link #provider}, or loaded with its services. */
+    public Booking booking(User customer, ServiceProvider provider, LocalDate date, LocalTime time,
+                           BookingStatus status) {
+        ProviderService service = provider.getServices().get(0);
+        return bookingRepository.save(Booking.builder()
+                .customer(customer)
+                .provider(provider)
+                .service(service)
+                .bookingDate(date)
+                .bookingTime(time)
+                .customerAddress("1 Fixture Lane")
+                .price(service.getPrice())
+                .status(status)
+                .build());
+    }
+
+    private static ProviderService newService(ServiceProvider provider, String name) {
+        return ProviderService.builder()
+                .provider(provider)
+                .name(name)
+                .price(new BigDecimal("499.00"))
+                .duration("1h")
+                .durationMinutes(60)
+                .active(true)
+                .build();
+    }
+}
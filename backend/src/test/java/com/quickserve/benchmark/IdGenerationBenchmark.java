@@ -0,0 +1,187 @@
+package com.quickserve.benchmark;
+
+import jakarta.persistence.*;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bulk insert throughput with IDENTITY ids (before) against pooled table-generated ids (after), using
+ * the same batch settings as application.properties. Rows carry an element collection, like provider
+ * signup does. Lives outside com.quickserve.backend so the application's entity scan does not pick up
+ * the benchmark entities.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=IdGenerationBenchmark
+ * Defaults to in-memory H2, which has no network round trip and so understates the gap. Point it at
+ * MySQL with -Dbenchmark.jdbc.url=jdbc:mysql://localhost:3306/bench?rewriteBatchedStatements=true
+ * (plus -Dbenchmark.jdbc.user / -Dbenchmark.jdbc.password).
+ */
+@Tag("benchmark")
+class IdGenerationBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int BATCH_SIZE = 50;
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, System.getProperty("benchmark.jdbc.url",
+                        "jdbc:h2:mem:idbench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"))
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.jdbc.user", "sa"))
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("benchmark.jdbc.password", ""))
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, BATCH_SIZE)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .applySetting(AvailableSettings.ORDER_UPDATES, true)
+                .applySetting(AvailableSettings.GENERATE_STATISTICS, true)
+                .build();
+
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(IdentityRow.class)
+                .addAnnotatedClass(PooledRow.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+        }
+    }
+
+    @Test
+    void bulkInsertThroughput() {
+        Result identity = measure("IDENTITY (before)", IdentityRow.class, IdentityRow::new);
+        Result pooled = measure("pooled table ids (after)", PooledRow.class, PooledRow::new);
+
+        System.out.printf("%n%-28s %14s %22s%n", "id generation", "rows/s (median)", "statements / 1000 rows");
+        for (Result result : List.of(identity, pooled)) {
+            System.out.printf("%-28s %14.0f %22.1f%n", result.label(), result.rowsPerSecond(), result.statementsPer1000());
+        }
+        System.out.printf("speed-up: %.2fx%n%n", pooled.rowsPerSecond() / identity.rowsPerSecond());
+    }
+
+    private <T extends BenchRow> Result measure(String label, Class<T> type, Function<Integer, T> factory) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            insertRows(type, factory, ROWS / 5);
+        }
+
+        Statistics statistics = sessionFactory.getStatistics();
+        double[] rowsPerSecond = new double[ROUNDS];
+        long statements = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            statistics.clear();
+            long start = System.nanoTime();
+            insertRows(type, factory, ROWS);
+            long elapsed = System.nanoTime() - start;
+
+            rowsPerSecond[round] = ROWS / (elapsed / 1_000_000_000.0);
+            statements += statistics.getPrepareStatementCount();
+        }
+
+        Arrays.sort(rowsPerSecond);
+        return new Result(label, rowsPerSecond[ROUNDS / 2], statements * 1000.0 / ((long) ROWS * ROUNDS));
+    }
+
+    private <T extends BenchRow> void insertRows(Class<T> type, Function<Integer, T> factory, int rows) {
+        try (Session session = sessionFactory.openSession()) {
+            session.getTransaction().begin();
+            for (int i = 0; i < rows; i++) {
+                session.persist(factory.apply(i));
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            session.getTransaction().commit();
+        }
+
+        // Start every round from an empty table
+        try (Session session = sessionFactory.openSession()) {
+            session.getTransaction().begin();
+            int deleted = session.createMutationQuery("DELETE FROM " + type.getSimpleName()).executeUpdate();
+            session.getTransaction().commit();
+            assertEquals(rows, deleted);
+        }
+    }
+
+    private record Result(String label, double rowsPerSecond, double statementsPer1000) {
+    }
+
+    // ==================== BENCHMARK ENTITIES ====================
+
+    @MappedSuperclass
+    static abstract class BenchRow {
+
+        private String fullName;
+        private String email;
+        private String city;
+
+        @ElementCollection
+        private List<String> skills = new ArrayList<>();
+
+        BenchRow(int i) {
+            this.fullName = "Provider " + i;
+            this.email = "provider" + i + "@bench.local";
+            this.city = "City " + (i % 20);
+            this.skills.addAll(List.of("skill-a", "skill-b", "skill-c"));
+        }
+
+        protected BenchRow() {
+        }
+    }
+
+    @Entity(name = "IdentityRow")
+    @Table(name = "bench_identity_rows")
+    static class IdentityRow extends BenchRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        IdentityRow(int i) {
+            super(i);
+        }
+
+        protected IdentityRow() {
+        }
+    }
+
+    @Entity(name = "PooledRow")
+    @Table(name = "bench_pooled_rows")
+    static class PooledRow extends BenchRow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "bench_pooled_rows_id")
+        @TableGenerator(name = "bench_pooled_rows_id", table = "bench_id_generators",
+                pkColumnValue = "bench_pooled_rows", allocationSize = BATCH_SIZE)
+        private Long id;
+
+        PooledRow(int i) {
+            super(i);
+        }
+
+        protected PooledRow() {
+        }
+    }
+}
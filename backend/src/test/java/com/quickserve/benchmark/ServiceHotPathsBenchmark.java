@@ -0,0 +1,55 @@
+package com.quickserve.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs the JMH benchmarks in com.quickserve.benchmark.jmh: provider search and detail mapping,
+ * customer booking mapping, status transitions and JWT issue/verify. Results are written as JMH
+ * JSON to target/jmh/service-hot-paths.json so they can be kept per release and compared.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=ServiceHotPathsBenchmark
+ * Narrow it with -Djmh.include=ProviderSearch (a regex over benchmark names) and
+ * -Djmh.providers=100000 (overrides the 1000,10000,100000 provider dataset sizes).
+ */
+@Tag("benchmark")
+class ServiceHotPathsBenchmark {
+
+    private static final String RESULT_FILE = "target/jmh/service-hot-paths.json";
+
+    @Test
+    void serviceHotPaths() throws RunnerException {
+        new File(RESULT_FILE).getParentFile().mkdirs();
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include("com\\.quickserve\\.benchmark\\.jmh\\..*" + System.getProperty("jmh.include", ""))
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmup", 3))
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                .measurementTime(TimeValue.seconds(1))
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE);
+        String providers = System.getProperty("jmh.providers");
+        if (providers != null) {
+            options.param("providers", providers.split(","));
+        }
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        assertFalse(results.isEmpty(), "no benchmarks matched");
+    }
+}
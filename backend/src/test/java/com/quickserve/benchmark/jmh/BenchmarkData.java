@@ -0,0 +1,147 @@
+package com.quickserve.benchmark.jmh;
+
+import com.quickserve.backend.model.Booking;
+import com.quickserve.backend.model.ProviderService;
+import com.quickserve.backend.model.ServiceProvider;
+import com.quickserve.backend.model.User;
+import com.quickserve.backend.model.enums.AccountStatus;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.model.enums.ServiceCategory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Detached entity graphs for the JMH benchmarks, generated from a fixed seed so runs are comparable
+ * across releases. Cities are skewed so a few metros hold most providers, as in production.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 20240601L;
+
+    static final String[] CITIES = {
+            "Mumbai", "Delhi", "Bengaluru", "Hyderabad", "Pune", "Chennai", "Kolkata", "Ahmedabad",
+            "Jaipur", "Nagpur", "Lucknow", "Indore", "Bhopal", "Surat", "Kochi", "Chandigarh"
+    };
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Vivaan", "Aditya", "Vihaan", "Arjun", "Sai", "Reyansh", "Ishaan", "Ananya", "Diya",
+            "Priya", "Kavya", "Meera", "Riya", "Sneha", "Pooja", "Rahul", "Amit", "Suresh", "Neha"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Sharma", "Verma", "Patel", "Reddy", "Iyer", "Nair", "Gupta", "Singh", "Kulkarni", "Joshi",
+            "Desai", "Mehta", "Rao", "Das", "Chopra", "Bose"
+    };
+
+    private static final String[] SERVICE_NAMES = {
+            "Inspection", "Repair", "Installation", "Maintenance", "Emergency visit", "Deep service"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static List<ServiceProvider> providers(int count) {
+        Random random = new Random(SEED);
+        ServiceCategory[] categories = ServiceCategory.values();
+        List<ServiceProvider> providers = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            long id = i + 1L;
+            User user = User.builder()
+                    .id(id)
+                    .fullName(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES))
+                    .email("provider" + id + "@bench.local")
+                    .phone(String.valueOf(7_000_000_000L + id))
+                    .role(Role.SERVICE_PROVIDER)
+                    .status(AccountStatus.ACTIVE)
+                    .createdAt(LocalDateTime.of(2023, 1, 1, 9, 0).plusHours(id))
+                    .build();
+
+            ServiceCategory primary = categories[random.nextInt(categories.length)];
+            EnumSet<ServiceCategory> secondary = EnumSet.noneOf(ServiceCategory.class);
+            for (int s = random.nextInt(3); s > 0; s--) {
+                secondary.add(categories[random.nextInt(categories.length)]);
+            }
+
+            boolean rated = random.nextInt(10) < 8;
+            ServiceProvider provider = ServiceProvider.builder()
+                    .id(id)
+                    .user(user)
+                    .aadharNumber(String.valueOf(500_000_000_000L + id))
+                    .aadharVerified(random.nextBoolean())
+                    .address(id + " Main Road")
+                    .city(CITIES[skewedIndex(random, CITIES.length)])
+                    .state("Maharashtra")
+                    .pincode("4110" + (10 + random.nextInt(90)))
+                    .experienceYears(random.nextInt(25))
+                    .serviceRadiusKm(5 + random.nextInt(20))
+                    .hourlyRate(random.nextInt(20) == 0 ? null : BigDecimal.valueOf(200 + random.nextInt(1800)))
+                    .averageRating(rated ? BigDecimal.valueOf(3 + random.nextDouble() * 2).setScale(2, RoundingMode.HALF_UP) : null)
+                    .totalReviews(rated ? random.nextInt(400) : 0)
+                    .completedJobs(random.nextInt(600))
+                    .build();
+            provider.setPrimaryService(primary);
+            provider.setSecondaryServices(secondary);
+
+            int serviceCount = 1 + random.nextInt(4);
+            for (int s = 0; s < serviceCount; s++) {
+                provider.getServices().add(ProviderService.builder()
+                        .id(id * 10 + s)
+                        .provider(provider)
+                        .name(primary.getDisplayName() + " " + SERVICE_NAMES[random.nextInt(SERVICE_NAMES.length)])
+                        .price(BigDecimal.valueOf(199 + random.nextInt(3000)))
+                        .duration("1h")
+                        .durationMinutes(60)
+                        .active(random.nextInt(10) != 0)
+                        .build());
+            }
+            providers.add(provider);
+        }
+        return providers;
+    }
+
+    static List<Booking> bookings(User customer, List<ServiceProvider> providers, int count) {
+        Random random = new Random(SEED);
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Booking> bookings = new ArrayList<>(count);
+        LocalDate today = LocalDate.of(2024, 6, 1);
+
+        for (int i = 0; i < count; i++) {
+            ServiceProvider provider = providers.get(skewedIndex(random, providers.size()));
+            ProviderService service = provider.getServices().get(random.nextInt(provider.getServices().size()));
+            bookings.add(Booking.builder()
+                    .id(i + 1L)
+                    .customer(customer)
+                    .provider(provider)
+                    .service(service)
+                    .bookingDate(today.minusDays(random.nextInt(365)))
+                    .bookingTime(LocalTime.of(8 + random.nextInt(10), 0))
+                    .status(statuses[random.nextInt(statuses.length)])
+                    .customerAddress("12 Lake View")
+                    .price(service.getPrice())
+                    .createdAt(today.atStartOfDay().minusDays(random.nextInt(400)))
+                    .build());
+        }
+        return bookings;
+    }
+
+    // Index in [0, bound) with roughly 1/rank frequency, so low indexes dominate
+    private static int skewedIndex(Random random, int bound) {
+        double harmonic = Math.log(bound) + 0.5772;
+        double target = random.nextDouble() * harmonic;
+        return Math.min(bound - 1, (int) Math.exp(target - 0.5772));
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
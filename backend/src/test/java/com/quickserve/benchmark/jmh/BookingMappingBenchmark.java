@@ -0,0 +1,63 @@
+package com.quickserve.benchmark.jmh;
+
+import com.quickserve.backend.dto.response.customer.CustomerBookingResponse;
+import com.quickserve.backend.model.Booking;
+import com.quickserve.backend.model.User;
+import com.quickserve.backend.model.enums.BookingStatus;
+import com.quickserve.backend.repository.*;
+import com.quickserve.backend.repository.projection.BookingRating;
+import com.quickserve.backend.serviceImpl.CustomerServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Booking list mapping in {@link CustomerServiceImpl}: entity graph to response DTOs, with ratings
+ * joined from one batched lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingMappingBenchmark {
+
+    @Param({"20", "200"})
+    public int bookings;
+
+    private CustomerServiceImpl customerService;
+    private Long customerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User customer = User.builder().id(1L).fullName("Bench Customer").email("customer@bench.local").build();
+        customerId = customer.getId();
+        List<Booking> dataset = BenchmarkData.bookings(customer, BenchmarkData.providers(1000), bookings);
+        List<BookingRating> ratings = dataset.stream()
+                .filter(b -> b.getStatus() == BookingStatus.COMPLETED)
+                .map(b -> new BookingRating(b.getId(), 4))
+                .toList();
+
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        BookingRepository bookingRepository = mock(BookingRepository.class, withSettings().stubOnly());
+        ReviewRepository reviewRepository = mock(ReviewRepository.class, withSettings().stubOnly());
+        when(userRepository.getReferenceById(customerId)).thenReturn(customer);
+        when(bookingRepository.findByCustomerOrderByBookingDateDescBookingTimeDesc(customer)).thenReturn(dataset);
+        when(reviewRepository.findRatingsByBookingIds(any())).thenReturn(ratings);
+
+        customerService = new CustomerServiceImpl(userRepository,
+                mock(CustomerRepository.class, withSettings().stubOnly()),
+                bookingRepository,
+                mock(ProviderServiceRepository.class, withSettings().stubOnly()),
+                mock(ServiceProviderRepository.class, withSettings().stubOnly()),
+                reviewRepository,
+                mock(SavedAddressRepository.class, withSettings().stubOnly()));
+    }
+
+    @Benchmark
+    public List<CustomerBookingResponse> customerBookings() {
+        return customerService.getBookings(customerId);
+    }
+}
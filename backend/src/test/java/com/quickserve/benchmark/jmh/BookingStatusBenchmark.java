@@ -0,0 +1,28 @@
+package com.quickserve.benchmark.jmh;
+
+import com.quickserve.backend.model.enums.BookingStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The provider status-transition check, over every from/to pair.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BookingStatusBenchmark {
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    @Benchmark
+    @OperationsPerInvocation(25) // 5 x 5 status pairs
+    public void transitions(Blackhole blackhole) {
+        for (BookingStatus from : STATUSES) {
+            for (BookingStatus to : STATUSES) {
+                blackhole.consume(from.canTransitionTo(to));
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.quickserve.benchmark.jmh;
+
+import com.quickserve.backend.model.enums.Role;
+import com.quickserve.backend.security.JwtTokenProvider;
+import com.quickserve.backend.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verify cost in {@link JwtTokenProvider}; the verify path runs on every
+ * authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "benchmarkSecretKeyForJwtTokenGenerationQuickServe");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(tokenProvider, "refreshExpiration", 604_800_000L);
+        tokenProvider.init();
+
+        principal = new UserPrincipal(42L, "provider42@bench.local", null, Role.SERVICE_PROVIDER, null, 42L);
+        token = tokenProvider.generateToken(principal);
+    }
+
+    @Benchmark
+    public String generate() {
+        return tokenProvider.generateToken(principal);
+    }
+
+    @Benchmark
+    public UserPrincipal validateAndResolvePrincipal() {
+        Claims claims = tokenProvider.parseToken(token);
+        return tokenProvider.getPrincipalFromClaims(claims);
+    }
+}
@@ -0,0 +1,89 @@
+package com.quickserve.benchmark.jmh;
+
+import com.quickserve.backend.config.cache.ProfileViewBuffer;
+import com.quickserve.backend.config.concurrency.FanOut;
+import com.quickserve.backend.config.concurrency.FanOutProperties;
+import com.quickserve.backend.dto.response.publicdto.ProviderDetailResponse;
+import com.quickserve.backend.dto.response.publicdto.ProviderListResponse;
+import com.quickserve.backend.model.ServiceProvider;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import com.quickserve.backend.repository.ReviewRepository;
+import com.quickserve.backend.repository.ServiceProviderRepository;
+import com.quickserve.backend.serviceImpl.PublicServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * In-memory filter, sort, page and mapping work in {@link PublicServiceImpl} over generated provider
+ * sets. Repositories are stub-only mocks returning a fresh list per call, as a query would, so only
+ * the service's own work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProviderSearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int providers;
+
+    private PublicServiceImpl publicService;
+    private Long detailProviderId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<ServiceProvider> dataset = BenchmarkData.providers(providers);
+        ServiceProviderRepository providerRepository = mock(ServiceProviderRepository.class, withSettings().stubOnly());
+        ReviewRepository reviewRepository = mock(ReviewRepository.class, withSettings().stubOnly());
+
+        when(providerRepository.findByIsAvailableTrue()).thenAnswer(invocation -> new ArrayList<>(dataset));
+        when(providerRepository.findAvailableByCategory(any())).thenAnswer(invocation -> {
+            ServiceCategory category = invocation.getArgument(0);
+            return new ArrayList<>(dataset.stream().filter(p -> p.offers(category)).toList());
+        });
+
+        ServiceProvider detailProvider = dataset.get(0);
+        detailProviderId = detailProvider.getId();
+        when(providerRepository.findById(detailProviderId)).thenReturn(Optional.of(detailProvider));
+        when(providerRepository.getReferenceById(detailProviderId)).thenReturn(detailProvider);
+        when(reviewRepository.findByProviderOrderByCreatedAtDesc(any(ServiceProvider.class), any()))
+                .thenReturn(Page.empty());
+
+        // Loads fan out onto virtual threads as in production; transactions are no-ops
+        FanOut fanOut = new FanOut(new FanOutProperties(),
+                mock(PlatformTransactionManager.class, withSettings().stubOnly()), new SimpleMeterRegistry());
+        publicService = new PublicServiceImpl(providerRepository, reviewRepository, fanOut,
+                mock(ProfileViewBuffer.class));
+    }
+
+    @Benchmark
+    public List<ProviderListResponse> defaultListing() {
+        return publicService.searchProviders(null, null, null, null, null, null, null, 0, 12);
+    }
+
+    @Benchmark
+    public List<ProviderListResponse> cityAndTextSearch() {
+        return publicService.searchProviders(null, "pune", "repair", null, null, null, "rating", 0, 12);
+    }
+
+    @Benchmark
+    public List<ProviderListResponse> categoryPriceFilterDeepPage() {
+        return publicService.searchProviders("PLUMBING", null, null, BigDecimal.valueOf(300), BigDecimal.valueOf(1500),
+                4.0, "price-low", 5, 12);
+    }
+
+    @Benchmark
+    public ProviderDetailResponse providerDetail() {
+        return publicService.getProviderDetails(detailProviderId);
+    }
+}
@@ -0,0 +1,84 @@
+package com.quickserve.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * One virtual user's view of the API: holds its bearer token and records every call under an
+ * endpoint label. Calls return the ApiResponse {@code data} node, or null when the call failed.
+ */
+final class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final LatencyReport report;
+    private String accessToken;
+
+    ApiClient(HttpClient http, String baseUrl, ObjectMapper objectMapper, LatencyReport report) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.report = report;
+    }
+
+    boolean login(String email, String password) {
+        JsonNode auth = post("auth.login", "/api/auth/login", Map.of("email", email, "password", password));
+        accessToken = auth != null ? auth.path("accessToken").asText(null) : null;
+        return accessToken != null;
+    }
+
+    JsonNode get(String endpoint, String path) {
+        return send(endpoint, request(path).GET());
+    }
+
+    JsonNode post(String endpoint, String path, Object body) {
+        try {
+            return send(endpoint, request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder;
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() / 100 != 2) {
+                String body = new String(response.body(), StandardCharsets.UTF_8);
+                report.recordError(endpoint, elapsed, response.statusCode() + " " + body.substring(0, Math.min(body.length(), 200)));
+                return null;
+            }
+            report.record(endpoint, elapsed);
+            return objectMapper.readTree(response.body()).path("data");
+        } catch (IOException e) {
+            report.recordError(endpoint, System.nanoTime() - start, e.toString());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.quickserve.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickserve.backend.BackendApplication;
+import com.quickserve.backend.config.seed.SyntheticDataGenerator;
+import com.quickserve.backend.config.seed.SyntheticDataProperties;
+import com.quickserve.backend.model.enums.ServiceCategory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the running application over HTTP with a mix of virtual users, each looping one scenario:
+ * anonymous browsing, customer booking, provider dashboard polling and the admin dashboard. The app
+ * runs on its own embedded H2 database loaded by the synthetic data seeder. Results after warm-up
+ * are printed per endpoint and written to target/loadtest/latency-report.csv; the test fails when an
+ * endpoint's p99 is over its budget in loadtest/slo.properties or its error rate is over 1%.
+ *
+ * Run with: mvn test -Ploadtest
+ * Tune with -Dloadtest.users=24 -Dloadtest.duration=30 -Dloadtest.warmup=10 (seconds) and the data
+ * volumes -Dloadtest.customers=2000 -Dloadtest.providers=300 -Dloadtest.bookings=20000.
+ */
+@Tag("loadtest")
+@SpringBootTest(classes = BackendApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:quickserve_load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE",
+        "seed.synthetic.enabled=true",
+        "seed.synthetic.customers=${loadtest.customers:2000}",
+        "seed.synthetic.providers=${loadtest.providers:300}",
+        "seed.synthetic.bookings=${loadtest.bookings:20000}",
+        "ratelimit.enabled=false",
+        "logging.level.com.quickserve=WARN"
+})
+@ActiveProfiles("test")
+class EndToEndLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 24);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30));
+    private static final double MAX_ERROR_RATE = 0.01;
+    private static final Path REPORT = Path.of("target/loadtest/latency-report.csv");
+
+    private static final String[] CITIES = {"Mumbai", "Delhi", "Bengaluru", "Hyderabad", "Chennai", "Pune"};
+    private static final String[] SEARCHES = {"repair", "installation", "cleaning", "inspection"};
+
+    @LocalServerPort private int port;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private SyntheticDataProperties seedData;
+
+    private enum Scenario { BROWSE, CUSTOMER, PROVIDER, ADMIN }
+
+    @Test
+    void scenariosMeetLatencyBudgets() throws Exception {
+        LatencyReport report = new LatencyReport();
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        long warmupEnds = System.nanoTime() + WARMUP.toNanos();
+        long runEnds = warmupEnds + DURATION.toNanos();
+
+        List<Future<?>> users = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < USERS; user++) {
+                Scenario scenario = scenarioFor(user);
+                ApiClient client = new ApiClient(http, "http://localhost:" + port, objectMapper, report);
+                Random random = new Random(user);
+                int index = user + 1;
+                users.add(executor.submit(() -> runUser(scenario, client, random, index, runEnds)));
+            }
+            Thread.sleep(WARMUP.toMillis());
+            report.reset();
+            for (Future<?> user : users) {
+                user.get();
+            }
+        }
+
+        System.out.printf("%n%d users, %d s after %d s warm-up%n%s", USERS, DURATION.toSeconds(), WARMUP.toSeconds(),
+                report.format(DURATION));
+        report.writeCsv(REPORT, DURATION);
+
+        assertThat(report.violations(budgets(), MAX_ERROR_RATE)).isEmpty();
+    }
+
+    // Half browse, a quarter book, the rest split between providers and admins; at least one of each
+    private static Scenario scenarioFor(int user) {
+        return switch (user % 8) {
+            case 0, 2, 4, 6 -> Scenario.BROWSE;
+            case 1, 5 -> Scenario.CUSTOMER;
+            case 3 -> Scenario.PROVIDER;
+            default -> Scenario.ADMIN;
+        };
+    }
+
+    private void runUser(Scenario scenario, ApiClient client, Random random, int index, long runEnds) {
+        long seed = seedData.getSeed();
+        boolean loggedIn = switch (scenario) {
+            case BROWSE -> true;
+            case CUSTOMER -> client.login(SyntheticDataGenerator.customerEmail(seed, 1 + index % seedData.getCustomers()),
+                    seedData.getPassword());
+            case PROVIDER -> client.login(SyntheticDataGenerator.providerEmail(seed, 1 + index % seedData.getProviders()),
+                    seedData.getPassword());
+            case ADMIN -> client.login("admin@quickserve.com", "admin123");
+        };
+        if (!loggedIn) {
+            return;
+        }
+        while (System.nanoTime() < runEnds) {
+            switch (scenario) {
+                case BROWSE -> browse(client, random);
+                case CUSTOMER -> book(client, random);
+                case PROVIDER -> pollProviderDashboard(client);
+                case ADMIN -> viewAdminDashboard(client, random);
+            }
+        }
+    }
+
+    // ==================== SCENARIOS ====================
+
+    // categories -> search -> provider detail -> reviews
+    private void browse(ApiClient client, Random random) {
+        client.get("public.categories", "/api/public/categories");
+        JsonNode provider = pickProvider(client, random);
+        if (provider == null) {
+            return;
+        }
+        long providerId = provider.path("id").asLong();
+        client.get("public.provider", "/api/public/providers/" + providerId);
+        client.get("public.reviews", "/api/public/providers/" + providerId + "/reviews?page=0&size=10");
+    }
+
+    // search -> provider detail -> create booking -> own bookings
+    private void book(ApiClient client, Random random) {
+        JsonNode provider = pickProvider(client, random);
+        if (provider == null) {
+            return;
+        }
+        JsonNode detail = client.get("public.provider", "/api/public/providers/" + provider.path("id").asLong());
+        if (detail == null || detail.path("services").isEmpty()) {
+            return;
+        }
+        JsonNode services = detail.path("services");
+        client.post("customer.book", "/api/customer/bookings", Map.of(
+                "providerId", detail.path("id").asLong(),
+                "serviceId", services.get(random.nextInt(services.size())).path("id").asLong(),
+                "bookingDate", LocalDate.now().plusDays(1 + random.nextInt(14)).toString(),
+                "bookingTime", LocalTime.of(9 + random.nextInt(8), 0).toString(),
+                "address", "42 Load Test Lane"));
+        client.get("customer.bookings", "/api/customer/bookings");
+    }
+
+    private void pollProviderDashboard(ApiClient client) {
+        client.get("provider.stats", "/api/provider/stats");
+        client.get("provider.bookings", "/api/provider/bookings");
+        client.get("provider.upcoming", "/api/provider/bookings/upcoming");
+    }
+
+    private void viewAdminDashboard(ApiClient client, Random random) {
+        client.get("admin.dashboard", "/api/admin/dashboard");
+        client.get("admin.bookings", "/api/admin/bookings?page=" + random.nextInt(5) + "&size=20");
+        client.get("admin.analytics", "/api/admin/analytics/bookings?period=month");
+    }
+
+    private JsonNode pickProvider(ApiClient client, Random random) {
+        String query = random.nextBoolean()
+                ? "?city=" + CITIES[random.nextInt(CITIES.length)] + "&category="
+                        + ServiceCategory.values()[random.nextInt(ServiceCategory.values().length)].name()
+                : "?search=" + SEARCHES[random.nextInt(SEARCHES.length)] + "&sortBy=reviews";
+        JsonNode results = client.get("public.search", "/api/public/providers" + query);
+        if (results == null || results.isEmpty()) {
+            return null;
+        }
+        return results.get(random.nextInt(results.size()));
+    }
+
+    private static Properties budgets() throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream in = EndToEndLoadTest.class.getResourceAsStream("/loadtest/slo.properties")) {
+            budgets.load(in);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("loadtest.slo."))
+                .forEach(name -> budgets.setProperty(name.substring("loadtest.slo.".length()), System.getProperty(name)));
+        return budgets;
+    }
+}
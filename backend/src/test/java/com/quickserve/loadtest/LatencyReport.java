@@ -0,0 +1,126 @@
+package com.quickserve.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Response times per endpoint label in HDR histograms (microseconds, 3 significant digits), with
+ * non-2xx responses and I/O failures counted as errors.
+ */
+final class LatencyReport {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+    private final Map<String, String> firstErrors = new ConcurrentSkipListMap<>();
+
+    private static final class Endpoint {
+        final Histogram histogram = new ConcurrentHistogram(MAX_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    void record(String endpoint, long nanos) {
+        stats(endpoint).histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_MICROS));
+    }
+
+    /** Records a failed call; the first failure per endpoint is kept for the report. */
+    void recordError(String endpoint, long nanos, String detail) {
+        record(endpoint, nanos);
+        stats(endpoint).errors.increment();
+        firstErrors.putIfAbsent(endpoint, detail);
+    }
+
+    private Endpoint stats(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+    }
+
+    /** Drops everything recorded so far, e.g. at the end of warm-up. */
+    void reset() {
+        endpoints.values().forEach(stats -> {
+            stats.histogram.reset();
+            stats.errors.reset();
+        });
+        firstErrors.clear();
+    }
+
+    String format(Duration elapsed) {
+        StringBuilder out = new StringBuilder(String.format("%-24s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        endpoints.forEach((name, stats) -> {
+            Histogram h = stats.histogram;
+            out.append(String.format("%-24s %9d %9.1f %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    name, h.getTotalCount(), h.getTotalCount() / seconds(elapsed), stats.errors.sum(),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue())));
+        });
+        firstErrors.forEach((name, detail) -> out.append(String.format("first %s error: %s%n", name, detail)));
+        return out.toString();
+    }
+
+    void writeCsv(Path file, Duration elapsed) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,requests_per_second,errors,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        endpoints.forEach((name, stats) -> {
+            Histogram h = stats.histogram;
+            lines.add(String.format("%s,%d,%.2f,%d,%.3f,%.3f,%.3f,%.3f,%.3f", name, h.getTotalCount(),
+                    h.getTotalCount() / seconds(elapsed), stats.errors.sum(), millis(h.getValueAtPercentile(50)),
+                    millis(h.getValueAtPercentile(90)), millis(h.getValueAtPercentile(99)),
+                    millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue())));
+        });
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines);
+    }
+
+    long totalRequests() {
+        return endpoints.values().stream().mapToLong(stats -> stats.histogram.getTotalCount()).sum();
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(stats -> stats.errors.sum()).sum();
+    }
+
+    /**
+     * Endpoints whose p99 is over budget or whose error rate is over {@code maxErrorRate}. Budgets are
+     * milliseconds keyed by endpoint label, with {@code default} for unlisted endpoints.
+     */
+    List<String> violations(Properties p99Budgets, double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        double defaultBudget = Double.parseDouble(p99Budgets.getProperty("default"));
+        endpoints.forEach((name, stats) -> {
+            Histogram h = stats.histogram;
+            if (h.getTotalCount() == 0) {
+                return;
+            }
+            double budget = Double.parseDouble(p99Budgets.getProperty(name, String.valueOf(defaultBudget)));
+            double p99 = millis(h.getValueAtPercentile(99));
+            if (p99 > budget) {
+                violations.add(String.format("%s p99 %.1f ms > %.1f ms", name, p99, budget));
+            }
+            double errorRate = (double) stats.errors.sum() / h.getTotalCount();
+            if (errorRate > maxErrorRate) {
+                violations.add(String.format("%s error rate %.2f%% > %.2f%%", name, errorRate * 100, maxErrorRate * 100));
+            }
+        });
+        return violations;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static double seconds(Duration elapsed) {
+        return Math.max(elapsed.toMillis() / 1000.0, 0.001);
+    }
+}
@@ -0,0 +1,127 @@
+package com.quickserve.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickserve.backend.BackendApplication;
+import com.quickserve.backend.config.concurrency.RequestBulkheadFilter;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares request throughput with platform request threads against virtual threads. The app is
+ * started once per mode on its own seeded H2 database and driven by the same set of concurrent
+ * clients browsing the public API; each mode prints req/s, the per-endpoint latency table and the
+ * number of jdk.VirtualThreadPinned events JFR saw while it ran.
+ *
+ * Run with: mvn test -Ploadtest -Dtest=ThreadModeBenchmark
+ * Tune with -Dloadtest.users=64 -Dloadtest.duration=20 -Dloadtest.warmup=5 (seconds).
+ */
+@Tag("loadtest")
+class ThreadModeBenchmark {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 20));
+
+    private static final String[] CITIES = {"Mumbai", "Delhi", "Bengaluru", "Hyderabad", "Chennai", "Pune"};
+
+    @Test
+    void compareThreadModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%d clients, %d s after %d s warm-up%n", USERS, DURATION.toSeconds(), WARMUP.toSeconds());
+        System.out.printf("%-9s %9s %9s %9s%n", "mode", "req/s", "errors", "pinned");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-9s %9.1f %9d %9d%n", result.mode(),
+                    result.report().totalRequests() / (double) DURATION.toSeconds(),
+                    result.report().totalErrors(), result.pinnedEvents());
+        }
+
+        assertThat(platform.report().totalRequests()).isPositive();
+        assertThat(virtual.report().totalRequests()).isPositive();
+    }
+
+    private record Result(String mode, LatencyReport report, long pinnedEvents) {
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(BackendApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:quickserve_" + mode
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE",
+                        "--seed.synthetic.enabled=true",
+                        "--seed.synthetic.customers=200",
+                        "--seed.synthetic.providers=300",
+                        "--seed.synthetic.bookings=3000",
+                        "--ratelimit.enabled=false",
+                        "--spring.jmx.enabled=false",
+                        "--logging.level.com.quickserve=WARN");
+             RecordingStream jfr = new RecordingStream()) {
+            LongAdder pinned = new LongAdder();
+            jfr.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1));
+            jfr.onEvent("jdk.VirtualThreadPinned", event -> pinned.increment());
+            jfr.startAsync();
+
+            assertThat(app.getBeanProvider(RequestBulkheadFilter.class).getIfAvailable() != null).isEqualTo(virtualThreads);
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            LatencyReport report = drive(port, app.getBean(ObjectMapper.class));
+            System.out.printf("%n%s threads%n%s", mode, report.format(DURATION));
+            return new Result(mode, report, pinned.sum());
+        }
+    }
+
+    private LatencyReport drive(int port, ObjectMapper objectMapper) throws Exception {
+        LatencyReport report = new LatencyReport();
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        long runEnds = System.nanoTime() + WARMUP.toNanos() + DURATION.toNanos();
+
+        List<Future<?>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < USERS; client++) {
+                ApiClient api = new ApiClient(http, "http://localhost:" + port, objectMapper, report);
+                Random random = new Random(client);
+                clients.add(executor.submit(() -> {
+                    while (System.nanoTime() < runEnds) {
+                        browse(api, random);
+                    }
+                }));
+            }
+            Thread.sleep(WARMUP.toMillis());
+            report.reset();
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        }
+        return report;
+    }
+
+    // city search -> provider detail
+    private static void browse(ApiClient api, Random random) {
+        JsonNode results = api.get("public.search", "/api/public/providers?city=" + CITIES[random.nextInt(CITIES.length)]);
+        if (results == null || results.isEmpty()) {
+            return;
+        }
+        long providerId = results.get(random.nextInt(results.size())).path("id").asLong();
+        api.get("public.provider", "/api/public/providers/" + providerId);
+    }
+}